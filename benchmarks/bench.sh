@@ -0,0 +1,47 @@
+#!/bin/bash
+
+# Builds and runs the JMH benchmarks. Any arguments are passed along to JMH, so a subset may be
+# selected with a regex and parameters overridden, e.g.:
+#
+#   ./benchmarks/bench.sh RecalculateBenchmark -p rows=1000
+#
+# Results are written as JSON to benchmarks/results, named for the GCS version and time of the run.
+
+set -eo pipefail
+
+JMH_VERSION=1.37
+JOPT_VERSION=5.0.4
+MATH3_VERSION=3.6.1
+
+cd "$(dirname "$0")/.."
+LIB_DIR=benchmarks/lib
+OUT_DIR=out/bench
+RESULTS_DIR=benchmarks/results
+
+fetch() {
+	local jar="$LIB_DIR/$(basename "$1")"
+	if [ ! -f "$jar" ]; then
+		curl --location --silent --fail --output "$jar" "https://repo1.maven.org/maven2/$1"
+	fi
+}
+
+mkdir -p "$LIB_DIR" "$RESULTS_DIR"
+fetch org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar
+fetch org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar
+fetch net/sf/jopt-simple/jopt-simple/$JOPT_VERSION/jopt-simple-$JOPT_VERSION.jar
+fetch org/apache/commons/commons-math3/$MATH3_VERSION/commons-math3-$MATH3_VERSION.jar
+LIBS=$(find "$LIB_DIR" -name '*.jar' | sort | tr '\n' ':')
+
+/bin/rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR/gcs" "$OUT_DIR/bench"
+find com.trollworks.gcs/src -name '*.java' > "$OUT_DIR/gcs.input"
+javac -d "$OUT_DIR/gcs" --release 17 -encoding UTF8 @"$OUT_DIR/gcs.input"
+cp -R com.trollworks.gcs/resources/fonts com.trollworks.gcs/resources/images "$OUT_DIR/gcs/"
+find benchmarks/src -name '*.java' > "$OUT_DIR/bench.input"
+javac -d "$OUT_DIR/bench" --release 17 -encoding UTF8 -cp "$OUT_DIR/gcs:$LIBS" -processorpath "$LIBS" @"$OUT_DIR/bench.input"
+cp -R benchmarks/resources/. "$OUT_DIR/bench/"
+
+VERSION=$(git describe --tags --always 2>/dev/null || echo dev)
+RESULTS="$RESULTS_DIR/$VERSION-$(date -u +%Y%m%dT%H%M%SZ).json"
+java -Djava.awt.headless=true -cp "$OUT_DIR/bench:$OUT_DIR/gcs:$LIBS" org.openjdk.jmh.Main -rf json -rff "$RESULTS" "$@"
+echo "Results written to $RESULTS"
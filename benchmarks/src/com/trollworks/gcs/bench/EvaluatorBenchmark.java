@@ -0,0 +1,55 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.expression.EvaluationException;
+import com.trollworks.gcs.expression.Evaluator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures evaluating expressions of the kind used by attribute definitions and ancestries. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EvaluatorBenchmark {
+    @Param({"10", "$st + $dx / 4", "max($st, $ht) * 2 - if($iq > 12, 1, 0)", "round(($ht + $dx) / 4 * 100) / 100"})
+    public String expression;
+
+    private Evaluator mEvaluator;
+
+    @Setup
+    public void setup() {
+        GURPSCharacter character = Synthetic.character(100);
+        mEvaluator = new Evaluator(character);
+    }
+
+    @Benchmark
+    public double evaluate() throws EvaluationException {
+        return mEvaluator.evaluateToNumber(expression);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.utility.Fixed6;
+import com.trollworks.gcs.utility.Fixed6Accumulator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Fixed6 operations used by the equipment weight and value passes: parsing, multiply
+ * and divide, and summing with and without an accumulator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Fixed6Benchmark {
+    private static final int COUNT = 1000;
+
+    private String[] mText;
+    private Fixed6[] mValues;
+    private Fixed6[] mMultipliers;
+
+    @Setup
+    public void setup() {
+        Synthetic.initialize();
+        Random rnd = new Random(1);
+        mText = new String[COUNT];
+        mValues = new Fixed6[COUNT];
+        mMultipliers = new Fixed6[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            mText[i] = String.format("%,d.%02d", Integer.valueOf(rnd.nextInt(100000)), Integer.valueOf(rnd.nextInt(100)));
+            mValues[i] = new Fixed6(rnd.nextInt(100000) / 100.0);
+            mMultipliers[i] = new Fixed6(1 + rnd.nextInt(20));
+        }
+    }
+
+    @Benchmark
+    public Fixed6 parse() {
+        Fixed6 last = null;
+        for (String text : mText) {
+            last = new Fixed6(text, Fixed6.ZERO, true);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Fixed6 mul() {
+        Fixed6 total = Fixed6.ZERO;
+        for (int i = 0; i < COUNT; i++) {
+            total = mValues[i].mul(mMultipliers[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Fixed6 div() {
+        Fixed6 total = Fixed6.ZERO;
+        for (int i = 0; i < COUNT; i++) {
+            total = mValues[i].div(mMultipliers[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Fixed6 sumOfProducts() {
+        Fixed6 total = Fixed6.ZERO;
+        for (int i = 0; i < COUNT; i++) {
+            total = total.add(mValues[i].mul(mMultipliers[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Fixed6 sumOfProductsWithAccumulator() {
+        Fixed6Accumulator total = new Fixed6Accumulator();
+        for (int i = 0; i < COUNT; i++) {
+            total.addProduct(mValues[i], mMultipliers[i]);
+        }
+        return total.toFixed6();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.utility.SaveType;
+import com.trollworks.gcs.utility.json.Json;
+import com.trollworks.gcs.utility.json.JsonWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/** Measures parsing the JSON of a saved character. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class JsonParseBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private String mJSON;
+
+    @Setup
+    public void setup() throws IOException {
+        StringWriter buffer = new StringWriter();
+        try (JsonWriter w = new JsonWriter(buffer, "\t")) {
+            Synthetic.character(rows).save(w, SaveType.NORMAL, false);
+        }
+        mJSON = buffer.toString();
+    }
+
+    @Benchmark
+    public Object parse() throws IOException {
+        return Json.parse(new StringReader(mJSON));
+    }
+}
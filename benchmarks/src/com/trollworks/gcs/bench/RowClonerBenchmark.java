@@ -0,0 +1,63 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.equipment.EquipmentList;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.ui.widget.outline.Row;
+import com.trollworks.gcs.ui.widget.outline.RowCloner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Compares cloning an equipment library serially and across the fork-join pool. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RowClonerBenchmark {
+    @Param({"5000"})
+    public int rows;
+
+    private EquipmentList mTarget;
+    private List<Row>     mRows;
+
+    @Setup
+    public void setup() {
+        mRows = Synthetic.equipmentList(rows).getTopLevelRows();
+        mTarget = new EquipmentList();
+    }
+
+    @Benchmark
+    public List<ListRow> serial() {
+        return RowCloner.cloneRowsSerially(mTarget, mRows, false);
+    }
+
+    @Benchmark
+    public List<ListRow> parallel() {
+        return RowCloner.cloneRows(mTarget, mRows, false);
+    }
+}
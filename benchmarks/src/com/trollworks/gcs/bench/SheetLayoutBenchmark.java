@@ -0,0 +1,100 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.character.CharacterSheet;
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.ui.GraphicsUtilities;
+import com.trollworks.gcs.ui.UIUtilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.EventQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rebuilding a character sheet and laying out its pages, which is dominated by the
+ * layout of the outlines it contains. As in the application, everything that touches the sheet is
+ * done on the event queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SheetLayoutBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private CharacterSheet mSheet;
+
+    @Setup
+    public void setup() throws Exception {
+        mSheet = createSheet(rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void settle() throws Exception {
+        Synthetic.drainEventQueue();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        EventQueue.invokeAndWait(mSheet::dispose);
+    }
+
+    /**
+     * @param rows The number of rows the character should have.
+     * @return A headless sheet for a synthetic character, laid out as the command line export
+     *         does, with any work its creation queued already processed.
+     */
+    static CharacterSheet createSheet(int rows) throws Exception {
+        Synthetic.initialize();
+        UIUtilities.initialize();
+        GraphicsUtilities.setAllowUserDisplay(false);
+        // The character has no listeners yet, so it may be created here. Once the sheet exists,
+        // changes to either are delivered on the event queue, so the sheet must be used there.
+        GURPSCharacter   character = Synthetic.character(rows);
+        CharacterSheet[] sheet     = new CharacterSheet[1];
+        EventQueue.invokeAndWait(() -> {
+            sheet[0] = new CharacterSheet(character);
+            sheet[0].addNotify(); // Required to allow layout to work
+            sheet[0].rebuild();
+            sheet[0].setSize(sheet[0].getPreferredSize());
+        });
+        Synthetic.drainEventQueue();
+        return sheet[0];
+    }
+
+    @Benchmark
+    public CharacterSheet rebuildAndLayout() throws Exception {
+        EventQueue.invokeAndWait(() -> {
+            mSheet.rebuild();
+            mSheet.setSize(mSheet.getPreferredSize());
+            mSheet.validate();
+        });
+        return mSheet;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.skill.Skill;
+import com.trollworks.gcs.ui.widget.outline.Row;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calculating the level of every skill on a character, each of which may default to an
+ * earlier one, exercising Skill.calculateLevel and the default resolution it performs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SkillLevelBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private List<Skill> mSkills;
+
+    @Setup
+    public void setup() {
+        GURPSCharacter character = Synthetic.character(rows);
+        mSkills = new ArrayList<>();
+        for (Row row : character.getSkillsModel().getRows()) {
+            if (row instanceof Skill skill) {
+                mSkills.add(skill);
+            }
+        }
+    }
+
+    @Benchmark
+    public int calculateLevels() {
+        int changed = 0;
+        for (Skill skill : mSkills) {
+            if (skill.updateLevel(false)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.cmdline.Generator;
+import com.trollworks.gcs.equipment.EquipmentList;
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.I18n;
+
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+
+/**
+ * Builds characters and libraries of a requested size for the benchmarks, using the same
+ * {@link Generator} as the command line's --generate option with its default settings, so results
+ * from different runs can be compared. Sheets must be built from the data on the event queue.
+ */
+final class Synthetic {
+    private static boolean INITIALIZED;
+
+    private Synthetic() {
+    }
+
+    /** Prepares the environment GCS expects before any data can be created. */
+    static synchronized void initialize() {
+        if (!INITIALIZED) {
+            INITIALIZED = true;
+            System.setProperty("java.awt.headless", Boolean.TRUE.toString());
+            I18n.initialize();
+        }
+    }
+
+    /**
+     * Waits until the event queue has nothing left to process, so that work queued by earlier
+     * changes, such as deferred change notifications and outline rebuilds, can't run during a
+     * measurement.
+     */
+    static void drainEventQueue() throws Exception {
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        boolean[]  empty = new boolean[1];
+        do {
+            EventQueue.invokeAndWait(() -> empty[0] = queue.peekEvent() == null);
+        } while (!empty[0]);
+    }
+
+    /**
+     * @param rows The total number of rows to create, split across advantages, skills, spells,
+     *             equipment and notes.
+     * @return A newly created and fully calculated character.
+     */
+    static GURPSCharacter character(int rows) {
+        initialize();
+        return generator(rows).createCharacter();
+    }
+
+    /**
+     * @param rows The total number of rows to create.
+     * @return A new equipment library, with the rows nested in containers.
+     */
+    static EquipmentList equipmentList(int rows) {
+        initialize();
+        return (EquipmentList) generator(rows).create(FileType.EQUIPMENT);
+    }
+
+    private static Generator generator(int rows) {
+        Generator generator = new Generator();
+        generator.setRows(rows);
+        generator.setDepth(2);
+        return generator;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.bench;
+
+import com.trollworks.gcs.character.CharacterSheet;
+import com.trollworks.gcs.character.TextTemplate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.EventQueue;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/** Measures exporting a character through a text template that walks every list on the sheet. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TextTemplateBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private CharacterSheet mSheet;
+    private Path           mDir;
+    private Path           mTemplate;
+    private Path           mOutput;
+
+    @Setup
+    public void setup() throws Exception {
+        mSheet = SheetLayoutBenchmark.createSheet(rows);
+        mDir = Files.createTempDirectory("gcs-bench");
+        mTemplate = mDir.resolve("template.txt");
+        mOutput = mDir.resolve("output.txt");
+        try (InputStream in = TextTemplateBenchmark.class.getResourceAsStream("template.txt")) {
+            Files.copy(in, mTemplate, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void settle() throws Exception {
+        Synthetic.drainEventQueue();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        EventQueue.invokeAndWait(mSheet::dispose);
+        Files.deleteIfExists(mTemplate);
+        Files.deleteIfExists(mOutput);
+        Files.deleteIfExists(mDir);
+    }
+
+    @Benchmark
+    public boolean export() throws Exception {
+        boolean[] result = new boolean[1];
+        EventQueue.invokeAndWait(() -> result[0] = new TextTemplate(mSheet).export(mOutput, mTemplate));
+        return result[0];
+    }
+}
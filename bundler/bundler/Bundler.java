@@ -229,7 +229,7 @@ public final class Bundler {
             out.println("--module-source-path");
             out.printf(".%1$s*%1$ssrc%2$sthird_party%1$s*%1$ssrc\n", File.separator, File.pathSeparator);
             FileScanner.walk(Path.of("."), (path) -> {
-                if (path.getFileName().toString().endsWith(".java") && !path.startsWith(Path.of(".", "bundler"))) {
+                if (path.getFileName().toString().endsWith(".java") && !path.startsWith(Path.of(".", "bundler")) && !path.startsWith(Path.of(".", "benchmarks"))) {
                     out.println(path);
                 }
             });
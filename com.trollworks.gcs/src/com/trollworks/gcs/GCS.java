@@ -12,18 +12,26 @@
 package com.trollworks.gcs;
 
 import com.trollworks.gcs.cmdline.Export;
+import com.trollworks.gcs.cmdline.Generate;
 import com.trollworks.gcs.cmdline.LoadSave;
+import com.trollworks.gcs.cmdline.Serve;
+import com.trollworks.gcs.datafile.AutoSaver;
+import com.trollworks.gcs.library.LibraryUpdater;
 import com.trollworks.gcs.menu.file.OpenCommand;
 import com.trollworks.gcs.menu.file.OpenDataFileCommand;
 import com.trollworks.gcs.menu.file.PrintCommand;
 import com.trollworks.gcs.menu.file.QuitCommand;
 import com.trollworks.gcs.menu.help.AboutCommand;
 import com.trollworks.gcs.settings.Settings;
+import com.trollworks.gcs.ui.EdtWatchdog;
+import com.trollworks.gcs.ui.Fonts;
 import com.trollworks.gcs.ui.UIUtilities;
+import com.trollworks.gcs.ui.image.Images;
 import com.trollworks.gcs.ui.widget.Modal;
 import com.trollworks.gcs.ui.widget.Workspace;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Platform;
+import com.trollworks.gcs.utility.StartupPhases;
 import com.trollworks.gcs.utility.UpdateChecker;
 import com.trollworks.gcs.utility.Version;
 import com.trollworks.gcs.utility.launchproxy.LaunchProxy;
@@ -31,7 +39,6 @@ import com.trollworks.gcs.utility.text.Text;
 
 import java.awt.Desktop;
 import java.awt.Desktop.Action;
-import java.awt.EventQueue;
 import java.awt.GraphicsEnvironment;
 import java.awt.desktop.QuitStrategy;
 import java.io.InputStream;
@@ -54,9 +61,14 @@ public final class GCS {
     public static final  String  APP_BANNER;
     private static final Pattern COPYRIGHT_PATTERN = Pattern.compile("©");
     private static final String  COPYRIGHT_OWNER   = "Richard A. Wilkes";
+    private static final long    STARTUP_BASE;
+    private static final long    I18N_STARTED;
+    private static final long    I18N_FINISHED;
     private static       boolean NOTIFICATION_ALLOWED;
 
     static {
+        STARTUP_BASE = System.nanoTime();
+
         // Fix the current working directory, as bundled apps break the normal logic.
         // Sadly, this still doesn't fix stuff referenced from the "default" filesystem
         // class, as it is already initialized to the wrong value and won't pick this
@@ -80,7 +92,9 @@ public final class GCS {
         }
 
         // Setup localizations -- must be called AFTER the version is determined
+        I18N_STARTED = System.nanoTime();
         I18n.initialize();
+        I18N_FINISHED = System.nanoTime();
 
         // Setup the copyright notices and such that rely on the version and year info
         COPYRIGHT = String.format(I18n.text("Copyright ©%s by %s"), years, COPYRIGHT_OWNER);
@@ -113,16 +127,19 @@ public final class GCS {
      * @param args Arguments to the program.
      */
     public static void main(String[] args) {
-        boolean      showVersion  = false;
-        boolean      generatePNG  = false;
-        boolean      generateText = false;
-        boolean      loadSave     = false;
-        Path         template     = null;
-        String       margins      = null;
-        String       paper        = null;
-        List<Path>   files        = new ArrayList<>();
-        List<String> msgs         = new ArrayList<>();
-        int          length       = args.length;
+        boolean      showVersion   = false;
+        boolean      generatePNG   = false;
+        boolean      generateText  = false;
+        boolean      loadSave      = false;
+        boolean      startupReport = false;
+        String       generate      = null;
+        String       serve         = null;
+        Path         template      = null;
+        String       margins       = null;
+        String       paper         = null;
+        List<Path>   files         = new ArrayList<>();
+        List<String> msgs          = new ArrayList<>();
+        int          length        = args.length;
         for (int i = 0; i < length; i++) {
             String arg = args[i];
             if (i == 0 && Platform.isMacintosh() && arg.startsWith("-psn_")) {
@@ -176,7 +193,47 @@ public final class GCS {
                             msgs.add(I18n.text("missing argument for --paper"));
                         }
                     }
+                    case "--generate" -> {
+                        boolean missingGenerateArg = false;
+                        if (parts.length > 1) {
+                            if (parts[1].isBlank()) {
+                                missingGenerateArg = true;
+                            } else {
+                                generate = parts[1];
+                            }
+                        } else {
+                            i++;
+                            if (i < length && !args[i].startsWith("-")) {
+                                generate = args[i];
+                            } else {
+                                missingGenerateArg = true;
+                            }
+                        }
+                        if (missingGenerateArg) {
+                            msgs.add(I18n.text("missing argument for --generate"));
+                        }
+                    }
                     case "--png" -> generatePNG = true;
+                    case "--serve" -> {
+                        boolean missingServeArg = false;
+                        if (parts.length > 1) {
+                            if (parts[1].isBlank()) {
+                                missingServeArg = true;
+                            } else {
+                                serve = parts[1];
+                            }
+                        } else {
+                            i++;
+                            if (i < length && !args[i].startsWith("-")) {
+                                serve = args[i];
+                            } else {
+                                missingServeArg = true;
+                            }
+                        }
+                        if (missingServeArg) {
+                            msgs.add(I18n.text("missing argument for --serve"));
+                        }
+                    }
                     case "--text" -> {
                         generateText = true;
                         boolean missingTemplateArg = false;
@@ -199,6 +256,7 @@ public final class GCS {
                         }
                     }
                     case "--loadsave" -> loadSave = true;
+                    case "--startup-report" -> startupReport = true;
                     case "-v", "--version" -> showVersion = true;
                     default -> msgs.add(I18n.text("unknown option: ") + parts[0]);
                 }
@@ -219,11 +277,21 @@ public final class GCS {
             System.exit(1);
         }
 
+        if (generate != null) {
+            Generate.process(files, generate);
+            System.exit(0);
+        }
+
         if (loadSave) {
             LoadSave.process(files);
             System.exit(0);
         }
 
+        if (serve != null) {
+            Serve.process(serve, template);
+            System.exit(0);
+        }
+
         if (generatePNG || generateText) {
             Export.process(files, generatePNG, generateText, template, margins, paper);
             System.exit(0);
@@ -234,10 +302,46 @@ public final class GCS {
             System.exit(1);
         }
 
+        EdtWatchdog.install();
+
         LaunchProxy launchProxy = new LaunchProxy();
         launchProxy.start(files);
-        UIUtilities.initialize();
 
+        // Fonts must be registered before the settings are loaded, as the settings may replace
+        // the theme fonts, and the look & feel captures the theme fonts and colors the settings
+        // establish. Image decoding and library collection don't depend on the UI being set up.
+        StartupPhases phases = new StartupPhases(STARTUP_BASE);
+        phases.record("i18n", I18N_STARTED, I18N_FINISHED);
+        phases.start("fonts", Fonts::defaultThemeFonts, "i18n");
+        phases.start("images", Images::preload);
+        phases.start("settings", Settings::getInstance, "fonts");
+        phases.start("library", LibraryUpdater::precollectFiles, "settings");
+        phases.run("look & feel", UIUtilities::initialize, "fonts", "settings");
+        phases.run("desktop", GCS::installDesktopHandlers, "look & feel");
+        phases.run("update check", UpdateChecker::check, "settings");
+        launchProxy.setReady(true);
+
+        phases.startOnUIThread("workspace", Workspace::get, "look & feel", "images", "library");
+        phases.startOnUIThread("open files", () -> {
+            OpenDataFileCommand.enablePassThrough();
+            for (Path file : files) {
+                OpenDataFileCommand.open(file);
+            }
+        }, "workspace");
+        boolean reportPhases = startupReport;
+        phases.shutdown(() -> {
+            AutoSaver.offerRecovery();
+            if (Platform.isMacintosh() && System.getProperty("java.home").toLowerCase().contains("/apptranslocation/")) {
+                Modal.showError(null, Text.wrapToCharacterCount(I18n.text("macOS has translocated GCS, restricting access to the file system and preventing access to the data library. To fix this, you must quit GCS, then run the following command in the terminal after cd'ing into the GURPS Character Sheet folder:\n\n"), 60) + "xattr -d com.apple.quarantine \"/Applications/GCS.app\"");
+            }
+            setNotificationAllowed(true);
+            if (reportPhases) {
+                System.out.print(phases.report());
+            }
+        });
+    }
+
+    private static void installDesktopHandlers() {
         if (Desktop.isDesktopSupported()) {
             Desktop desktop = Desktop.getDesktop();
             if (desktop.isSupported(Action.APP_ABOUT)) {
@@ -259,22 +363,6 @@ public final class GCS {
                 desktop.disableSuddenTermination();
             }
         }
-
-        Settings.getInstance();
-        UpdateChecker.check();
-        launchProxy.setReady(true);
-
-        EventQueue.invokeLater(() -> {
-            Workspace.get();
-            OpenDataFileCommand.enablePassThrough();
-            for (Path file : files) {
-                OpenDataFileCommand.open(file);
-            }
-            if (Platform.isMacintosh() && System.getProperty("java.home").toLowerCase().contains("/apptranslocation/")) {
-                Modal.showError(null, Text.wrapToCharacterCount(I18n.text("macOS has translocated GCS, restricting access to the file system and preventing access to the data library. To fix this, you must quit GCS, then run the following command in the terminal after cd'ing into the GURPS Character Sheet folder:\n\n"), 60) + "xattr -d com.apple.quarantine \"/Applications/GCS.app\"");
-            }
-            setNotificationAllowed(true);
-        });
     }
 
     private static void showHelp() {
@@ -287,6 +375,8 @@ public final class GCS {
         List<String> options = new ArrayList<>();
         options.add(I18n.text("-h, --help"));
         options.add(I18n.text("Displays a description of each option."));
+        options.add(I18n.text("--generate <settings>"));
+        options.add(I18n.text("Generate synthetic sheets, templates or libraries for load testing, writing one to each file specified on the command line. The type of data generated is determined by each file's extension. The settings are a comma-separated list of key=value pairs, or 'default'. Valid keys are: rows (total rows per file, default 1000), depth (levels of container nesting, default 1), features and prereqs (fraction of rows with features or prerequisites, default 0.25), weapons (number of weapons per file, default one row in ten), defaults (shape of the skill default graph: none, chain, tree, star or random; default random) and seed (for the random number generator, which is fixed by default). After all files have been generated, GCS will exit."));
         options.add(I18n.text("--loadsave"));
         options.add(I18n.text("Load and then save all files specified on the command line. If a directory is specified, it will be traversed recursively and all files found will be loaded and saved. This operation is intended to easily bring files up to the current version's data format. After all files have been processed, GCS will exit."));
         options.add(I18n.text("--margins <margins>"));
@@ -295,6 +385,10 @@ public final class GCS {
         options.add(I18n.text("When generating PDF or PNG from the command line, allows you to specify a paper size to use, rather than the one embedded in the file. Valid choices are: LETTER, A4, or the width and height, expressed in inches and separated by an 'x', such as '5x7'."));
         options.add(I18n.text("--png"));
         options.add(I18n.text("Create PNG versions of sheets specified on the command line."));
+        options.add(I18n.text("--serve <address>"));
+        options.add(I18n.text("Run as a headless HTTP server on the specified port, or host:port, rather than opening windows. A sheet POSTed to /text is returned as the output of the template named by its 'template' query parameter, or of the --text template if none is named. A sheet POSTed to /png returns the page named by its 'page' query parameter, starting at 1. GET /templates lists the available templates. Only the local machine may connect unless a host is specified. GCS will run until it is stopped."));
+        options.add(I18n.text("--startup-report"));
+        options.add(I18n.text("Once startup has completed, print how long each phase of it took."));
         options.add(I18n.text("--text <file>"));
         options.add(I18n.text("Create text versions of sheets specified on the command line using the specified template file."));
         options.add(I18n.text("-v, --version"));
@@ -175,6 +175,11 @@ public class Advantage extends CollectedListRow implements HasSourceReference, S
         return new Advantage(newOwner, this, deep);
     }
 
+    @Override
+    public boolean canCloneConcurrently() {
+        return true;
+    }
+
     @Override
     public ListOutline getOutlineFromCollectedOutlines(CollectedOutlines outlines) {
         return outlines.getAdvantagesOutline();
@@ -789,11 +794,9 @@ public class Advantage extends CollectedListRow implements HasSourceReference, S
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> text) {
+        super.addSearchText(text);
+        text.add(getName());
     }
 
     /** @return The type as a text string. */
@@ -858,6 +861,11 @@ public class Advantage extends CollectedListRow implements HasSourceReference, S
         return Collections.unmodifiableList(mWeapons);
     }
 
+    @Override
+    public boolean hasWeapons() {
+        return !mWeapons.isEmpty();
+    }
+
     /**
      * @param weapons The weapons to set.
      * @return Whether it was modified.
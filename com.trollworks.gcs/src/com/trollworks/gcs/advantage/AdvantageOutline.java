@@ -22,6 +22,7 @@ import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.MultipleRowUndo;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
+import com.trollworks.gcs.ui.widget.outline.RowCloner;
 import com.trollworks.gcs.ui.widget.outline.RowPostProcessor;
 import com.trollworks.gcs.ui.widget.outline.RowUndo;
 import com.trollworks.gcs.utility.FilteredIterator;
@@ -31,6 +32,7 @@ import java.awt.EventQueue;
 import java.awt.dnd.DropTargetDragEvent;
 import java.awt.dnd.DropTargetDropEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** An outline specifically for Advantages. */
@@ -66,8 +68,7 @@ public class AdvantageOutline extends ListOutline implements Incrementable {
         Row[]              rows               = model.getDragRows();
         boolean            forSheetOrTemplate = mDataFile instanceof GURPSCharacter || mDataFile instanceof Template;
         ArrayList<ListRow> process            = new ArrayList<>();
-        for (Row element : rows) {
-            Advantage advantage = new Advantage(mDataFile, (Advantage) element, true);
+        for (ListRow advantage : RowCloner.cloneRows(mDataFile, Arrays.asList(rows), mDataFile instanceof GURPSCharacter)) {
             model.collectRowsAndSetOwner(list, advantage, false);
             if (forSheetOrTemplate) {
                 addRowsToBeProcessed(process, advantage);
@@ -0,0 +1,90 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ancestry;
+
+import java.util.Random;
+
+/**
+ * A precomputed table for choosing an index according to a set of weights in constant time, using
+ * Vose's alias method. Instances are immutable and may be shared between threads.
+ */
+public final class AliasTable {
+    private double[] mProbability;
+    private int[]    mAlias;
+
+    /**
+     * Creates a new alias table.
+     *
+     * @param weights The weights to use. Negative weights are treated as zero. At least one weight
+     *                must be positive.
+     */
+    public AliasTable(int[] weights) {
+        int  count = weights.length;
+        long total = 0;
+        for (int weight : weights) {
+            if (weight > 0) {
+                total += weight;
+            }
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("at least one weight must be positive");
+        }
+        mProbability = new double[count];
+        mAlias = new int[count];
+        double[] scaled     = new double[count];
+        int[]    small      = new int[count];
+        int[]    large      = new int[count];
+        int      smallCount = 0;
+        int      largeCount = 0;
+        for (int i = 0; i < count; i++) {
+            scaled[i] = Math.max(weights[i], 0) * (double) count / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            mProbability[less] = scaled[less];
+            mAlias[less] = more;
+            scaled[more] += scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Anything left over is only here due to floating point round-off, so is effectively 1
+        while (largeCount > 0) {
+            mProbability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            mProbability[small[--smallCount]] = 1;
+        }
+    }
+
+    /** @return The number of entries in the table. */
+    public int size() {
+        return mProbability.length;
+    }
+
+    /**
+     * @param random The {@link Random} to use.
+     * @return A randomly chosen index, weighted as specified at construction.
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(mProbability.length);
+        return random.nextDouble() < mProbability[column] ? column : mAlias[column];
+    }
+}
@@ -23,14 +23,18 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
 
 /** Holds details necessary to generate ancestry-specific customizations. */
 public class Ancestry {
-    private static final String                        KEY_COMMON_OPTIONS   = "common_options";
-    private static final String                        KEY_GENDER_OPTIONS   = "gender_options";
-    private static final String                        KEY_GENDERED_OPTIONS = "gendered_options";
-    public               AncestryOptions               mCommonOptions;
-    public               List<WeightedAncestryOptions> mGenderOptions;
+    private static final String                           KEY_COMMON_OPTIONS   = "common_options";
+    private static final String                           KEY_GENDER_OPTIONS   = "gender_options";
+    private static final String                           KEY_GENDERED_OPTIONS = "gendered_options";
+    public               AncestryOptions                  mCommonOptions;
+    public               List<WeightedAncestryOptions>    mGenderOptions;
+    private              List<WeightedAncestryOptions>    mGenderChoicesSource;
+    private              WeightedChoices<AncestryOptions> mGenderChoices;
 
     public Ancestry() {
         mCommonOptions = new AncestryOptions("").setToDefaults();
@@ -65,9 +69,9 @@ public class Ancestry {
     }
 
     public String getRandomGender() {
-        WeightedAncestryOptions choice = WeightedOption.choose(mGenderOptions);
+        AncestryOptions choice = getGenderChoices().choose(ThreadLocalRandom.current());
         if (choice != null) {
-            return choice.mValue.mName;
+            return choice.mName;
         }
         Ancestry ancestry = AncestryRef.DEFAULT.ancestry();
         if (ancestry != this) {
@@ -76,6 +80,14 @@ public class Ancestry {
         return "Male";
     }
 
+    private synchronized WeightedChoices<AncestryOptions> getGenderChoices() {
+        if (mGenderChoicesSource != mGenderOptions) {
+            mGenderChoices = new WeightedChoices<>(mGenderOptions);
+            mGenderChoicesSource = mGenderOptions;
+        }
+        return mGenderChoices;
+    }
+
     private WeightedAncestryOptions getGenderedOptions(String gender) {
         gender = gender.trim();
         for (WeightedAncestryOptions options : mGenderOptions) {
@@ -86,6 +98,38 @@ public class Ancestry {
         return null;
     }
 
+    /**
+     * Resolves the options that would be used for a given gender, following the same fallback chain
+     * as the getRandom methods: the gendered options, then the common options, then those of the
+     * default ancestry.
+     *
+     * @param gender The gender to resolve options for.
+     * @param usable Returns {@code true} if the options contain the data being looked for.
+     * @return The options to use, or {@code null} if none contain the data.
+     */
+    AncestryOptions resolveOptions(String gender, Predicate<AncestryOptions> usable) {
+        WeightedAncestryOptions options = getGenderedOptions(gender);
+        if (options != null && usable.test(options.mValue)) {
+            return options.mValue;
+        }
+        if (mCommonOptions != null && usable.test(mCommonOptions)) {
+            return mCommonOptions;
+        }
+        Ancestry ancestry = AncestryRef.DEFAULT.ancestry();
+        if (ancestry != this) {
+            return ancestry.resolveOptions(gender, usable);
+        }
+        return null;
+    }
+
+    /**
+     * @return A new {@link AncestrySampler} for this ancestry, suitable for generating many random
+     *         identities at once.
+     */
+    public AncestrySampler createSampler() {
+        return new AncestrySampler(this);
+    }
+
     public double getRandomHeightInInches(GURPSCharacter gchar, String gender) {
         WeightedAncestryOptions options = getGenderedOptions(gender);
         if (options != null && !options.mValue.mHeightFormula.isBlank()) {
@@ -21,28 +21,32 @@ import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /** Options that may be randomized for a character's ancestry. */
 public class AncestryOptions {
-    private static final String                     KEY_NAME               = "name";
-    private static final String                     KEY_HEIGHT_FORMULA     = "height_formula";
-    private static final String                     KEY_WEIGHT_FORMULA     = "weight_formula";
-    private static final String                     KEY_AGE_FORMULA        = "age_formula";
-    private static final String                     KEY_NAME_GENERATORS    = "name_generators";
-    private static final String                     KEY_HAIR_OPTIONS       = "hair_options";
-    private static final String                     KEY_EYE_OPTIONS        = "eye_options";
-    private static final String                     KEY_SKIN_OPTIONS       = "skin_options";
-    private static final String                     KEY_HANDEDNESS_OPTIONS = "handedness_options";
-    public               String                     mName;
-    public               String                     mHeightFormula;
-    public               String                     mWeightFormula;
-    public               String                     mAgeFormula;
-    public               List<WeightedStringOption> mHairOptions;
-    public               List<WeightedStringOption> mEyeOptions;
-    public               List<WeightedStringOption> mSkinOptions;
-    public               List<WeightedStringOption> mHandednessOptions;
-    public               List<String>               mNameGenerators;
+    private static final String                                                   KEY_NAME               = "name";
+    private static final String                                                   KEY_HEIGHT_FORMULA     = "height_formula";
+    private static final String                                                   KEY_WEIGHT_FORMULA     = "weight_formula";
+    private static final String                                                   KEY_AGE_FORMULA        = "age_formula";
+    private static final String                                                   KEY_NAME_GENERATORS    = "name_generators";
+    private static final String                                                   KEY_HAIR_OPTIONS       = "hair_options";
+    private static final String                                                   KEY_EYE_OPTIONS        = "eye_options";
+    private static final String                                                   KEY_SKIN_OPTIONS       = "skin_options";
+    private static final String                                                   KEY_HANDEDNESS_OPTIONS = "handedness_options";
+    public               String                                                   mName;
+    public               String                                                   mHeightFormula;
+    public               String                                                   mWeightFormula;
+    public               String                                                   mAgeFormula;
+    public               List<WeightedStringOption>                               mHairOptions;
+    public               List<WeightedStringOption>                               mEyeOptions;
+    public               List<WeightedStringOption>                               mSkinOptions;
+    public               List<WeightedStringOption>                               mHandednessOptions;
+    public               List<String>                                             mNameGenerators;
+    private final        Map<List<WeightedStringOption>, WeightedChoices<String>> mChoices               = new IdentityHashMap<>();
 
     public AncestryOptions(String name) {
         mName = name;
@@ -129,6 +133,9 @@ public class AncestryOptions {
         mHandednessOptions.add(new WeightedStringOption(1, "Left"));
         mHandednessOptions.add(new WeightedStringOption(9, "Right"));
 
+        synchronized (mChoices) {
+            mChoices.clear();
+        }
         return this;
     }
 
@@ -179,11 +186,11 @@ public class AncestryOptions {
     }
 
     public String pick(List<WeightedStringOption> options) {
-        WeightedStringOption choice = WeightedOption.choose(options);
-        if (choice != null) {
-            return choice.mValue;
+        WeightedChoices<String> choices;
+        synchronized (mChoices) {
+            choices = mChoices.computeIfAbsent(options, WeightedChoices::new);
         }
-        return null;
+        return choices.choose(ThreadLocalRandom.current());
     }
 
     public String getRandomName() {
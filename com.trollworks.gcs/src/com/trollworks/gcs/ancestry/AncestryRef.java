@@ -13,7 +13,7 @@ package com.trollworks.gcs.ancestry;
 
 import com.trollworks.gcs.utility.Dirs;
 import com.trollworks.gcs.utility.FileType;
-import com.trollworks.gcs.utility.NamedData;
+import com.trollworks.gcs.utility.NamedDataRegistry;
 import com.trollworks.gcs.utility.PathUtils;
 import com.trollworks.gcs.utility.text.NumericComparator;
 
@@ -26,35 +26,24 @@ import java.util.List;
 import java.util.Map;
 
 public class AncestryRef implements Comparable<AncestryRef> {
-    private static final Map<String, AncestryRef> REGISTERED_ANCESTRIES = new HashMap<>();
-    public static final  AncestryRef              DEFAULT               = new AncestryRef();
-    private              String                   mName;
-    private              Ancestry                 mAncestry;
+    private static final NamedDataRegistry<AncestryRef> REGISTRY = new NamedDataRegistry<>(FileType.ANCESTRY_SETTINGS, Dirs.SETTINGS, AncestryRef::new);
+    public static final  AncestryRef                    DEFAULT  = new AncestryRef();
+    private              String                         mName;
+    private              Ancestry                       mAncestry;
 
     public static final AncestryRef get(String name) {
-        load();
-        AncestryRef ref = REGISTERED_ANCESTRIES.get(name);
+        AncestryRef ref = REGISTRY.get(name);
         return ref != null ? ref : DEFAULT;
     }
 
     public static final List<AncestryRef> choices() {
-        load();
-        List<AncestryRef> list = new ArrayList<>(REGISTERED_ANCESTRIES.values());
+        Map<String, AncestryRef> all = new HashMap<>(REGISTRY.getAll());
+        all.putIfAbsent(DEFAULT.mName, DEFAULT);
+        List<AncestryRef> list = new ArrayList<>(all.values());
         Collections.sort(list);
         return list;
     }
 
-    private static void load() {
-        if (REGISTERED_ANCESTRIES.isEmpty()) {
-            for (NamedData<List<NamedData<AncestryRef>>> list : NamedData.scanLibraries(FileType.ANCESTRY_SETTINGS, Dirs.SETTINGS, AncestryRef::new)) {
-                for (NamedData<AncestryRef> data : list.getData()) {
-                    REGISTERED_ANCESTRIES.putIfAbsent(data.getName(), data.getData());
-                }
-            }
-            REGISTERED_ANCESTRIES.putIfAbsent(DEFAULT.mName, DEFAULT);
-        }
-    }
-
     public AncestryRef() {
         mName = "Human";
         mAncestry = new Ancestry();
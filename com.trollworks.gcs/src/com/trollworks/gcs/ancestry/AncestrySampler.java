@@ -0,0 +1,244 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ancestry;
+
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.expression.EvaluationException;
+import com.trollworks.gcs.expression.Evaluator;
+import com.trollworks.gcs.utility.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A compiled form of an {@link Ancestry}. The fallback chain for each gender is resolved once and
+ * all weighted options are turned into {@link AliasTable}s up front, so that large numbers of
+ * random identities can be produced cheaply. Instances are immutable and may be shared between
+ * threads, although each character may only be sampled against from the thread that owns it.
+ */
+public final class AncestrySampler {
+    private static final String DEFAULT_GENDER = "Male";
+    private static final double DEFAULT_HEIGHT = 64;
+    private static final double DEFAULT_WEIGHT = 140;
+    private static final String DEFAULT_COLOR  = "Brown";
+
+    private WeightedChoices<String> mGenders;
+    private String                  mFallbackGender;
+    private Map<String, Resolved>   mResolved;
+    private Resolved                mUnknown;
+
+    AncestrySampler(Ancestry ancestry) {
+        mGenders = genderChoices(ancestry);
+        Ancestry defAncestry = AncestryRef.DEFAULT.ancestry();
+        if (mGenders.isEmpty() && defAncestry != ancestry) {
+            mGenders = genderChoices(defAncestry);
+        }
+        mFallbackGender = DEFAULT_GENDER;
+        mResolved = new HashMap<>();
+        List<String> genders = new ArrayList<>();
+        genders.add(DEFAULT_GENDER);
+        for (WeightedAncestryOptions options : ancestry.mGenderOptions) {
+            genders.add(options.mValue.mName);
+        }
+        if (defAncestry != ancestry) {
+            for (WeightedAncestryOptions options : defAncestry.mGenderOptions) {
+                genders.add(options.mValue.mName);
+            }
+        }
+        for (String gender : genders) {
+            mResolved.computeIfAbsent(normalize(gender), k -> new Resolved(ancestry, gender));
+        }
+        mUnknown = new Resolved(ancestry, "");
+    }
+
+    private static WeightedChoices<String> genderChoices(Ancestry ancestry) {
+        List<WeightedStringOption> options = new ArrayList<>();
+        for (WeightedAncestryOptions one : ancestry.mGenderOptions) {
+            options.add(new WeightedStringOption(one.mWeight, one.mValue.mName));
+        }
+        return new WeightedChoices<>(options);
+    }
+
+    private static String normalize(String gender) {
+        return gender.trim().toLowerCase();
+    }
+
+    /**
+     * @param random The {@link Random} to use.
+     * @return A randomly chosen gender.
+     */
+    public String generateGender(Random random) {
+        return mGenders.isEmpty() ? mFallbackGender : mGenders.choose(random);
+    }
+
+    /**
+     * Generates a random identity.
+     *
+     * @param gchar  The character to evaluate height and weight formulas against.
+     * @param random The {@link Random} to use.
+     * @return The new identity.
+     */
+    public Identity generate(GURPSCharacter gchar, Random random) {
+        String   gender   = generateGender(random);
+        Resolved resolved = mResolved.getOrDefault(normalize(gender), mUnknown);
+        return new Identity(resolved.name(random), gender, resolved.height(gchar), resolved.weight(gchar), resolved.hair(random), resolved.eyes(random));
+    }
+
+    /**
+     * Generates a batch of random identities. Height and weight formulas are evaluated against the
+     * character, which isn't safe to do from more than one thread at a time, so this must be called
+     * on the thread that owns the character.
+     *
+     * @param gchar The character to evaluate height and weight formulas against.
+     * @param count The number of identities to generate.
+     * @return The new identities.
+     */
+    public List<Identity> generate(GURPSCharacter gchar, int count) {
+        Random         random     = ThreadLocalRandom.current();
+        List<Identity> identities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            identities.add(generate(gchar, random));
+        }
+        return identities;
+    }
+
+    /** A randomly generated identity. */
+    public static final class Identity {
+        private String mName;
+        private String mGender;
+        private double mHeightInInches;
+        private double mWeightInPounds;
+        private String mHair;
+        private String mEyes;
+
+        Identity(String name, String gender, double heightInInches, double weightInPounds, String hair, String eyes) {
+            mName = name;
+            mGender = gender;
+            mHeightInInches = heightInInches;
+            mWeightInPounds = weightInPounds;
+            mHair = hair;
+            mEyes = eyes;
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public String getGender() {
+            return mGender;
+        }
+
+        public double getHeightInInches() {
+            return mHeightInInches;
+        }
+
+        public double getWeightInPounds() {
+            return mWeightInPounds;
+        }
+
+        public String getHair() {
+            return mHair;
+        }
+
+        public String getEyes() {
+            return mEyes;
+        }
+    }
+
+    /** The data for a single gender, with the fallback chain already applied. */
+    private static final class Resolved {
+        private String                  mHeightFormula;
+        private String                  mWeightFormula;
+        private WeightedChoices<String> mHair;
+        private WeightedChoices<String> mEyes;
+        private NameGenerator[]         mNameGenerators;
+
+        Resolved(Ancestry ancestry, String gender) {
+            AncestryOptions options = ancestry.resolveOptions(gender, opts -> !opts.mHeightFormula.isBlank());
+            mHeightFormula = options != null ? options.mHeightFormula : null;
+            options = ancestry.resolveOptions(gender, opts -> !opts.mWeightFormula.isBlank());
+            mWeightFormula = options != null ? options.mWeightFormula : null;
+            options = ancestry.resolveOptions(gender, opts -> !opts.mHairOptions.isEmpty());
+            mHair = options != null ? new WeightedChoices<>(options.mHairOptions) : null;
+            options = ancestry.resolveOptions(gender, opts -> !opts.mEyeOptions.isEmpty());
+            mEyes = options != null ? new WeightedChoices<>(options.mEyeOptions) : null;
+            options = ancestry.resolveOptions(gender, opts -> opts.mNameGenerators != null && !opts.mNameGenerators.isEmpty());
+            List<NameGenerator> generators = new ArrayList<>();
+            if (options != null) {
+                for (String one : options.mNameGenerators) {
+                    NameGenerator generator = NameGenerator.get(one);
+                    if (generator != null) {
+                        generators.add(generator);
+                    }
+                }
+            }
+            mNameGenerators = generators.toArray(new NameGenerator[0]);
+        }
+
+        double height(GURPSCharacter gchar) {
+            return evaluate(gchar, mHeightFormula, DEFAULT_HEIGHT);
+        }
+
+        double weight(GURPSCharacter gchar) {
+            return evaluate(gchar, mWeightFormula, DEFAULT_WEIGHT);
+        }
+
+        private static double evaluate(GURPSCharacter gchar, String formula, double def) {
+            if (formula == null) {
+                return def;
+            }
+            try {
+                return new Evaluator(gchar).evaluateToNumber(formula);
+            } catch (EvaluationException e) {
+                Log.error(e);
+                return def;
+            }
+        }
+
+        String hair(Random random) {
+            return pick(mHair, random);
+        }
+
+        String eyes(Random random) {
+            return pick(mEyes, random);
+        }
+
+        private static String pick(WeightedChoices<String> choices, Random random) {
+            if (choices == null) {
+                return DEFAULT_COLOR;
+            }
+            String choice = choices.choose(random);
+            return choice != null ? choice : DEFAULT_COLOR;
+        }
+
+        String name(Random random) {
+            StringBuilder buffer = new StringBuilder();
+            for (NameGenerator generator : mNameGenerators) {
+                String text = generator.generate(random);
+                if (text != null) {
+                    text = text.trim();
+                    if (!text.isBlank()) {
+                        if (!buffer.isEmpty()) {
+                            buffer.append(" ");
+                        }
+                        buffer.append(text);
+                    }
+                }
+            }
+            return buffer.toString();
+        }
+    }
+}
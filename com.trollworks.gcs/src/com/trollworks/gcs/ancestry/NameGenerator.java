@@ -11,10 +11,9 @@
 
 package com.trollworks.gcs.ancestry;
 
-import com.trollworks.gcs.utility.Dice;
 import com.trollworks.gcs.utility.Dirs;
 import com.trollworks.gcs.utility.FileType;
-import com.trollworks.gcs.utility.NamedData;
+import com.trollworks.gcs.utility.NamedDataRegistry;
 import com.trollworks.gcs.utility.json.Json;
 import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
@@ -27,29 +26,26 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class NameGenerator {
-    private static final String                     KEY_TYPE              = "type";
-    private static final String                     KEY_TRAINING_DATA     = "training_data";
-    private static final Map<String, NameGenerator> REGISTERED_GENERATORS = new HashMap<>();
-    private              NameGenerationType         mType;
-    private              List<String>               mTrainingData;
-    private              int                        mMin;
-    private              int                        mMax;
-    private              Map<String, Entry>         mEntries;
+    private static final String                           KEY_TYPE          = "type";
+    private static final String                           KEY_TRAINING_DATA = "training_data";
+    private static final NamedDataRegistry<NameGenerator> REGISTRY          = new NamedDataRegistry<>(FileType.NAME_GENERATOR_SETTINGS, Dirs.SETTINGS, NameGenerator::new);
+    private              NameGenerationType               mType;
+    private              List<String>                     mTrainingData;
+    private              int                              mMin;
+    private              int                              mMax;
+    private              long[]                           mPrefixes;
+    private              int[]                            mSuccessorOffsets;
+    private              char[]                           mSuccessors;
+    private              AliasTable[]                     mSuccessorTables;
 
     public static final NameGenerator get(String name) {
-        if (REGISTERED_GENERATORS.isEmpty()) {
-            for (NamedData<List<NamedData<NameGenerator>>> list : NamedData.scanLibraries(FileType.NAME_GENERATOR_SETTINGS, Dirs.SETTINGS, NameGenerator::new)) {
-                for (NamedData<NameGenerator> data : list.getData()) {
-                    REGISTERED_GENERATORS.putIfAbsent(data.getName(), data.getData());
-                }
-            }
-        }
-        return REGISTERED_GENERATORS.get(name);
+        return REGISTRY.get(name);
     }
 
     /**
@@ -92,7 +88,10 @@ public class NameGenerator {
         if (mType == NameGenerationType.MARKOV_CHAIN) {
             mMin = 20;
             mMax = 2;
-            Map<String, Map<Character, Integer>> builders = new HashMap<>();
+            // Each transition is packed into a long as (first char, second char, next char), so
+            // that sorting groups them by their two character prefix and then by the next char.
+            int    transitionCount = 0;
+            long[] transitions     = new long[256];
             for (String one : mTrainingData) {
                 int len = one.length();
                 if (mMin > len) {
@@ -102,22 +101,51 @@ public class NameGenerator {
                     mMax = len;
                 }
                 for (int i = 2; i < len; i++) {
-                    String charGroup = one.substring(i - 2, i);
-                    if (!builders.containsKey(charGroup)) {
-                        builders.put(charGroup, new HashMap<>());
+                    if (transitionCount == transitions.length) {
+                        transitions = Arrays.copyOf(transitions, transitionCount * 2);
                     }
-                    Map<Character, Integer> m              = builders.get(charGroup);
-                    Character               subsequentChar = Character.valueOf(one.charAt(i));
-                    m.put(subsequentChar, Integer.valueOf(m.getOrDefault(subsequentChar, Integer.valueOf(0)).intValue() + 1));
+                    transitions[transitionCount++] = (prefixKey(one.charAt(i - 2), one.charAt(i - 1)) << 16) | one.charAt(i);
                 }
             }
-            mEntries = new HashMap<>();
-            for (Map.Entry<String, Map<Character, Integer>> entry : builders.entrySet()) {
-                mEntries.put(entry.getKey(), new Entry(entry.getValue()));
+            Arrays.sort(transitions, 0, transitionCount);
+            long[]           prefixes    = new long[transitionCount];
+            int[]            offsets     = new int[transitionCount + 1];
+            char[]           successors  = new char[transitionCount];
+            int[]            weights     = new int[transitionCount];
+            int              prefixCount = 0;
+            int              distinct    = 0;
+            List<AliasTable> tables      = new ArrayList<>();
+            int              i           = 0;
+            while (i < transitionCount) {
+                long prefix = transitions[i] >>> 16;
+                prefixes[prefixCount] = prefix;
+                offsets[prefixCount] = distinct;
+                int start = distinct;
+                while (i < transitionCount && transitions[i] >>> 16 == prefix) {
+                    long transition = transitions[i];
+                    int  weight     = 0;
+                    while (i < transitionCount && transitions[i] == transition) {
+                        weight++;
+                        i++;
+                    }
+                    successors[distinct] = (char) (transition & 0xFFFF);
+                    weights[distinct++] = weight;
+                }
+                tables.add(new AliasTable(Arrays.copyOfRange(weights, start, distinct)));
+                prefixCount++;
             }
+            offsets[prefixCount] = distinct;
+            mPrefixes = Arrays.copyOf(prefixes, prefixCount);
+            mSuccessorOffsets = Arrays.copyOf(offsets, prefixCount + 1);
+            mSuccessors = Arrays.copyOf(successors, distinct);
+            mSuccessorTables = tables.toArray(new AliasTable[0]);
         }
     }
 
+    private static long prefixKey(char first, char second) {
+        return ((long) first << 16) | second;
+    }
+
     public void save(JsonWriter w) throws IOException {
         w.startMap();
         w.keyValue(KEY_TYPE, Enums.toId(mType));
@@ -130,29 +158,40 @@ public class NameGenerator {
         w.endMap();
     }
 
+    /** @return A randomly generated name. */
     public String generate() {
+        return generate(ThreadLocalRandom.current());
+    }
+
+    /**
+     * @param random The {@link Random} to use. Supplying a separate generator per thread allows
+     *               names to be generated concurrently without contention.
+     * @return A randomly generated name.
+     */
+    public String generate(Random random) {
         switch (mType) {
             case SIMPLE -> {
                 if (mTrainingData.isEmpty()) {
                     return "";
                 }
-                String name = mTrainingData.get(Dice.RANDOM.nextInt(mTrainingData.size()));
+                String name = mTrainingData.get(random.nextInt(mTrainingData.size()));
                 return Character.toUpperCase(name.charAt(0)) + name.substring(1).toLowerCase();
             }
             case MARKOV_CHAIN -> {
-                int           targetSize = Dice.RANDOM.nextInt(mMin, mMax + 1);
-                StringBuilder buffer     = new StringBuilder();
-                buffer.append((String) mEntries.keySet().toArray()[Dice.RANDOM.nextInt(mEntries.size())]);
+                if (mPrefixes.length == 0) {
+                    return "";
+                }
+                int           targetSize = random.nextInt(mMin, mMax + 1);
+                StringBuilder buffer     = new StringBuilder(targetSize);
+                long          prefix     = mPrefixes[random.nextInt(mPrefixes.length)];
+                buffer.append((char) (prefix >>> 16));
+                buffer.append((char) (prefix & 0xFFFF));
                 for (int i = 2; i < targetSize; i++) {
-                    String sub = buffer.substring(i - 2, i);
-                    if (!mEntries.containsKey(sub)) {
+                    int index = Arrays.binarySearch(mPrefixes, prefixKey(buffer.charAt(i - 2), buffer.charAt(i - 1)));
+                    if (index < 0) {
                         break;
                     }
-                    char next = mEntries.get(sub).chooseCharacter();
-                    if (next == 0) {
-                        break;
-                    }
-                    buffer.append(next);
+                    buffer.append(mSuccessors[mSuccessorOffsets[index] + mSuccessorTables[index].sample(random)]);
                 }
                 buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
                 return buffer.toString();
@@ -162,31 +201,4 @@ public class NameGenerator {
             }
         }
     }
-
-    static class Entry {
-        private char[] mCharacters;
-        private int[]  mThresholds;
-
-        Entry(Map<Character, Integer> occurrences) {
-            mCharacters = new char[occurrences.size()];
-            mThresholds = new int[occurrences.size()];
-            int i = 0;
-            for (Map.Entry<Character, Integer> entry : occurrences.entrySet()) {
-                mCharacters[i] = entry.getKey().charValue();
-                mThresholds[i] = entry.getValue().intValue() + (i > 0 ? mThresholds[i - 1] : 0);
-                i++;
-            }
-        }
-
-        char chooseCharacter() {
-            int threshold = Dice.RANDOM.nextInt(mThresholds[mThresholds.length - 1] + 1);
-            int count     = mThresholds.length;
-            for (int i = 0; i < count; i++) {
-                if (mThresholds[i] >= threshold) {
-                    return mCharacters[i];
-                }
-            }
-            return 0;
-        }
-    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ancestry;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An immutable snapshot of a list of {@link WeightedOption}s, with a precomputed {@link AliasTable}
+ * for constant-time weighted selection.
+ *
+ * @param <T> The type of value being chosen.
+ */
+public final class WeightedChoices<T> {
+    private Object[]   mValues;
+    private AliasTable mTable;
+
+    /** @param options The options to choose from. Options with non-positive weights are ignored. */
+    public WeightedChoices(List<? extends WeightedOption<T>> options) {
+        int   count   = 0;
+        int[] weights = new int[options.size()];
+        mValues = new Object[options.size()];
+        for (WeightedOption<T> option : options) {
+            if (option.mWeight > 0) {
+                weights[count] = option.mWeight;
+                mValues[count++] = option.mValue;
+            }
+        }
+        if (count > 0) {
+            if (count != weights.length) {
+                int[]    trimmedWeights = new int[count];
+                Object[] trimmedValues  = new Object[count];
+                System.arraycopy(weights, 0, trimmedWeights, 0, count);
+                System.arraycopy(mValues, 0, trimmedValues, 0, count);
+                weights = trimmedWeights;
+                mValues = trimmedValues;
+            }
+            mTable = new AliasTable(weights);
+        }
+    }
+
+    /** @return {@code true} if there are no choices available. */
+    public boolean isEmpty() {
+        return mTable == null;
+    }
+
+    /**
+     * @param random The {@link Random} to use.
+     * @return A randomly chosen value, or {@code null} if there are no choices available.
+     */
+    @SuppressWarnings("unchecked")
+    public T choose(Random random) {
+        return mTable != null ? (T) mValues[mTable.sample(random)] : null;
+    }
+}
@@ -11,7 +11,6 @@
 
 package com.trollworks.gcs.ancestry;
 
-import com.trollworks.gcs.utility.Dice;
 import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
@@ -21,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class WeightedOption<T> {
     protected static final String KEY_WEIGHT = "weight";
@@ -90,7 +90,7 @@ public abstract class WeightedOption<T> {
             total += option.mWeight;
         }
         if (total > 0) {
-            int choice = 1 + Dice.RANDOM.nextInt(total);
+            int choice = 1 + ThreadLocalRandom.current().nextInt(total);
             for (T option : options) {
                 choice -= option.mWeight;
                 if (choice < 1) {
@@ -15,7 +15,10 @@ import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.datafile.DataFile;
 import com.trollworks.gcs.settings.SheetSettings;
 import com.trollworks.gcs.utility.Dice;
+import com.trollworks.gcs.utility.Dirs;
+import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.I18n;
+import com.trollworks.gcs.utility.NamedDataRegistry;
 import com.trollworks.gcs.utility.VersionException;
 import com.trollworks.gcs.utility.json.Json;
 import com.trollworks.gcs.utility.json.JsonArray;
@@ -35,16 +38,27 @@ import java.util.List;
 import java.util.Map;
 
 public class HitLocationTable implements Cloneable, Comparable<HitLocationTable> {
-    private static final String                   KEY_ID        = "id";
-    private static final String                   KEY_NAME      = "name";
-    private static final String                   KEY_ROLL      = "roll";
-    private static final String                   KEY_LOCATIONS = "locations";
-    private              String                   mID;
-    private              String                   mName;
-    private              Dice                     mRoll;
-    private              List<HitLocation>        mLocations;
-    private              HitLocation              mOwningLocation;
-    private              Map<String, HitLocation> mLocationLookup;
+    private static final String                              KEY_ID        = "id";
+    private static final String                              KEY_NAME      = "name";
+    private static final String                              KEY_ROLL      = "roll";
+    private static final String                              KEY_LOCATIONS = "locations";
+    private static final NamedDataRegistry<HitLocationTable> REGISTRY      = new NamedDataRegistry<>(FileType.BODY_SETTINGS, Dirs.SETTINGS, HitLocationTable::new, (data) -> data.getData().getID());
+    private              String                              mID;
+    private              String                              mName;
+    private              Dice                                mRoll;
+    private              List<HitLocation>                   mLocations;
+    private              HitLocation                         mOwningLocation;
+    private              Map<String, HitLocation>            mLocationLookup;
+
+    /**
+     * @param id The ID of the body type to look up.
+     * @return A copy of the first body type found in the libraries with the specified ID, or {@code
+     *         null}.
+     */
+    public static HitLocationTable createFromLibraries(String id) {
+        HitLocationTable table = REGISTRY.get(id);
+        return table != null ? table.clone() : null;
+    }
 
     public HitLocationTable(String id, String name, Dice roll) {
         setID(id);
@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.character;
 
+import com.trollworks.gcs.ancestry.AncestrySampler;
 import com.trollworks.gcs.menu.edit.RandomizeForAncestryCommand;
 import com.trollworks.gcs.settings.SheetSettings;
 import com.trollworks.gcs.ui.layout.PrecisionLayout;
@@ -27,6 +28,7 @@ import com.trollworks.gcs.utility.units.WeightValue;
 
 import java.awt.BorderLayout;
 import java.awt.Container;
+import java.util.List;
 
 public class AncestryRandomizer implements Runnable {
     private CharacterSheet mSheet;
@@ -37,6 +39,18 @@ public class AncestryRandomizer implements Runnable {
         mUserInitiated = userInitiated;
     }
 
+    /**
+     * Generates a batch of random identities for the character's ancestry, without altering the
+     * character.
+     *
+     * @param gchar The character whose ancestry should be used.
+     * @param count The number of identities to generate.
+     * @return The new identities.
+     */
+    public static List<AncestrySampler.Identity> generateIdentities(GURPSCharacter gchar, int count) {
+        return gchar.getAncestryRef().ancestry().createSampler().generate(gchar, count);
+    }
+
     @Override
     public void run() {
         Modal          dialog  = new Modal(mSheet, mUserInitiated ? RandomizeForAncestryCommand.INSTANCE.getTitle() : I18n.text("Ancestry Changed"));
@@ -0,0 +1,252 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.skill.Skill;
+import com.trollworks.gcs.skill.SkillDefault;
+import com.trollworks.gcs.skill.SkillLevel;
+import com.trollworks.gcs.spell.Spell;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.utility.Fixed6;
+import com.trollworks.gcs.utility.units.WeightValue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The values produced by {@link GURPSCharacter#recalculate()}, captured from a private copy of a
+ * character so they can be carried back to the original. Rows are matched up by their position
+ * within the character, which is only valid while the original is unchanged since the copy was
+ * made, so each snapshot remembers the change count it was taken at. Snapshots are never altered
+ * once created and may be freely passed between threads. The skill levels and defaults they hold
+ * are mutable, so each is copied on the way in and again on the way out to a character.
+ */
+public final class CalcSnapshot {
+    private final UUID           mCharacterID;
+    private final int            mChangeCount;
+    private final long           mRecalculateNanos;
+    private final int            mAttributePoints;
+    private final int            mAdvantagePoints;
+    private final int            mDisadvantagePoints;
+    private final int            mQuirkPoints;
+    private final int            mRacePoints;
+    private final int            mSkillPoints;
+    private final int            mSpellPoints;
+    private final WeightValue    mWeightCarried;
+    private final WeightValue    mWeightCarriedForSkills;
+    private final Fixed6         mWealthCarried;
+    private final Fixed6         mWealthNotCarried;
+    private final SkillLevel[]   mSkillLevels;
+    private final SkillDefault[] mDefaultedFrom;
+    private final SkillLevel[]   mSpellLevels;
+    private final String[]       mUnsatisfiedReasons;
+
+    /**
+     * @param character   The recalculated copy of the character.
+     * @param changeCount The change count of the original at the time the copy was made.
+     */
+    CalcSnapshot(GURPSCharacter character, int changeCount) {
+        mCharacterID = character.getID();
+        mChangeCount = changeCount;
+        mRecalculateNanos = character.getLastRecalculateNanos();
+        mAttributePoints = character.getAttributePoints();
+        mAdvantagePoints = character.getAdvantagePoints();
+        mDisadvantagePoints = character.getDisadvantagePoints();
+        mQuirkPoints = character.getQuirkPoints();
+        mRacePoints = character.getRacePoints();
+        mSkillPoints = character.getSkillPoints();
+        mSpellPoints = character.getSpellPoints();
+        mWeightCarried = new WeightValue(character.getWeightCarried(false));
+        mWeightCarriedForSkills = new WeightValue(character.getWeightCarried(true));
+        mWealthCarried = character.getWealthCarried();
+        mWealthNotCarried = character.getWealthNotCarried();
+        List<SkillLevel>   skillLevels   = new ArrayList<>();
+        List<SkillDefault> defaultedFrom = new ArrayList<>();
+        for (Skill skill : character.getSkillsIterator()) {
+            skillLevels.add(copy(skill.getCalculatedLevel()));
+            defaultedFrom.add(copy(skill.getDefaultedFrom()));
+        }
+        mSkillLevels = skillLevels.toArray(new SkillLevel[0]);
+        mDefaultedFrom = defaultedFrom.toArray(new SkillDefault[0]);
+        List<SkillLevel> spellLevels = new ArrayList<>();
+        for (Spell spell : character.getSpellsIterator()) {
+            spellLevels.add(copy(spell.getCalculatedLevel()));
+        }
+        mSpellLevels = spellLevels.toArray(new SkillLevel[0]);
+        List<String> reasons = new ArrayList<>();
+        for (Iterator<? extends ListRow> iterator : prereqIterators(character)) {
+            while (iterator.hasNext()) {
+                ListRow row = iterator.next();
+                reasons.add(row.isSatisfied() ? null : row.getReasonForUnsatisfied());
+            }
+        }
+        mUnsatisfiedReasons = reasons.toArray(new String[0]);
+    }
+
+    private static SkillLevel copy(SkillLevel level) {
+        return level != null ? new SkillLevel(level) : null;
+    }
+
+    private static SkillDefault copy(SkillDefault skillDefault) {
+        if (skillDefault == null) {
+            return null;
+        }
+        SkillDefault other = new SkillDefault(skillDefault);
+        other.setLevel(skillDefault.getLevel());
+        other.setAdjLevel(skillDefault.getAdjLevel());
+        other.setPoints(skillDefault.getPoints());
+        return other;
+    }
+
+    private static List<Iterator<? extends ListRow>> prereqIterators(GURPSCharacter character) {
+        return List.of(character.getAdvantagesIterator(false), character.getSkillsIterator(), character.getSpellsIterator(), character.getEquipmentIterator(), character.getOtherEquipmentIterator());
+    }
+
+    /**
+     * @param character The character to check.
+     * @return {@code true} if the character has the same rows, in the same positions, as the copy
+     *         this snapshot was taken from.
+     */
+    boolean fits(GURPSCharacter character) {
+        if (!mCharacterID.equals(character.getID()) || mChangeCount != character.getChangeCount()) {
+            return false;
+        }
+        int count = 0;
+        for (Skill ignored : character.getSkillsIterator()) {
+            count++;
+        }
+        if (count != mSkillLevels.length) {
+            return false;
+        }
+        count = 0;
+        for (Spell ignored : character.getSpellsIterator()) {
+            count++;
+        }
+        if (count != mSpellLevels.length) {
+            return false;
+        }
+        count = 0;
+        for (Iterator<? extends ListRow> iterator : prereqIterators(character)) {
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        }
+        return count == mUnsatisfiedReasons.length;
+    }
+
+    /**
+     * Copies the skill and spell levels and the prerequisite state of each row to the character.
+     * {@link #fits(GURPSCharacter)} must have returned {@code true} for the character.
+     *
+     * @param character The character to update.
+     */
+    void applyRowsTo(GURPSCharacter character) {
+        int i = 0;
+        for (Skill skill : character.getSkillsIterator()) {
+            skill.setCalculatedLevel(copy(mSkillLevels[i]), copy(mDefaultedFrom[i]));
+            i++;
+        }
+        i = 0;
+        for (Spell spell : character.getSpellsIterator()) {
+            spell.setCalculatedLevel(copy(mSpellLevels[i++]));
+        }
+        i = 0;
+        for (Iterator<? extends ListRow> iterator : prereqIterators(character)) {
+            while (iterator.hasNext()) {
+                ListRow row    = iterator.next();
+                String  reason = mUnsatisfiedReasons[i++];
+                if (row.isSatisfied() != (reason == null)) {
+                    row.setSatisfied(reason == null);
+                }
+                if (reason != null) {
+                    row.setReasonForUnsatisfied(reason);
+                }
+            }
+        }
+    }
+
+    /** @return The ID of the character this snapshot was taken from. */
+    public UUID getCharacterID() {
+        return mCharacterID;
+    }
+
+    /** @return The change count of the original character when its inputs were copied. */
+    public int getChangeCount() {
+        return mChangeCount;
+    }
+
+    /** @return The number of nanoseconds the recalculation took. */
+    public long getRecalculateNanos() {
+        return mRecalculateNanos;
+    }
+
+    /** @return The number of points spent on basic attributes. */
+    public int getAttributePoints() {
+        return mAttributePoints;
+    }
+
+    /** @return The number of points spent on advantages. */
+    public int getAdvantagePoints() {
+        return mAdvantagePoints;
+    }
+
+    /** @return The number of points spent on disadvantages. */
+    public int getDisadvantagePoints() {
+        return mDisadvantagePoints;
+    }
+
+    /** @return The number of points spent on quirks. */
+    public int getQuirkPoints() {
+        return mQuirkPoints;
+    }
+
+    /** @return The number of points spent on a racial package. */
+    public int getRacePoints() {
+        return mRacePoints;
+    }
+
+    /** @return The number of points spent on skills. */
+    public int getSkillPoints() {
+        return mSkillPoints;
+    }
+
+    /** @return The number of points spent on spells. */
+    public int getSpellPoints() {
+        return mSpellPoints;
+    }
+
+    /** @return The total number of points spent. */
+    public int getSpentPoints() {
+        return mAttributePoints + mAdvantagePoints + mDisadvantagePoints + mQuirkPoints + mSkillPoints + mSpellPoints + mRacePoints;
+    }
+
+    /**
+     * @param forSkills {@code true} if the weight is being used for skill purposes.
+     * @return The current weight being carried.
+     */
+    public WeightValue getWeightCarried(boolean forSkills) {
+        return new WeightValue(forSkills ? mWeightCarriedForSkills : mWeightCarried);
+    }
+
+    /** @return The current wealth being carried. */
+    public Fixed6 getWealthCarried() {
+        return mWealthCarried;
+    }
+
+    /** @return The current wealth not being carried. */
+    public Fixed6 getWealthNotCarried() {
+        return mWealthNotCarried;
+    }
+}
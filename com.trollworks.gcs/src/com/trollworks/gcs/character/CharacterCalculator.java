@@ -0,0 +1,76 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.utility.SaveType;
+import com.trollworks.gcs.utility.json.Json;
+import com.trollworks.gcs.utility.json.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recalculates characters on background threads. The inputs are copied by serializing the
+ * character on the calling thread, which must be the thread that owns the character (normally the
+ * event dispatch thread). Everything after that works on a private copy, so the original may
+ * continue to be edited while the calculation runs. Different characters may be recalculated at
+ * the same time.
+ */
+public final class CharacterCalculator {
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        AtomicInteger counter = new AtomicInteger();
+        EXECUTOR = Executors.newFixedThreadPool(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1), runnable -> {
+            Thread thread = new Thread(runnable, "Recalculate " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private CharacterCalculator() {
+    }
+
+    /**
+     * @param character The character to recalculate. Must be called on the thread that owns it.
+     * @return A future that completes with the snapshot to pass to {@link
+     *         GURPSCharacter#applyCalcSnapshot(CalcSnapshot)}.
+     */
+    public static CompletableFuture<CalcSnapshot> submit(GURPSCharacter character) {
+        int    changeCount = character.getChangeCount();
+        String content;
+        try (StringWriter sw = new StringWriter(); JsonWriter w = new JsonWriter(sw, "")) {
+            character.save(w, SaveType.NORMAL, false);
+            w.flush();
+            content = sw.toString();
+        } catch (IOException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        return CompletableFuture.supplyAsync(() -> calculate(content, changeCount), EXECUTOR);
+    }
+
+    private static CalcSnapshot calculate(String content, int changeCount) {
+        try {
+            // Loading the copy performs the full recalculation
+            GURPSCharacter copy = new GURPSCharacter(Json.asMap(Json.parse(new StringReader(content))));
+            return new CalcSnapshot(copy, changeCount);
+        } catch (IOException exception) {
+            throw new CompletionException(exception);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.trollworks.gcs.character.panels.PointPoolsPanel;
 import com.trollworks.gcs.character.panels.PointsPanel;
 import com.trollworks.gcs.character.panels.PortraitPanel;
 import com.trollworks.gcs.character.panels.SingleOutlinePanel;
+import com.trollworks.gcs.datafile.DataChange;
 import com.trollworks.gcs.equipment.Equipment;
 import com.trollworks.gcs.equipment.EquipmentColumn;
 import com.trollworks.gcs.feature.ConditionalModifier;
@@ -64,6 +65,7 @@ import com.trollworks.gcs.ui.widget.outline.RowIterator;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
 import com.trollworks.gcs.utility.PathUtils;
 import com.trollworks.gcs.utility.PrintProxy;
 import com.trollworks.gcs.utility.text.Numbers;
@@ -88,14 +90,18 @@ import java.awt.Transparency;
 import java.awt.dnd.DropTarget;
 import java.awt.event.ActionEvent;
 import java.awt.print.PageFormat;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
 import javax.swing.RepaintManager;
@@ -117,6 +123,9 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     public static final  String                      NOTES_KEY                 = "notes";
     private static final String[]                    ALL_KEYS                  = {REACTIONS_KEY, CONDITIONAL_MODIFIERS_KEY, MELEE_KEY, RANGED_KEY, ADVANTAGES_KEY, SKILLS_KEY, SPELLS_KEY, EQUIPMENT_KEY, OTHER_EQUIPMENT_KEY, NOTES_KEY};
     private static final Pattern                     SCHEME_PATTERN            = Pattern.compile(".*://");
+    private static final Metrics.Timer               REBUILD_TIMER             = Metrics.timer("sheet.rebuild");
+    private static final Metrics.Timer               LAYOUT_TIMER              = Metrics.timer("sheet.layout");
+    private static final long                        BACKGROUND_RECALC_NANOS   = TimeUnit.MILLISECONDS.toNanos(25);
     private              GURPSCharacter              mCharacter;
     private              int                         mLastPage;
     private              int                         mLastAncestryHashCode;
@@ -124,10 +133,17 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     private              WeaponOutline               mRangedWeaponOutline;
     private              ReactionsOutline            mReactionsOutline;
     private              ConditionalModifiersOutline mConditionalModifiersOutline;
+    private              EncumbrancePanel            mEncumbrancePanel;
+    private              LiftPanel                   mLiftPanel;
+    private              EncumbranceTable            mPanelEncumbranceTable;
+    private              double                      mPanelScale;
     private              Scale                       mSavedScale;
     private              boolean                     mOkToPaint                = true;
     private              boolean                     mIsPrinting;
     private              boolean                     mAncestryChangePending;
+    private              boolean                     mRecalcInFlight;
+    private              DataChange                  mRecalcPendingChange;
+    private              boolean                     mDisposed;
 
     /**
      * Creates a new character sheet display. {@link #rebuild()} must be called prior to the first
@@ -150,12 +166,33 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     /** Call when the sheet is no longer in use. */
     @Override
     public void dispose() {
+        mDisposed = true;
         mCharacter.removeChangeListener(this);
         super.dispose();
     }
 
     @Override
     public void rebuild() {
+        rebuild(DataChange.global(), false);
+    }
+
+    @Override
+    protected void rebuild(DataChange change) {
+        rebuild(change, true);
+    }
+
+    /**
+     * @param change          What has changed since the last rebuild.
+     * @param allowBackground Whether the character may be recalculated in the background, leaving
+     *                        the sheet as it is until that finishes.
+     */
+    private void rebuild(DataChange change, boolean allowBackground) {
+        boolean background = allowBackground && !mIsPrinting && GraphicsUtilities.hasUserDisplay() && mCharacter.getLastRecalculateNanos() >= BACKGROUND_RECALC_NANOS;
+        if (background && !mCharacter.isCalcCurrent()) {
+            recalculateInBackground(change);
+            return;
+        }
+        long                 start    = REBUILD_TIMER.start();
         KeyboardFocusManager focusMgr = KeyboardFocusManager.getCurrentKeyboardFocusManager();
         Component            focus    = focusMgr.getPermanentFocusOwner();
         int                  firstRow = 0;
@@ -182,14 +219,17 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             focus = null;
         }
 
-        mCharacter.recalculate();
+        if (!background) {
+            mCharacter.recalculate();
+        }
 
         // Make sure our primary outlines exist
         createOutlines(mCharacter);
-        createMeleeWeaponOutline();
-        createRangedWeaponOutline();
-        createReactionsOutline();
-        createConditionalModifiersOutline();
+        boolean weaponsAffected = change.affects(WeaponOutline::isAffectedBy);
+        createMeleeWeaponOutline(weaponsAffected);
+        createRangedWeaponOutline(weaponsAffected);
+        createReactionsOutline(change.affects(ReactionsOutline::isAffectedBy));
+        createConditionalModifiersOutline(change.affects(ConditionalModifiersOutline::isAffectedBy));
 
         int    descColID = EquipmentColumn.DESCRIPTION.ordinal();
         Column column    = getEquipmentOutline().getModel().getColumnWithID(descColID);
@@ -218,8 +258,9 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         wrapper.add(wrapper2, new PrecisionLayoutData().setFillAlignment());
         wrapper.add(new BodyTypePanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
         wrapper2 = new Wrapper(new PrecisionLayout().setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
-        wrapper2.add(new EncumbrancePanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
-        wrapper2.add(new LiftPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
+        updateEncumbrancePanels();
+        wrapper2.add(mEncumbrancePanel, new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
+        wrapper2.add(mLiftPanel, new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
         wrapper.add(wrapper2, new PrecisionLayoutData().setGrabSpace(true).setFillAlignment());
         pageAssembler.addToContent(wrapper, null, null);
 
@@ -266,7 +307,9 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         pageAssembler.finish();
 
         // Ensure everything is laid out and register for notification
+        long layoutStart = LAYOUT_TIMER.start();
         validate();
+        LAYOUT_TIMER.stop(layoutStart);
         if (focusKey != null) {
             restoreFocusToKey(focusKey, this);
         } else if (focus instanceof Outline) {
@@ -285,6 +328,59 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
                 EventQueue.invokeLater(new AncestryRandomizer(this, false));
             }
         }
+        REBUILD_TIMER.stop(start);
+    }
+
+    private void recalculateInBackground(DataChange change) {
+        if (mRecalcPendingChange == null) {
+            mRecalcPendingChange = new DataChange();
+        }
+        mRecalcPendingChange.merge(change);
+        if (!mRecalcInFlight) {
+            mRecalcInFlight = true;
+            CharacterCalculator.submit(mCharacter).whenComplete((snapshot, throwable) -> EventQueue.invokeLater(() -> backgroundRecalcFinished(snapshot, throwable)));
+        }
+    }
+
+    private void backgroundRecalcFinished(CalcSnapshot snapshot, Throwable throwable) {
+        DataChange change = mRecalcPendingChange;
+        mRecalcPendingChange = null;
+        mRecalcInFlight = false;
+        if (mDisposed) {
+            return;
+        }
+        if (throwable != null) {
+            Log.error(throwable);
+            mCharacter.recalculate();
+        } else if (!mCharacter.applyCalcSnapshot(snapshot)) {
+            // The character was changed again while the calculation was running, so the results
+            // no longer apply to it. Start over with the latest data.
+            recalculateInBackground(change);
+            return;
+        }
+        rebuild(change, true);
+    }
+
+    /**
+     * Creates the encumbrance and lift panels, unless the ones from the previous rebuild still
+     * show the current values, in which case they are reused as-is.
+     */
+    private void updateEncumbrancePanels() {
+        EncumbranceTable table = mCharacter.getEncumbranceTable();
+        double           scale = getScale().getScale();
+        if (mEncumbrancePanel == null || scale != mPanelScale || !table.equals(mPanelEncumbranceTable)) {
+            mEncumbrancePanel = new EncumbrancePanel(this);
+            mLiftPanel = new LiftPanel(this);
+            mPanelEncumbranceTable = table;
+            mPanelScale = scale;
+        }
+    }
+
+    /** Discards any panels kept from the previous rebuild and schedules a new one. */
+    public void adjustToFontChanges() {
+        mEncumbrancePanel = null;
+        mLiftPanel = null;
+        markForRebuild();
     }
 
     public void setAncestryChangePending(boolean ancestryChangePending) {
@@ -438,19 +534,22 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         super.createOutlines(models);
     }
 
-    private void createReactionsOutline() {
+    private void createReactionsOutline(boolean refill) {
         if (mReactionsOutline == null) {
             mReactionsOutline = new ReactionsOutline();
             initOutline(mReactionsOutline);
+            refill = true;
         }
         resetOutline(mReactionsOutline);
-        OutlineModel model      = mReactionsOutline.getModel();
-        String       sortConfig = model.getSortConfig();
-        model.removeAllRows();
-        for (ReactionRow row : collectReactions()) {
-            model.addRow(row);
+        if (refill) {
+            OutlineModel model      = mReactionsOutline.getModel();
+            String       sortConfig = model.getSortConfig();
+            model.removeAllRows();
+            for (ReactionRow row : collectReactions()) {
+                model.addRow(row);
+            }
+            model.applySortConfig(sortConfig);
         }
-        model.applySortConfig(sortConfig);
     }
 
     public List<ReactionRow> collectReactions() {
@@ -507,19 +606,22 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         }
     }
 
-    private void createConditionalModifiersOutline() {
+    private void createConditionalModifiersOutline(boolean refill) {
         if (mConditionalModifiersOutline == null) {
             mConditionalModifiersOutline = new ConditionalModifiersOutline();
             initOutline(mConditionalModifiersOutline);
+            refill = true;
         }
         resetOutline(mConditionalModifiersOutline);
-        OutlineModel model      = mConditionalModifiersOutline.getModel();
-        String       sortConfig = model.getSortConfig();
-        model.removeAllRows();
-        for (ConditionalModifierRow row : collectConditionalModifiers()) {
-            model.addRow(row);
+        if (refill) {
+            OutlineModel model      = mConditionalModifiersOutline.getModel();
+            String       sortConfig = model.getSortConfig();
+            model.removeAllRows();
+            for (ConditionalModifierRow row : collectConditionalModifiers()) {
+                model.addRow(row);
+            }
+            model.applySortConfig(sortConfig);
         }
-        model.applySortConfig(sortConfig);
     }
 
     public List<ConditionalModifierRow> collectConditionalModifiers() {
@@ -567,19 +669,16 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         return mMeleeWeaponOutline;
     }
 
-    private void createMeleeWeaponOutline() {
+    private void createMeleeWeaponOutline(boolean refill) {
         if (mMeleeWeaponOutline == null) {
             mMeleeWeaponOutline = new WeaponOutline(MeleeWeaponStats.class);
             initOutline(mMeleeWeaponOutline);
+            refill = true;
         }
         resetOutline(mMeleeWeaponOutline);
-        OutlineModel model      = mMeleeWeaponOutline.getModel();
-        String       sortConfig = model.getSortConfig();
-        model.removeAllRows();
-        for (WeaponDisplayRow row : collectWeapons(MeleeWeaponStats.class)) {
-            model.addRow(row);
+        if (refill) {
+            updateWeaponRows(mMeleeWeaponOutline.getModel(), MeleeWeaponStats.class);
         }
-        model.applySortConfig(sortConfig);
     }
 
     /** @return The outline containing the ranged weapons. */
@@ -587,27 +686,50 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         return mRangedWeaponOutline;
     }
 
-    private void createRangedWeaponOutline() {
+    private void createRangedWeaponOutline(boolean refill) {
         if (mRangedWeaponOutline == null) {
             mRangedWeaponOutline = new WeaponOutline(RangedWeaponStats.class);
             initOutline(mRangedWeaponOutline);
+            refill = true;
         }
         resetOutline(mRangedWeaponOutline);
-        OutlineModel model      = mRangedWeaponOutline.getModel();
-        String       sortConfig = model.getSortConfig();
-        model.removeAllRows();
-        for (WeaponDisplayRow row : collectWeapons(RangedWeaponStats.class)) {
-            model.addRow(row);
+        if (refill) {
+            updateWeaponRows(mRangedWeaponOutline.getModel(), RangedWeaponStats.class);
         }
+    }
+
+    /**
+     * Brings the rows of a weapon outline in line with the weapons the character currently has.
+     * Rows for weapons that are still present are kept as-is, so only the rows for weapons that
+     * were added or removed are touched.
+     */
+    private void updateWeaponRows(OutlineModel model, Class<? extends WeaponStats> weaponClass) {
+        String                             sortConfig = model.getSortConfig();
+        Map<WeaponStats, WeaponDisplayRow> existing   = new IdentityHashMap<>();
+        for (Row row : model.getRows()) {
+            if (row instanceof WeaponDisplayRow weaponRow) {
+                existing.put(weaponRow.getWeapon(), weaponRow);
+            }
+        }
+        List<WeaponDisplayRow> added = new ArrayList<>();
+        for (WeaponStats weapon : collectWeapons(weaponClass)) {
+            if (existing.remove(weapon) == null) {
+                added.add(new WeaponDisplayRow(weapon));
+            }
+        }
+        if (!existing.isEmpty()) {
+            model.removeRows(existing.values().toArray(new Row[0]));
+        }
+        model.addRows(model.getRowCount(), added);
         model.applySortConfig(sortConfig);
     }
 
-    private List<WeaponDisplayRow> collectWeapons(Class<? extends WeaponStats> weaponClass) {
-        Map<HashedWeapon, WeaponDisplayRow> weaponMap = new HashMap<>();
+    private List<WeaponStats> collectWeapons(Class<? extends WeaponStats> weaponClass) {
+        Map<HashedWeapon, WeaponStats> weaponMap = new HashMap<>();
         for (Advantage advantage : mCharacter.getAdvantagesIterator(false)) {
             for (WeaponStats weapon : advantage.getWeapons()) {
                 if (weaponClass.isInstance(weapon)) {
-                    weaponMap.put(new HashedWeapon(weapon), new WeaponDisplayRow(weapon));
+                    weaponMap.put(new HashedWeapon(weapon), weapon);
                 }
             }
         }
@@ -615,7 +737,7 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             if (equipment.getQuantity() > 0 && equipment.isEquipped()) {
                 for (WeaponStats weapon : equipment.getWeapons()) {
                     if (weaponClass.isInstance(weapon)) {
-                        weaponMap.put(new HashedWeapon(weapon), new WeaponDisplayRow(weapon));
+                        weaponMap.put(new HashedWeapon(weapon), weapon);
                     }
                 }
             }
@@ -623,14 +745,14 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         for (Spell spell : mCharacter.getSpellsIterator()) {
             for (WeaponStats weapon : spell.getWeapons()) {
                 if (weaponClass.isInstance(weapon)) {
-                    weaponMap.put(new HashedWeapon(weapon), new WeaponDisplayRow(weapon));
+                    weaponMap.put(new HashedWeapon(weapon), weapon);
                 }
             }
         }
         for (Skill skill : mCharacter.getSkillsIterator()) {
             for (WeaponStats weapon : skill.getWeapons()) {
                 if (weaponClass.isInstance(weapon)) {
-                    weaponMap.put(new HashedWeapon(weapon), new WeaponDisplayRow(weapon));
+                    weaponMap.put(new HashedWeapon(weapon), weapon);
                 }
             }
         }
@@ -802,31 +924,17 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     public boolean saveAsPNG(Path path, List<Path> createdPaths) {
         Set<Row> changed = expandAllContainers();
         try {
-            int          dpi      = Settings.getInstance().getGeneralSettings().getImageResolution();
-            PageSettings settings = mCharacter.getSheetSettings().getPageSettings();
-            PageFormat   format   = settings.createPageFormat();
-            int          width    = (int) (format.getWidth() / 72.0 * dpi);
-            int          height   = (int) (format.getHeight() / 72.0 * dpi);
-            Img          buffer   = Img.create(width, height, Transparency.OPAQUE);
-            int          pageNum  = 0;
-            String       name     = PathUtils.getLeafName(path, false);
+            int        dpi     = Settings.getInstance().getGeneralSettings().getImageResolution();
+            PageFormat format  = mCharacter.getSheetSettings().getPageSettings().createPageFormat();
+            Img        buffer  = createPageBuffer(format, dpi);
+            int        pageNum = 0;
+            String     name    = PathUtils.getLeafName(path, false);
 
             path = path.getParent();
 
             setPrinting(true);
 
-            while (true) {
-                Graphics2D gc = buffer.getGraphics();
-                if (print(gc, format, pageNum) == NO_SUCH_PAGE) {
-                    gc.dispose();
-                    break;
-                }
-                gc.setClip(0, 0, width, height);
-                gc.setBackground(Colors.PAGE);
-                gc.clearRect(0, 0, width, height);
-                gc.scale(dpi / 72.0, dpi / 72.0);
-                print(gc, format, pageNum++);
-                gc.dispose();
+            while (renderPage(buffer, format, dpi, pageNum++)) {
                 Path pngPath = path.resolve(PathUtils.enforceExtension(name + (pageNum > 1 ? " " + pageNum : ""), FileType.PNG.getExtension()));
                 ImageIO.write(buffer, "png", pngPath.toFile());
                 createdPaths.add(pngPath);
@@ -841,6 +949,56 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         }
     }
 
+    /**
+     * Renders a single page as PNG data, the same way {@link #saveAsPNG(Path, List)} renders each
+     * page, without rendering any of the others.
+     *
+     * @param pageIndex The zero-based index of the page.
+     * @param out       The stream to write the PNG data to. Nothing is written if the page doesn't
+     *                  exist.
+     * @return The number of pages in the sheet.
+     */
+    public int writePageAsPNG(int pageIndex, OutputStream out) throws IOException {
+        Set<Row> changed = expandAllContainers();
+        try {
+            int        dpi    = Settings.getInstance().getGeneralSettings().getImageResolution();
+            PageFormat format = mCharacter.getSheetSettings().getPageSettings().createPageFormat();
+            setPrinting(true); // Lays the sheet out at print size, which can change the page count
+            int count = getPageCount();
+            if (pageIndex >= 0 && pageIndex < count) {
+                Img buffer = createPageBuffer(format, dpi);
+                if (renderPage(buffer, format, dpi, pageIndex)) {
+                    ImageIO.write(buffer, "png", out);
+                }
+            }
+            return count;
+        } finally {
+            setPrinting(false);
+            closeContainers(changed);
+        }
+    }
+
+    private static Img createPageBuffer(PageFormat format, int dpi) {
+        return Img.create((int) (format.getWidth() / 72.0 * dpi), (int) (format.getHeight() / 72.0 * dpi), Transparency.OPAQUE);
+    }
+
+    private boolean renderPage(Img buffer, PageFormat format, int dpi, int pageIndex) {
+        Graphics2D gc = buffer.getGraphics();
+        try {
+            if (print(gc, format, pageIndex) == NO_SUCH_PAGE) {
+                return false;
+            }
+            gc.setClip(0, 0, buffer.getWidth(), buffer.getHeight());
+            gc.setBackground(Colors.PAGE);
+            gc.clearRect(0, 0, buffer.getWidth(), buffer.getHeight());
+            gc.scale(dpi / 72.0, dpi / 72.0);
+            print(gc, format, pageIndex);
+            return true;
+        } finally {
+            gc.dispose();
+        }
+    }
+
     @Override
     public String getPrintJobTitle() {
         Dockable dockable = UIUtilities.getAncestorOfType(this, Dockable.class);
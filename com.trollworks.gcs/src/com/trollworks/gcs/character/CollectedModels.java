@@ -19,16 +19,19 @@ import com.trollworks.gcs.equipment.Equipment;
 import com.trollworks.gcs.equipment.EquipmentList;
 import com.trollworks.gcs.notes.Note;
 import com.trollworks.gcs.notes.NoteList;
+import com.trollworks.gcs.settings.SheetSettings;
 import com.trollworks.gcs.skill.Skill;
 import com.trollworks.gcs.skill.SkillList;
 import com.trollworks.gcs.spell.Spell;
 import com.trollworks.gcs.spell.SpellList;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
+import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowIterator;
 import com.trollworks.gcs.utility.SaveType;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
+import com.trollworks.gcs.utility.units.WeightUnits;
 
 import java.io.IOException;
 
@@ -45,6 +48,8 @@ public abstract class CollectedModels extends DataFile {
     private             OutlineModel mEquipment;
     private             OutlineModel mOtherEquipment;
     private             OutlineModel mNotes;
+    private             WeightUnits  mRollupWeightUnits;
+    private             boolean      mRollupSimpleMetric;
 
     protected CollectedModels() {
         mAdvantages = new OutlineModel();
@@ -56,6 +61,16 @@ public abstract class CollectedModels extends DataFile {
         mNotes = new OutlineModel();
     }
 
+    @Override
+    public void notifyOfChange(Object source, String property) {
+        if (source == null) {
+            // A change that isn't attributed to a row, such as one made by undoing edits to
+            // several rows at once, may have altered any of the equipment.
+            invalidateEquipmentRollups();
+        }
+        super.notifyOfChange(source, property);
+    }
+
     protected void loadModels(JsonMap m, LoadState state) throws IOException {
         AdvantageList.loadIntoModel(this, m.getArray(KEY_ADVANTAGES), mAdvantages, state);
         SkillList.loadIntoModel(this, m.getArray(KEY_SKILLS), mSkills, state);
@@ -130,6 +145,31 @@ public abstract class CollectedModels extends DataFile {
         return new RowIterator<>(mOtherEquipment);
     }
 
+    /**
+     * Marks all equipment as needing its extended value and weight recomputed if the weight
+     * settings have changed since the last call. Otherwise, only equipment that has changed since
+     * it was last computed will be recomputed by {@link Equipment#updateRollup()}.
+     */
+    protected void checkEquipmentRollupSettings() {
+        SheetSettings sheetSettings   = getSheetSettings();
+        WeightUnits   units           = sheetSettings.defaultWeightUnits();
+        boolean       useSimpleMetric = sheetSettings.useSimpleMetricConversions();
+        if (units != mRollupWeightUnits || useSimpleMetric != mRollupSimpleMetric) {
+            mRollupWeightUnits = units;
+            mRollupSimpleMetric = useSimpleMetric;
+            invalidateEquipmentRollups();
+        }
+    }
+
+    private void invalidateEquipmentRollups() {
+        for (Row row : mEquipment.getTopLevelRows()) {
+            ((Equipment) row).invalidateRollup();
+        }
+        for (Row row : mOtherEquipment.getTopLevelRows()) {
+            ((Equipment) row).invalidateRollup();
+        }
+    }
+
     /** @return The outline model for the notes. */
     public OutlineModel getNotesModel() {
         return mNotes;
@@ -12,6 +12,7 @@
 package com.trollworks.gcs.character;
 
 import com.trollworks.gcs.advantage.AdvantageOutline;
+import com.trollworks.gcs.datafile.DataChange;
 import com.trollworks.gcs.datafile.DataChangeListener;
 import com.trollworks.gcs.equipment.EquipmentOutline;
 import com.trollworks.gcs.notes.NoteOutline;
@@ -27,6 +28,7 @@ import com.trollworks.gcs.ui.widget.outline.Column;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineHeader;
+import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowSelection;
 import com.trollworks.gcs.utility.Log;
@@ -56,6 +58,7 @@ public abstract class CollectedOutlines extends Panel implements Runnable, Actio
     private List<Row>        mDragRows;
     private boolean          mDragWasAcceptable;
     private boolean          mRebuildPending;
+    private DataChange       mPendingChange;
 
     protected CollectedOutlines() {
         mScale = Settings.getInstance().getGeneralSettings().getInitialUIScale().getScale();
@@ -72,8 +75,33 @@ public abstract class CollectedOutlines extends Panel implements Runnable, Actio
         markForRebuild();
     }
 
+    @Override
+    public void dataWasChanged(DataChange change) {
+        if (change.affects((source, property) -> !ListRow.isDisplayOnlyChange(source, property))) {
+            markForRebuild(change);
+        } else {
+            // Only display-only properties of rows changed, so just redraw those rows
+            for (Object source : change.getSources()) {
+                if (source instanceof Row row) {
+                    OutlineModel owner = row.getOwner();
+                    if (owner != null) {
+                        owner.notifyOfRowModification(row, null);
+                    }
+                }
+            }
+        }
+    }
+
     /** Mark it for a rebuild in the near future. */
     public void markForRebuild() {
+        markForRebuild(DataChange.global());
+    }
+
+    private void markForRebuild(DataChange change) {
+        if (mPendingChange == null) {
+            mPendingChange = new DataChange();
+        }
+        mPendingChange.merge(change);
         if (!mRebuildPending) {
             mRebuildPending = true;
             EventQueue.invokeLater(this);
@@ -82,13 +110,25 @@ public abstract class CollectedOutlines extends Panel implements Runnable, Actio
 
     @Override
     public void run() {
-        rebuild();
+        DataChange change = mPendingChange;
+        mPendingChange = null;
+        rebuild(change != null ? change : DataChange.global());
         mRebuildPending = false;
     }
 
     /** Synchronize the display with the underlying model. */
     public abstract void rebuild();
 
+    /**
+     * Synchronize the display with the underlying model. By default, this just calls {@link
+     * #rebuild()}, but sub-classes may use the change to skip work that isn't needed.
+     *
+     * @param change What has changed since the last rebuild.
+     */
+    protected void rebuild(DataChange change) {
+        rebuild();
+    }
+
     protected void createOutlines(CollectedModels models) {
         if (mAdvantagesOutline == null) {
             mAdvantagesOutline = new AdvantageOutline(models);
@@ -18,6 +18,7 @@ import com.trollworks.gcs.settings.Settings;
 import com.trollworks.gcs.ui.scale.Scales;
 import com.trollworks.gcs.ui.widget.PopupMenu;
 import com.trollworks.gcs.ui.widget.Search;
+import com.trollworks.gcs.ui.widget.SearchSnapshot;
 import com.trollworks.gcs.ui.widget.SearchTarget;
 import com.trollworks.gcs.ui.widget.Toolbar;
 import com.trollworks.gcs.ui.widget.outline.ListOutline;
@@ -25,9 +26,10 @@ import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
+import com.trollworks.gcs.ui.widget.outline.RowCloner;
 import com.trollworks.gcs.ui.widget.outline.RowItemRenderer;
-import com.trollworks.gcs.ui.widget.outline.RowIterator;
 import com.trollworks.gcs.ui.widget.outline.RowPostProcessor;
+import com.trollworks.gcs.ui.widget.outline.RowSearchIndex;
 import com.trollworks.gcs.utility.I18n;
 
 import java.awt.BorderLayout;
@@ -35,6 +37,7 @@ import java.awt.EventQueue;
 import java.awt.KeyboardFocusManager;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.swing.ListCellRenderer;
@@ -96,12 +99,28 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
         return list;
     }
 
-    private static void searchOne(ListOutline outline, String text, List<Object> list) {
-        for (ListRow row : new RowIterator<ListRow>(outline.getModel())) {
-            if (row.contains(text, true)) {
-                list.add(row);
+    @Override
+    public SearchSnapshot createSearchSnapshot() {
+        CollectedOutlines    outlines = getCollectedOutlines();
+        List<RowSearchIndex> indexes  = new ArrayList<>();
+        indexes.add(outlines.getAdvantagesOutline().getModel().getSearchIndex());
+        indexes.add(outlines.getSkillsOutline().getModel().getSearchIndex());
+        indexes.add(outlines.getSpellsOutline().getModel().getSearchIndex());
+        indexes.add(outlines.getEquipmentOutline().getModel().getSearchIndex());
+        indexes.add(outlines.getOtherEquipmentOutline().getModel().getSearchIndex());
+        indexes.add(outlines.getNotesOutline().getModel().getSearchIndex());
+        return (filter, hits) -> {
+            filter = filter.toLowerCase();
+            for (RowSearchIndex index : indexes) {
+                if (!hits.test(new ArrayList<>(index.search(filter)))) {
+                    return;
+                }
             }
-        }
+        };
+    }
+
+    private static void searchOne(ListOutline outline, String text, List<Object> list) {
+        list.addAll(outline.getModel().searchRows(text));
     }
 
     @Override
@@ -176,26 +195,27 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
      */
     public void addRows(List<Row> rows) {
         CollectedOutlines           outlines    = getCollectedOutlines();
-        Map<ListOutline, StateEdit> map         = new HashMap<>();
-        Map<Outline, List<Row>>     selMap      = new HashMap<>();
+        Map<ListOutline, List<Row>> rowMap      = new LinkedHashMap<>();
         Map<Outline, List<ListRow>> nameMap     = new HashMap<>();
         String                      addRowsText = I18n.text("Add Rows");
         for (Row row : rows) {
             if (row instanceof CollectedListRow clr) {
-                ListOutline outline = clr.getOutlineFromCollectedOutlines(outlines);
-                if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
-                }
-                ListRow lr = clr.cloneRow(getDataFile(), true, true);
-                addCompleteRow(outline, lr, selMap);
-                addRowsToBeProcessed(nameMap.computeIfAbsent(outline, k -> new ArrayList<>()), lr);
+                rowMap.computeIfAbsent(clr.getOutlineFromCollectedOutlines(outlines), k -> new ArrayList<>()).add(row);
             }
         }
-        for (Map.Entry<ListOutline, StateEdit> entry : map.entrySet()) {
-            ListOutline  outline = entry.getKey();
-            OutlineModel model   = outline.getModel();
-            model.select(selMap.get(outline), false);
-            StateEdit edit = entry.getValue();
+        for (Map.Entry<ListOutline, List<Row>> entry : rowMap.entrySet()) {
+            ListOutline   outline = entry.getKey();
+            List<ListRow> added   = RowCloner.cloneRows(getDataFile(), entry.getValue(), true);
+            OutlineModel  model   = outline.getModel();
+            StateEdit     edit    = new StateEdit(model, addRowsText);
+            List<ListRow> process = new ArrayList<>();
+            for (ListRow row : added) {
+                addRowsToBeProcessed(process, row);
+            }
+            nameMap.put(outline, process);
+            model.addRows(model.getRowCount(), added);
+            outline.contentSizeMayHaveChanged();
+            model.select(added, false);
             edit.end();
             if (outline.getParent() == null) {
                 getUndoManager().addEdit(edit);
@@ -221,24 +241,4 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
             addRowsToBeProcessed(list, (ListRow) row.getChild(i));
         }
     }
-
-    private static void addCompleteRow(Outline outline, Row row, Map<Outline, List<Row>> selMap) {
-        List<Row> selection = selMap.get(outline);
-        addCompleteRow(outline.getModel(), row);
-        outline.contentSizeMayHaveChanged();
-        if (selection == null) {
-            selection = new ArrayList<>();
-            selMap.put(outline, selection);
-        }
-        selection.add(row);
-    }
-
-    private static void addCompleteRow(OutlineModel outlineModel, Row row) {
-        outlineModel.addRow(row);
-        if (row.isOpen() && row.hasChildren()) {
-            for (Row child : row.getChildren()) {
-                addCompleteRow(outlineModel, child);
-            }
-        }
-    }
 }
@@ -11,7 +11,12 @@
 
 package com.trollworks.gcs.character;
 
+import com.trollworks.gcs.advantage.Advantage;
+import com.trollworks.gcs.equipment.Equipment;
+import com.trollworks.gcs.modifier.AdvantageModifier;
+import com.trollworks.gcs.modifier.EquipmentModifier;
 import com.trollworks.gcs.ui.widget.outline.Column;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
@@ -30,6 +35,19 @@ public class ConditionalModifiersOutline extends Outline {
         setEnabled(false);
     }
 
+    /**
+     * @param source   The object that changed.
+     * @param property The key of the property that changed, or {@code null} if unknown.
+     * @return {@code true} if the change could alter the conditional modifiers shown, which are collected from the
+     *         features of advantages, equipment and their modifiers.
+     */
+    public static boolean isAffectedBy(Object source, String property) {
+        if (source instanceof ListRow row) {
+            return (row instanceof Advantage || row instanceof AdvantageModifier || row instanceof Equipment || row instanceof EquipmentModifier) && !ListRow.isDisplayOnlyChange(source, property);
+        }
+        return true;
+    }
+
     @Override
     protected boolean isRowDragAcceptable(DropTargetDragEvent dtde, Row[] rows) {
         return false;
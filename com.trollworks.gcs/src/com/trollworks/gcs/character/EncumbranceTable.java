@@ -0,0 +1,148 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.utility.Fixed6;
+import com.trollworks.gcs.utility.units.WeightUnits;
+import com.trollworks.gcs.utility.units.WeightValue;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of a character's basic lift along with the maximum load, move and dodge
+ * for each {@link Encumbrance} level and the level the character is currently at. Two tables are
+ * equal if they hold the same values, regardless of when they were computed.
+ */
+public final class EncumbranceTable {
+    private static final Encumbrance[] LEVELS = Encumbrance.values();
+
+    private long        mCalcGeneration;
+    private WeightUnits mUnits;
+    private Fixed6      mBasicLift;
+    private Fixed6[]    mMaximumCarry;
+    private int[]       mMove;
+    private int[]       mDodge;
+    private Encumbrance mLevel;
+    private Encumbrance mLevelForSkills;
+    private boolean     mOverloaded;
+    private boolean     mOverloadedForSkills;
+
+    /**
+     * @param calcGeneration   The calculation generation of the character the values came from.
+     * @param units            The units the weights are expressed in.
+     * @param basicLift        The basic lift.
+     * @param maximumCarry     The maximum load for each encumbrance level.
+     * @param move             The move for each encumbrance level.
+     * @param dodge            The dodge for each encumbrance level.
+     * @param carried          The weight currently being carried.
+     * @param carriedForSkills The weight currently being carried, for the purposes of skills.
+     */
+    EncumbranceTable(long calcGeneration, WeightUnits units, Fixed6 basicLift, Fixed6[] maximumCarry, int[] move, int[] dodge, WeightValue carried, WeightValue carriedForSkills) {
+        mCalcGeneration = calcGeneration;
+        mUnits = units;
+        mBasicLift = basicLift;
+        mMaximumCarry = maximumCarry;
+        mMove = move;
+        mDodge = dodge;
+        Fixed6[] normalized = new Fixed6[LEVELS.length];
+        for (int i = 0; i < LEVELS.length; i++) {
+            normalized[i] = new WeightValue(maximumCarry[i], units).getNormalizedValue();
+        }
+        Fixed6 weight = carried.getNormalizedValue();
+        mLevel = levelFor(weight, normalized);
+        mOverloaded = weight.greaterThan(normalized[LEVELS.length - 1]);
+        weight = carriedForSkills.getNormalizedValue();
+        mLevelForSkills = levelFor(weight, normalized);
+        mOverloadedForSkills = weight.greaterThan(normalized[LEVELS.length - 1]);
+    }
+
+    private static Encumbrance levelFor(Fixed6 weight, Fixed6[] normalizedMaximumCarry) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (weight.lessThanOrEqual(normalizedMaximumCarry[i])) {
+                return LEVELS[i];
+            }
+        }
+        return Encumbrance.EXTRA_HEAVY;
+    }
+
+    /** @return The calculation generation of the character the values came from. */
+    public long getCalcGeneration() {
+        return mCalcGeneration;
+    }
+
+    /** @return Basic lift. */
+    public WeightValue getBasicLift() {
+        return new WeightValue(mBasicLift, mUnits);
+    }
+
+    /**
+     * @param encumbrance The encumbrance level.
+     * @return The maximum amount the character can carry for the specified encumbrance level.
+     */
+    public WeightValue getMaximumCarry(Encumbrance encumbrance) {
+        return new WeightValue(mMaximumCarry[encumbrance.ordinal()], mUnits);
+    }
+
+    /**
+     * @param encumbrance The encumbrance level.
+     * @return The character's ground move for the specified encumbrance level.
+     */
+    public int getMove(Encumbrance encumbrance) {
+        return mMove[encumbrance.ordinal()];
+    }
+
+    /**
+     * @param encumbrance The encumbrance level.
+     * @return The character's dodge for the specified encumbrance level.
+     */
+    public int getDodge(Encumbrance encumbrance) {
+        return mDodge[encumbrance.ordinal()];
+    }
+
+    /**
+     * @param forSkills {@code true} if the level is needed for the purposes of skills.
+     * @return The current encumbrance level.
+     */
+    public Encumbrance getEncumbranceLevel(boolean forSkills) {
+        return forSkills ? mLevelForSkills : mLevel;
+    }
+
+    /**
+     * @param forSkills {@code true} if the check is for the purposes of skills.
+     * @return {@code true} if the carried weight is greater than the maximum allowed for an
+     *         extra-heavy load.
+     */
+    public boolean isCarryingGreaterThanMaxLoad(boolean forSkills) {
+        return forSkills ? mOverloadedForSkills : mOverloaded;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof EncumbranceTable other) {
+            return mUnits == other.mUnits && mLevel == other.mLevel && mLevelForSkills == other.mLevelForSkills && mOverloaded == other.mOverloaded && mOverloadedForSkills == other.mOverloadedForSkills && mBasicLift.equals(other.mBasicLift) && Arrays.equals(mMove, other.mMove) && Arrays.equals(mDodge, other.mDodge) && Arrays.equals(mMaximumCarry, other.mMaximumCarry);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(mUnits, mLevel, mLevelForSkills, Boolean.valueOf(mOverloaded), Boolean.valueOf(mOverloadedForSkills), mBasicLift);
+        result = 31 * result + Arrays.hashCode(mMove);
+        result = 31 * result + Arrays.hashCode(mDodge);
+        result = 31 * result + Arrays.hashCode(mMaximumCarry);
+        return result;
+    }
+}
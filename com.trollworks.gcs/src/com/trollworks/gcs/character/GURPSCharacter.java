@@ -51,8 +51,10 @@ import com.trollworks.gcs.utility.Dice;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.FilteredIterator;
 import com.trollworks.gcs.utility.Fixed6;
+import com.trollworks.gcs.utility.Fixed6Accumulator;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
 import com.trollworks.gcs.utility.SaveType;
 import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
@@ -72,10 +74,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /** A GURPS character. */
 public class GURPSCharacter extends CollectedModels implements VariableResolver {
-    private static final String KEY_ROOT             = "character";
+    /** The type name characters are saved with. */
+    public static final String KEY_ROOT = "character";
+
     private static final String KEY_ATTRIBUTES       = "attributes";
     private static final String KEY_CREATED_DATE     = "created_date";
     private static final String KEY_MODIFIED_DATE    = "modified_date";
@@ -98,6 +103,9 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     private static final String KEY_ST        = "ST";
     private static final String KEY_WILL_ADJ  = "will_adj";
 
+    private static final AtomicLong    NEXT_CALC_GENERATION = new AtomicLong();
+    private static final Metrics.Timer RECALCULATE_TIMER    = Metrics.timer("character.recalculate");
+
     private Set<String>                         mVariableResolverExclusions;
     private long                                mModifiedOn;
     private long                                mCreatedOn;
@@ -124,6 +132,11 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     private int                                 mCachedSkillPoints;
     private int                                 mCachedSpellPoints;
     private int                                 mCachedRacePoints;
+    private long                                mCalcGeneration = NEXT_CALC_GENERATION.incrementAndGet();
+    private EncumbranceTable                    mEncumbranceTable;
+    private int                                 mCalcChangeCount;
+    private long                                mLastRecalculateNanos;
+    private boolean                             mApplyingCalcSnapshot;
 
     /** Creates a new character with only default values set. */
     public GURPSCharacter() {
@@ -139,10 +152,22 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      *                     sheet.
      */
     public GURPSCharacter(Path path) throws IOException {
-        this();
+        characterInitialize(false);
         load(path);
     }
 
+    /**
+     * Creates a new character from previously saved data that has already been parsed, such as a
+     * private copy of another character or a sheet received over the network.
+     *
+     * @param m The {@link JsonMap} to load the data from.
+     * @throws IOException if the data isn't a valid character sheet.
+     */
+    public GURPSCharacter(JsonMap m) throws IOException {
+        characterInitialize(false);
+        load(m, new LoadState());
+    }
+
     private void characterInitialize(boolean full) {
         mVariableResolverExclusions = new HashSet<>();
         mSheetSettings = new SheetSettings(this);
@@ -163,10 +188,27 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         return mAttributes;
     }
 
+    /**
+     * @return A number that changes whenever anything that derived values, such as weapon skill
+     *         levels, depend upon may have changed. Values computed while this number stays the
+     *         same may be reused. Numbers are never shared between characters.
+     */
+    public long getCalcGeneration() {
+        return mCalcGeneration;
+    }
+
+    private void advanceCalcGeneration() {
+        mCalcGeneration = NEXT_CALC_GENERATION.incrementAndGet();
+    }
+
     @Override
-    public void notifyOfChange() {
+    public void notifyOfChange(Object source, String property) {
+        if (mApplyingCalcSnapshot) {
+            return;
+        }
+        advanceCalcGeneration();
         setModifiedOn(System.currentTimeMillis() / FieldFactory.TIMESTAMP_FACTOR);
-        super.notifyOfChange();
+        super.notifyOfChange(source, property);
     }
 
     @Override
@@ -180,6 +222,8 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     }
 
     public void recalculate() {
+        long start = RECALCULATE_TIMER.start();
+        advanceCalcGeneration();
         calculateWeightAndWealthCarried(false);
         calculateWealthNotCarried(false);
         updateSkills();
@@ -198,6 +242,61 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         calculateAdvantagePoints();
         calculateSkillPoints();
         calculateSpellPoints();
+        advanceCalcGeneration();
+        mCalcChangeCount = getChangeCount();
+        mLastRecalculateNanos = System.nanoTime() - start;
+        RECALCULATE_TIMER.record(mLastRecalculateNanos);
+    }
+
+    /**
+     * Adopts the results of recalculating a copy of this character, in place of calling {@link
+     * #recalculate()}. Only the parts of a recalculation that must refer to this character's own
+     * rows, such as building the feature map, are redone here. No change notifications are sent
+     * while doing so, as the values being adopted only follow from changes that were already
+     * announced; the caller is expected to refresh anything that displays them.
+     *
+     * @param snapshot The {@link CalcSnapshot} taken from the recalculated copy.
+     * @return {@code false} if this character has changed since the copy was made, in which case
+     *         nothing was altered.
+     */
+    public boolean applyCalcSnapshot(CalcSnapshot snapshot) {
+        if (!snapshot.fits(this)) {
+            return false;
+        }
+        advanceCalcGeneration();
+        mApplyingCalcSnapshot = true;
+        try {
+            calculateWeightAndWealthCarried(false);
+            calculateWealthNotCarried(false);
+            processFeatures();
+            snapshot.applyRowsTo(this);
+            mCachedAttributePoints = snapshot.getAttributePoints();
+            mCachedAdvantagePoints = snapshot.getAdvantagePoints();
+            mCachedDisadvantagePoints = snapshot.getDisadvantagePoints();
+            mCachedQuirkPoints = snapshot.getQuirkPoints();
+            mCachedRacePoints = snapshot.getRacePoints();
+            mCachedSkillPoints = snapshot.getSkillPoints();
+            mCachedSpellPoints = snapshot.getSpellPoints();
+        } finally {
+            mApplyingCalcSnapshot = false;
+        }
+        advanceCalcGeneration();
+        mCalcChangeCount = getChangeCount();
+        mLastRecalculateNanos = snapshot.getRecalculateNanos();
+        return true;
+    }
+
+    /**
+     * @return {@code true} if nothing has changed since the last call to {@link #recalculate()} or
+     *         {@link #applyCalcSnapshot(CalcSnapshot)}.
+     */
+    public boolean isCalcCurrent() {
+        return mCalcChangeCount == getChangeCount();
+    }
+
+    /** @return The number of nanoseconds the most recent recalculation took. */
+    public long getLastRecalculateNanos() {
+        return mLastRecalculateNanos;
     }
 
     @Override
@@ -431,24 +530,54 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         return mSheetSettings.getDamageProgression().calculateSwing(strength);
     }
 
+    /**
+     * @return The basic lift along with the maximum load, move and dodge for each encumbrance
+     *         level. The table is only recomputed when the character has changed since the last
+     *         call.
+     */
+    public EncumbranceTable getEncumbranceTable() {
+        EncumbranceTable table = mEncumbranceTable;
+        if (table == null || table.getCalcGeneration() != mCalcGeneration) {
+            table = computeEncumbranceTable();
+            mEncumbranceTable = table;
+        }
+        return table;
+    }
+
+    private EncumbranceTable computeEncumbranceTable() {
+        Encumbrance[] levels       = Encumbrance.values();
+        WeightUnits   desiredUnits = mSheetSettings.defaultWeightUnits();
+        WeightUnits   calcUnits    = mSheetSettings.useSimpleMetricConversions() && desiredUnits.isMetric() ? WeightUnits.KG : WeightUnits.LB;
+        Fixed6        lift         = computeBasicLift(calcUnits);
+        Fixed6[]      maximumCarry = new Fixed6[levels.length];
+        int[]         move         = new int[levels.length];
+        int[]         dodge        = new int[levels.length];
+        int           initialMove  = computeInitialMove();
+        int           initialDodge = computeInitialDodge();
+        for (Encumbrance encumbrance : levels) {
+            int index = encumbrance.ordinal();
+            maximumCarry[index] = desiredUnits.convert(calcUnits, lift.mul(new Fixed6(encumbrance.getWeightMultiplier())));
+            move[index] = computeMove(initialMove, encumbrance);
+            dodge[index] = Math.max(initialDodge + encumbrance.getEncumbrancePenalty(), 1);
+        }
+        return new EncumbranceTable(mCalcGeneration, desiredUnits, desiredUnits.convert(calcUnits, lift), maximumCarry, move, dodge, mCachedWeightCarried, mCachedWeightCarriedForSkills);
+    }
+
     /** @return Basic lift. */
     public WeightValue getBasicLift() {
-        return getBasicLift(mSheetSettings.defaultWeightUnits());
+        return getEncumbranceTable().getBasicLift();
     }
 
-    private WeightValue getBasicLift(WeightUnits desiredUnits) {
-        Fixed6      ten = new Fixed6(10);
-        WeightUnits units;
-        Fixed6      divisor;
-        Fixed6      multiplier;
-        Fixed6      roundAt;
-        if (mSheetSettings.useSimpleMetricConversions() && mSheetSettings.defaultWeightUnits().isMetric()) {
-            units = WeightUnits.KG;
+    private Fixed6 computeBasicLift(WeightUnits calcUnits) {
+        Fixed6 ten = new Fixed6(10);
+        Fixed6 divisor;
+        Fixed6 multiplier;
+        Fixed6 roundAt;
+        if (calcUnits == WeightUnits.KG) {
             divisor = ten;
             multiplier = Fixed6.ONE;
             roundAt = new Fixed6(5);
         } else {
-            units = WeightUnits.LB;
             divisor = new Fixed6(5);
             multiplier = new Fixed6(2);
             roundAt = ten;
@@ -483,7 +612,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
             }
             value = value.mul(ten).trunc().div(ten);
         }
-        return new WeightValue(desiredUnits.convert(units, value), desiredUnits);
+        return value;
     }
 
     private WeightValue getMultipleOfBasicLift(int multiple) {
@@ -527,11 +656,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The maximum amount the character can carry for the specified encumbrance level.
      */
     public WeightValue getMaximumCarry(Encumbrance encumbrance) {
-        WeightUnits desiredUnits = mSheetSettings.defaultWeightUnits();
-        WeightUnits calcUnits    = mSheetSettings.useSimpleMetricConversions() && desiredUnits.isMetric() ? WeightUnits.KG : WeightUnits.LB;
-        WeightValue lift         = getBasicLift(calcUnits);
-        lift.setValue(lift.getValue().mul(new Fixed6(encumbrance.getWeightMultiplier())));
-        return new WeightValue(desiredUnits.convert(calcUnits, lift.getValue()), desiredUnits);
+        return getEncumbranceTable().getMaximumCarry(encumbrance);
     }
 
     /**
@@ -539,6 +664,10 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The character's ground move for the specified encumbrance level.
      */
     public int getMove(Encumbrance encumbrance) {
+        return getEncumbranceTable().getMove(encumbrance);
+    }
+
+    private int computeInitialMove() {
         int initialMove = getAttributeIntValue("basic_move");
         int divisor     = 2 * Math.min(countThresholdOpMet(ThresholdOps.HALVE_MOVE), 2);
         if (divisor > 0) {
@@ -548,6 +677,10 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
                 initialMove++;
             }
         }
+        return initialMove;
+    }
+
+    private static int computeMove(int initialMove, Encumbrance encumbrance) {
         int move = initialMove * (10 + 2 * encumbrance.getEncumbrancePenalty()) / 10;
         if (move < 1) {
             return initialMove > 0 ? 1 : 0;
@@ -560,6 +693,10 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The character's dodge for the specified encumbrance level.
      */
     public int getDodge(Encumbrance encumbrance) {
+        return getEncumbranceTable().getDodge(encumbrance);
+    }
+
+    private int computeInitialDodge() {
         int dodge   = 3 + mDodgeBonus + getAttributeIntValue("basic_speed");
         int divisor = 2 * Math.min(countThresholdOpMet(ThresholdOps.HALVE_DODGE), 2);
         if (divisor > 0) {
@@ -569,7 +706,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
                 dodge++;
             }
         }
-        return Math.max(dodge + encumbrance.getEncumbrancePenalty(), 1);
+        return dodge;
     }
 
 
@@ -614,13 +751,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
 
     /** @return The current encumbrance level. */
     public Encumbrance getEncumbranceLevel(boolean forSkills) {
-        Fixed6 carried = getWeightCarried(forSkills).getNormalizedValue();
-        for (Encumbrance encumbrance : Encumbrance.values()) {
-            if (carried.lessThanOrEqual(getMaximumCarry(encumbrance).getNormalizedValue())) {
-                return encumbrance;
-            }
-        }
-        return Encumbrance.EXTRA_HEAVY;
+        return getEncumbranceTable().getEncumbranceLevel(forSkills);
     }
 
     /**
@@ -628,7 +759,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      *         extra-heavy load.
      */
     public boolean isCarryingGreaterThanMaxLoad(boolean forSkills) {
-        return getWeightCarried(forSkills).getNormalizedValue().greaterThan(getMaximumCarry(Encumbrance.EXTRA_HEAVY).getNormalizedValue());
+        return getEncumbranceTable().isCarryingGreaterThanMaxLoad(forSkills);
     }
 
     /** @return The current weight being carried. */
@@ -691,16 +822,17 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         WeightUnits defaultWeightUnits   = mSheetSettings.defaultWeightUnits();
         mCachedWeightCarried = new WeightValue(Fixed6.ZERO, defaultWeightUnits);
         mCachedWeightCarriedForSkills = new WeightValue(Fixed6.ZERO, defaultWeightUnits);
-        mCachedWealthCarried = Fixed6.ZERO;
+        Fixed6Accumulator wealth = new Fixed6Accumulator();
+        checkEquipmentRollupSettings();
         for (Row one : getEquipmentModel().getTopLevelRows()) {
             Equipment equipment = (Equipment) one;
-            equipment.update();
+            equipment.updateRollup();
             WeightValue weight = new WeightValue(equipment.getExtendedWeight(false));
             if (mSheetSettings.useSimpleMetricConversions()) {
                 weight = defaultWeightUnits.isMetric() ? convertToGurpsMetric(weight) : convertFromGurpsMetric(weight);
             }
             mCachedWeightCarried.add(weight);
-            mCachedWealthCarried = mCachedWealthCarried.add(equipment.getExtendedValue());
+            wealth.add(equipment.getExtendedValue());
 
             weight = new WeightValue(equipment.getExtendedWeight(true));
             if (mSheetSettings.useSimpleMetricConversions()) {
@@ -708,6 +840,8 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
             }
             mCachedWeightCarriedForSkills.add(weight);
         }
+        mCachedWealthCarried = wealth.toFixed6();
+        mEncumbranceTable = null;
         if (notify) {
             if (!savedWeight.equals(mCachedWeightCarried) || !savedWeightForSkills.equals(mCachedWeightCarriedForSkills) || !mCachedWealthCarried.equals(savedWealth)) {
                 notifyOfChange();
@@ -723,12 +857,14 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      */
     public void calculateWealthNotCarried(boolean notify) {
         Fixed6 savedWealth = mCachedWealthNotCarried;
-        mCachedWealthNotCarried = Fixed6.ZERO;
+        Fixed6Accumulator wealth = new Fixed6Accumulator();
+        checkEquipmentRollupSettings();
         for (Row one : getOtherEquipmentModel().getTopLevelRows()) {
             Equipment equipment = (Equipment) one;
-            equipment.update();
-            mCachedWealthNotCarried = mCachedWealthNotCarried.add(equipment.getExtendedValue());
+            equipment.updateRollup();
+            wealth.add(equipment.getExtendedValue());
         }
+        mCachedWealthNotCarried = wealth.toFixed6();
         if (notify) {
             if (!mCachedWealthNotCarried.equals(savedWealth)) {
                 notifyOfChange();
@@ -736,17 +872,6 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         }
     }
 
-    private int[] preserveMoveAndDodge() {
-        Encumbrance[] values = Encumbrance.values();
-        int[]         data   = new int[values.length * 2];
-        for (Encumbrance encumbrance : values) {
-            int index = encumbrance.ordinal();
-            data[index] = getMove(encumbrance);
-            data[values.length + index] = getDodge(encumbrance);
-        }
-        return data;
-    }
-
     /** @return The total number of points this character has. */
     public int getTotalPoints() {
         return mTotalPoints;
@@ -0,0 +1,164 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.ui.GraphicsUtilities;
+import com.trollworks.gcs.ui.RetinaIcon;
+import com.trollworks.gcs.ui.UIUtilities;
+import com.trollworks.gcs.ui.image.Img;
+import com.trollworks.gcs.ui.scale.Scale;
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.PrintProxy;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * A character portrait. When loaded from a file, the encoded image data is retained as-is and only
+ * decoded the first time the image is needed. Unchanged portraits are written back exactly as they
+ * were read, so loading and re-saving a sheet never touches the image codec. Scaled variants
+ * produced for display are cached per size.
+ */
+public class Portrait extends RetinaIcon {
+    private static final int            MAX_SCALED = 8;
+    private              String         mEncoded;
+    private              Img            mNormal;
+    private              Img            mRetina;
+    private              boolean        mDecoded;
+    private              Map<Long, Img> mScaled    = new HashMap<>();
+
+    /** @param encoded The base64-encoded image data, as stored within a sheet. */
+    public Portrait(String encoded) {
+        super(null, null);
+        mEncoded = encoded;
+    }
+
+    /** @param image The image to create a portrait from. */
+    public Portrait(Img image) {
+        super(null, null);
+        RetinaIcon icon = Profile.createPortrait(image);
+        mNormal = icon.getNormal();
+        mRetina = icon.getRetina();
+        mDecoded = true;
+    }
+
+    /**
+     * Decodes the image data, if that hasn't already been done.
+     *
+     * @return {@code true} if the image is available.
+     */
+    public synchronized boolean decode() {
+        if (!mDecoded) {
+            mDecoded = true;
+            try {
+                RetinaIcon icon = Profile.createPortrait(Img.create(new ByteArrayInputStream(Base64.getDecoder().decode(mEncoded))));
+                if (icon != null) {
+                    mNormal = icon.getNormal();
+                    mRetina = icon.getRetina();
+                }
+            } catch (Exception exception) {
+                Log.error(exception);
+            }
+        }
+        return mNormal != null;
+    }
+
+    /** @return {@code true} if the image data has been decoded. */
+    public synchronized boolean isDecoded() {
+        return mDecoded;
+    }
+
+    /**
+     * @return The base64-encoded image data. If the portrait was loaded from a sheet, this is the
+     *         data exactly as it was read. Otherwise, the image is encoded as PNG once and the
+     *         result is retained.
+     */
+    public synchronized String getEncoded() throws IOException {
+        if (mEncoded == null) {
+            try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                ImageIO.write(mRetina, FileType.PNG.getExtension(), baos);
+                mEncoded = Base64.getEncoder().encodeToString(baos.toByteArray());
+            }
+        }
+        return mEncoded;
+    }
+
+    @Override
+    public Img getNormal() {
+        decode();
+        return mNormal;
+    }
+
+    @Override
+    public Img getRetina() {
+        decode();
+        return mRetina;
+    }
+
+    /**
+     * @param width  The desired width, in device pixels.
+     * @param height The desired height, in device pixels.
+     * @return A version of the portrait with the specified dimensions, or {@code null} if the
+     *         image data couldn't be decoded.
+     */
+    public synchronized Img getScaled(int width, int height) {
+        if (!decode()) {
+            return null;
+        }
+        if (mNormal.getWidth() == width && mNormal.getHeight() == height) {
+            return mNormal;
+        }
+        if (mRetina.getWidth() == width && mRetina.getHeight() == height) {
+            return mRetina;
+        }
+        Long key = Long.valueOf(((long) width << 32) | (height & 0xFFFFFFFFL));
+        Img  img = mScaled.get(key);
+        if (img == null) {
+            if (mScaled.size() >= MAX_SCALED) {
+                mScaled.clear();
+            }
+            img = mRetina.scale(width, height);
+            mScaled.put(key, img);
+        }
+        return img;
+    }
+
+    @Override
+    public void paintIcon(Component component, Graphics g, int x, int y) {
+        if (!decode()) {
+            return;
+        }
+        PrintProxy printProxy = UIUtilities.getAncestorOfType(component, PrintProxy.class);
+        if (printProxy != null && printProxy.isPrinting()) {
+            super.paintIcon(component, g, x, y);
+            return;
+        }
+        Graphics2D     gc     = (Graphics2D) g;
+        RenderingHints saved  = GraphicsUtilities.setMaximumQualityForGraphics(gc);
+        Scale          scale  = Scale.get(component);
+        int            width  = scale.scale(getIconWidth());
+        int            height = scale.scale(getIconHeight());
+        int            factor = GraphicsUtilities.isRetinaDisplay(g) ? 2 : 1;
+        gc.drawImage(getScaled(width * factor, height * factor), x, y, width, height, component);
+        gc.setRenderingHints(saved);
+    }
+}
@@ -25,12 +25,9 @@ import com.trollworks.gcs.ui.RetinaIcon;
 import com.trollworks.gcs.ui.image.Images;
 import com.trollworks.gcs.ui.image.Img;
 import com.trollworks.gcs.utility.Dice;
-import com.trollworks.gcs.utility.Dirs;
-import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.Fixed6;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
-import com.trollworks.gcs.utility.NamedData;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 import com.trollworks.gcs.utility.text.Numbers;
@@ -44,15 +41,10 @@ import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
 
 import java.awt.Graphics2D;
 import java.awt.Transparency;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.SignStyle;
-import java.util.Base64;
-import java.util.List;
-import javax.imageio.ImageIO;
 
 /** Holds the character profile. */
 public class Profile {
@@ -81,7 +73,7 @@ public class Profile {
     private static final DateTimeFormatter MONTH_AND_DAY_FORMAT = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendText(MONTH_OF_YEAR, FULL).appendLiteral(' ').appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE).toFormatter();
 
     private GURPSCharacter mCharacter;
-    private RetinaIcon     mPortrait;
+    private Portrait       mPortrait;
     private String         mName;
     private String         mTitle;
     private String         mOrganization;
@@ -161,25 +153,17 @@ public class Profile {
             if (bodyType.startsWith("winged_")) {
                 bodyType = bodyType.substring(7) + ".winged";
             }
-            outer:
-            for (NamedData<List<NamedData<HitLocationTable>>> list :
-                    NamedData.scanLibraries(FileType.BODY_SETTINGS, Dirs.SETTINGS,
-                            HitLocationTable::new)) {
-                for (NamedData<HitLocationTable> one : list.getData()) {
-                    if (bodyType.equals(one.getData().getID())) {
-                        mCharacter.getSheetSettings().setHitLocations(one.getData());
-                        break outer;
-                    }
-                }
+            HitLocationTable table = HitLocationTable.createFromLibraries(bodyType);
+            if (table != null) {
+                mCharacter.getSheetSettings().setHitLocations(table);
             }
         }
 
         if (m.has(KEY_PORTRAIT)) {
-            try {
-                mPortrait = createPortrait(Img.create(new ByteArrayInputStream(
-                        Base64.getDecoder().decode(m.getString(KEY_PORTRAIT)))));
-            } catch (Exception imageException) {
-                Log.error(imageException);
+            String encoded = m.getString(KEY_PORTRAIT);
+            if (!encoded.isBlank()) {
+                // Decoding is deferred until the portrait is actually needed
+                mPortrait = new Portrait(encoded);
             }
         }
     }
@@ -207,9 +191,8 @@ public class Profile {
         w.keyValueNot(KEY_TL, mTechLevel, "");
         w.keyValueNot(KEY_RELIGION, mReligion, "");
         if (mPortrait != null) {
-            try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                ImageIO.write(mPortrait.getRetina(), FileType.PNG.getExtension(), baos);
-                w.keyValue(KEY_PORTRAIT, Base64.getEncoder().encodeToString(baos.toByteArray()));
+            try {
+                w.keyValue(KEY_PORTRAIT, mPortrait.getEncoded());
             } catch (Exception imageException) {
                 Log.warn(imageException);
             }
@@ -228,7 +211,7 @@ public class Profile {
 
     /** @return The portrait, or the default image if none is set. */
     public RetinaIcon getPortraitWithFallback() {
-        return mPortrait == null ? Images.DEFAULT_PORTRAIT : mPortrait;
+        return mPortrait == null || !mPortrait.decode() ? Images.DEFAULT_PORTRAIT : mPortrait;
     }
 
     /**
@@ -244,7 +227,7 @@ public class Profile {
                 mCharacter.notifyOfChange();
             }
         } else if (mPortrait == null || mPortrait.getRetina() != portrait) {
-            RetinaIcon newPortrait = createPortrait(portrait);
+            Portrait newPortrait = new Portrait(portrait);
             mCharacter.postUndoEdit(I18n.text("Portrait Change"), (c, v) -> c.getProfile().setPortrait(v != null ? ((RetinaIcon) v).getRetina() : null), mPortrait, newPortrait);
             mPortrait = newPortrait;
             mCharacter.notifyOfChange();
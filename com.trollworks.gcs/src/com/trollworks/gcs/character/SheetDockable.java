@@ -167,6 +167,6 @@ public class SheetDockable extends CollectedOutlinesDockable implements FontAdju
 
     @Override
     public void adjustToFontChanges() {
-        mSheet.markForRebuild();
+        mSheet.adjustToFontChanges();
     }
 }
@@ -40,6 +40,7 @@ import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.FilteredIterator;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
 import com.trollworks.gcs.utility.PathUtils;
 import com.trollworks.gcs.utility.text.Numbers;
 import com.trollworks.gcs.utility.text.NumericComparator;
@@ -85,6 +86,8 @@ public class TextTemplate {
     private static final String  COMMA_SEPARATOR    = ", ";
     private static final Pattern NOT_NUMBER_PATTERN = Pattern.compile("[^0-9]");
 
+    private static final Metrics.Timer EXPORT_TIMER = Metrics.timer("template.export");
+
     private static final String KEY_ACCURACY                     = "ACCURACY";
     private static final String KEY_ADVANTAGE_POINTS             = "ADVANTAGE_POINTS";
     private static final String KEY_AGE                          = "AGE";
@@ -322,44 +325,57 @@ public class TextTemplate {
      * @return {@code true} on success.
      */
     public boolean export(Path exportTo, Path template) {
+        try (BufferedReader in = Files.newBufferedReader(template, StandardCharsets.UTF_8)) {
+            try (BufferedWriter out = Files.newBufferedWriter(exportTo, StandardCharsets.UTF_8)) {
+                export(in, out, exportTo);
+            }
+            return true;
+        } catch (Exception exception) {
+            Log.error(exception);
+            return false;
+        }
+    }
+
+    /**
+     * @param in       The template to use.
+     * @param out      The destination for the result.
+     * @param exportTo The path the result is destined for. Files the template asks for, such as
+     *                 the portrait, are written alongside it.
+     */
+    public void export(BufferedReader in, BufferedWriter out, Path exportTo) throws IOException {
+        long start = EXPORT_TIMER.start();
         try {
             char[]        buffer           = new char[1];
             boolean       lookForKeyMarker = true;
             StringBuilder keyBuffer        = new StringBuilder();
-            try (BufferedReader in = Files.newBufferedReader(template, StandardCharsets.UTF_8)) {
-                try (BufferedWriter out = Files.newBufferedWriter(exportTo, StandardCharsets.UTF_8)) {
-                    while (in.read(buffer) != -1) {
-                        char ch = buffer[0];
-                        if (lookForKeyMarker) {
-                            if (ch == '@') {
-                                lookForKeyMarker = false;
-                                in.mark(1);
-                            } else {
-                                out.append(ch);
-                            }
-                        } else {
-                            if (ch == '_' || Character.isLetterOrDigit(ch)) {
-                                keyBuffer.append(ch);
-                                in.mark(1);
-                            } else {
-                                if (!mEnhancedKeyParsing || ch != '@') {
-                                    in.reset();        // Allow KEYs to be surrounded by @KEY@
-                                }
-                                emitKey(in, out, keyBuffer.toString(), exportTo);
-                                keyBuffer.setLength(0);
-                                lookForKeyMarker = true;
-                            }
-                        }
+            while (in.read(buffer) != -1) {
+                char ch = buffer[0];
+                if (lookForKeyMarker) {
+                    if (ch == '@') {
+                        lookForKeyMarker = false;
+                        in.mark(1);
+                    } else {
+                        out.append(ch);
                     }
-                    if (!keyBuffer.isEmpty()) {
+                } else {
+                    if (ch == '_' || Character.isLetterOrDigit(ch)) {
+                        keyBuffer.append(ch);
+                        in.mark(1);
+                    } else {
+                        if (!mEnhancedKeyParsing || ch != '@') {
+                            in.reset();        // Allow KEYs to be surrounded by @KEY@
+                        }
                         emitKey(in, out, keyBuffer.toString(), exportTo);
+                        keyBuffer.setLength(0);
+                        lookForKeyMarker = true;
                     }
                 }
             }
-            return true;
-        } catch (Exception exception) {
-            Log.error(exception);
-            return false;
+            if (!keyBuffer.isEmpty()) {
+                emitKey(in, out, keyBuffer.toString(), exportTo);
+            }
+        } finally {
+            EXPORT_TIMER.stop(start);
         }
     }
 
@@ -1011,10 +1027,11 @@ public class TextTemplate {
     }
 
     private void processEncumbranceLoop(BufferedWriter out, String contents) throws IOException {
-        GURPSCharacter gurpsCharacter   = mSheet.getCharacter();
-        int            length           = contents.length();
-        StringBuilder  keyBuffer        = new StringBuilder();
-        boolean        lookForKeyMarker = true;
+        EncumbranceTable table            = mSheet.getCharacter().getEncumbranceTable();
+        Encumbrance      current          = table.getEncumbranceLevel(false);
+        int              length           = contents.length();
+        StringBuilder    keyBuffer        = new StringBuilder();
+        boolean          lookForKeyMarker = true;
         for (Encumbrance encumbrance : Encumbrance.values()) {
             for (int i = 0; i < length; i++) {
                 char ch = contents.charAt(i);
@@ -1037,22 +1054,22 @@ public class TextTemplate {
                         lookForKeyMarker = true;
                         switch (key) {
                             case KEY_CURRENT_MARKER:
-                                if (encumbrance == gurpsCharacter.getEncumbranceLevel(false)) {
+                                if (encumbrance == current) {
                                     out.write(CURRENT);
                                 }
                                 break;
                             case KEY_CURRENT_MARKER_1:
-                                if (encumbrance == gurpsCharacter.getEncumbranceLevel(false)) {
+                                if (encumbrance == current) {
                                     out.write(ONE);
                                 }
                                 break;
                             case KEY_CURRENT_MARKER_BULLET:
-                                if (encumbrance == gurpsCharacter.getEncumbranceLevel(false)) {
+                                if (encumbrance == current) {
                                     out.write("•");
                                 }
                                 break;
                             case KEY_LEVEL:
-                                writeEncodedText(out, MessageFormat.format(encumbrance == gurpsCharacter.getEncumbranceLevel(false) ? "• {0} ({1})" : "{0} ({1})", encumbrance, Numbers.format(-encumbrance.getEncumbrancePenalty())));
+                                writeEncodedText(out, MessageFormat.format(encumbrance == current ? "• {0} ({1})" : "{0} ({1})", encumbrance, Numbers.format(-encumbrance.getEncumbrancePenalty())));
                                 break;
                             case KEY_LEVEL_NO_MARKER:
                                 writeEncodedText(out, MessageFormat.format("{0} ({1})", encumbrance, Numbers.format(-encumbrance.getEncumbrancePenalty())));
@@ -1061,13 +1078,13 @@ public class TextTemplate {
                                 writeEncodedText(out, Numbers.format(-encumbrance.getEncumbrancePenalty()));
                                 break;
                             case KEY_MAX_LOAD:
-                                writeEncodedText(out, gurpsCharacter.getMaximumCarry(encumbrance).toString());
+                                writeEncodedText(out, table.getMaximumCarry(encumbrance).toString());
                                 break;
                             case KEY_MOVE:
-                                writeEncodedText(out, Numbers.format(gurpsCharacter.getMove(encumbrance)));
+                                writeEncodedText(out, Numbers.format(table.getMove(encumbrance)));
                                 break;
                             case KEY_DODGE:
-                                writeEncodedText(out, Numbers.format(gurpsCharacter.getDodge(encumbrance)));
+                                writeEncodedText(out, Numbers.format(table.getDodge(encumbrance)));
                                 break;
                             default:
                                 writeEncodedText(out, String.format(UNIDENTIFIED_KEY, key));
@@ -11,6 +11,8 @@
 
 package com.trollworks.gcs.character;
 
+import com.trollworks.gcs.notes.Note;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
@@ -35,6 +37,17 @@ public class WeaponOutline extends Outline {
         setEnabled(false);
     }
 
+    /**
+     * @param source   The object that changed.
+     * @param property The key of the property that changed, or {@code null} if unknown.
+     * @return {@code true} if the change could alter the weapons shown. Weapon levels depend on
+     *         attributes, skills and the rows the weapons belong to, so only notes and display-only
+     *         properties are excluded.
+     */
+    public static boolean isAffectedBy(Object source, String property) {
+        return !(source instanceof Note) && !ListRow.isDisplayOnlyChange(source, property);
+    }
+
     @Override
     protected boolean isRowDragAcceptable(DropTargetDragEvent dtde, Row[] rows) {
         return false;
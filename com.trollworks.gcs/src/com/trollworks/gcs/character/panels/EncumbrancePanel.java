@@ -13,8 +13,8 @@ package com.trollworks.gcs.character.panels;
 
 import com.trollworks.gcs.character.CharacterSheet;
 import com.trollworks.gcs.character.Encumbrance;
+import com.trollworks.gcs.character.EncumbranceTable;
 import com.trollworks.gcs.character.FieldFactory;
-import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.page.DropPanel;
 import com.trollworks.gcs.page.PageField;
 import com.trollworks.gcs.page.PageHeader;
@@ -71,14 +71,14 @@ public class EncumbrancePanel extends DropPanel {
         header = new PageHeader(I18n.text("Dodge"), dodgeTooltip);
         add(header, new PrecisionLayoutData().setHorizontalAlignment(PrecisionLayoutAlignment.MIDDLE));
 
-        GURPSCharacter character = sheet.getCharacter();
-        Encumbrance    current   = character.getEncumbranceLevel(false);
-        boolean        band      = false;
+        EncumbranceTable table   = sheet.getCharacter().getEncumbranceTable();
+        Encumbrance      current = table.getEncumbranceLevel(false);
+        boolean          band    = false;
         for (Encumbrance encumbrance : Encumbrance.values()) {
             Color textColor;
             Color backColor;
             if (current == encumbrance) {
-                if (character.isCarryingGreaterThanMaxLoad(false)) {
+                if (table.isCarryingGreaterThanMaxLoad(false)) {
                     textColor = Colors.ON_OVERLOADED;
                     backColor = Colors.OVERLOADED;
                 } else {
@@ -98,15 +98,15 @@ public class EncumbrancePanel extends DropPanel {
             add(level, new PrecisionLayoutData().setGrabHorizontalSpace(true));
             addHorizontalBackground(level, backColor);
             createDivider();
-            addPageField(new PageField(FieldFactory.WEIGHT, character.getMaximumCarry(encumbrance),
+            addPageField(new PageField(FieldFactory.WEIGHT, table.getMaximumCarry(encumbrance),
                     sheet, SwingConstants.RIGHT, maxLoadTooltip), textColor, backColor);
             createDivider();
             addPageField(new PageField(FieldFactory.POSINT5,
-                    Integer.valueOf(character.getMove(encumbrance)), sheet, SwingConstants.RIGHT,
+                    Integer.valueOf(table.getMove(encumbrance)), sheet, SwingConstants.RIGHT,
                     moveTooltip), textColor, backColor);
             createDivider();
             addPageField(new PageField(FieldFactory.POSINT5,
-                    Integer.valueOf(character.getDodge(encumbrance)), sheet, SwingConstants.RIGHT,
+                    Integer.valueOf(table.getDodge(encumbrance)), sheet, SwingConstants.RIGHT,
                     dodgeTooltip), textColor, backColor);
         }
     }
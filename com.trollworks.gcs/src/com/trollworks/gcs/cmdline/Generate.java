@@ -0,0 +1,79 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.cmdline;
+
+import com.trollworks.gcs.datafile.DataFile;
+import com.trollworks.gcs.ui.UIUtilities;
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.I18n;
+import com.trollworks.gcs.utility.PathUtils;
+import com.trollworks.gcs.utility.Timing;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public final class Generate implements Runnable {
+    private static final FileType[] FILE_TYPES = {FileType.SHEET, FileType.TEMPLATE, FileType.ADVANTAGE, FileType.ADVANTAGE_MODIFIER, FileType.EQUIPMENT, FileType.EQUIPMENT_MODIFIER, FileType.SKILL, FileType.SPELL, FileType.NOTE};
+    private              List<Path>  mPaths;
+    private              Generator   mGenerator;
+
+    public static void process(List<Path> paths, String settings) {
+        if (paths.isEmpty()) {
+            System.err.println(I18n.text("must specify one or more files to generate"));
+            System.exit(1);
+        }
+        Generator generator = new Generator();
+        if (!"default".equals(settings)) {
+            for (String setting : settings.split(",")) {
+                String[] parts = setting.split("=", 2);
+                if (parts.length != 2 || !generator.set(parts[0].trim(), parts[1].trim())) {
+                    System.err.println(I18n.text("invalid generator setting: ") + setting);
+                    System.exit(1);
+                }
+            }
+        }
+        System.setProperty("java.awt.headless", Boolean.TRUE.toString());
+        UIUtilities.initialize();
+        // Nothing listens to the generated data, so it can be built right here
+        new Generate(paths, generator).run();
+    }
+
+    private Generate(List<Path> paths, Generator generator) {
+        mPaths = paths;
+        mGenerator = generator;
+    }
+
+    @Override
+    public void run() {
+        Timing timing = new Timing();
+        for (Path path : mPaths) {
+            DataFile data = null;
+            String   ext  = PathUtils.getExtension(path.getFileName());
+            for (FileType fileType : FILE_TYPES) {
+                if (fileType.matchExtension(ext)) {
+                    timing.reset();
+                    data = mGenerator.create(fileType);
+                    break;
+                }
+            }
+            if (data == null) {
+                System.out.printf(I18n.text("Unable to generate %s\n"), path);
+                continue;
+            }
+            System.out.printf(I18n.text("Generated %s in %s\n"), path, timing);
+            if (!data.save(path)) {
+                System.out.println(I18n.text("  ** ERROR ENCOUNTERED **"));
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.cmdline;
+
+import com.trollworks.gcs.advantage.Advantage;
+import com.trollworks.gcs.advantage.AdvantageList;
+import com.trollworks.gcs.character.CollectedModels;
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.character.Profile;
+import com.trollworks.gcs.criteria.NumericCompareType;
+import com.trollworks.gcs.criteria.StringCompareType;
+import com.trollworks.gcs.datafile.DataFile;
+import com.trollworks.gcs.datafile.ListFile;
+import com.trollworks.gcs.equipment.Equipment;
+import com.trollworks.gcs.equipment.EquipmentList;
+import com.trollworks.gcs.feature.AttributeBonus;
+import com.trollworks.gcs.feature.DRBonus;
+import com.trollworks.gcs.feature.Feature;
+import com.trollworks.gcs.feature.SkillBonus;
+import com.trollworks.gcs.feature.SpellBonus;
+import com.trollworks.gcs.modifier.AdvantageModifier;
+import com.trollworks.gcs.modifier.AdvantageModifierList;
+import com.trollworks.gcs.modifier.EquipmentModifier;
+import com.trollworks.gcs.modifier.EquipmentModifierList;
+import com.trollworks.gcs.notes.Note;
+import com.trollworks.gcs.notes.NoteList;
+import com.trollworks.gcs.prereq.AdvantagePrereq;
+import com.trollworks.gcs.prereq.AttributePrereq;
+import com.trollworks.gcs.prereq.PrereqList;
+import com.trollworks.gcs.prereq.SkillPrereq;
+import com.trollworks.gcs.skill.Skill;
+import com.trollworks.gcs.skill.SkillDefault;
+import com.trollworks.gcs.skill.SkillDifficulty;
+import com.trollworks.gcs.skill.SkillList;
+import com.trollworks.gcs.spell.Spell;
+import com.trollworks.gcs.spell.SpellList;
+import com.trollworks.gcs.template.Template;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.ui.widget.outline.OutlineModel;
+import com.trollworks.gcs.utility.Dice;
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.Fixed6;
+import com.trollworks.gcs.utility.units.LengthUnits;
+import com.trollworks.gcs.utility.units.LengthValue;
+import com.trollworks.gcs.utility.units.WeightUnits;
+import com.trollworks.gcs.utility.units.WeightValue;
+import com.trollworks.gcs.weapon.MeleeWeaponStats;
+import com.trollworks.gcs.weapon.RangedWeaponStats;
+import com.trollworks.gcs.weapon.WeaponDamage;
+import com.trollworks.gcs.weapon.WeaponSTDamage;
+import com.trollworks.gcs.weapon.WeaponStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Creates characters, templates and libraries of arbitrary size for load testing. The same seed
+ * and settings always produce the same rows, so the results can be compared from run to run. Only
+ * the identifiers and creation timestamps GCS assigns to every new file and row vary.
+ */
+public final class Generator {
+    /** The seed used when no other has been set. */
+    public static final  long          DEFAULT_SEED   = 0x6C5C_2021L;
+    private static final String[]      ATTRIBUTES     = {"st", "dx", "iq", "ht"};
+    private static final String[]      LOCATIONS      = {"torso", "skull", "arms", "legs", "hands", "feet"};
+    private static final int           COLLEGES       = 10;
+    private static final int           CONTAINER_SIZE = 10;
+    private              long          mSeed          = DEFAULT_SEED;
+    private              int           mRows          = 1000;
+    private              int           mDepth         = 1;
+    private              double        mFeatures      = 0.25;
+    private              double        mPrereqs       = 0.25;
+    private              int           mWeapons       = -1;
+    private              Shape         mShape         = Shape.RANDOM;
+    private              Random        mRandom;
+    private              int           mSkillCount;
+    private              int           mRowIndex;
+    private              int           mSkillIndex;
+    private              List<ListRow> mArmed;
+
+    /** The shapes the graph formed by skills defaulting to other skills can take. */
+    public enum Shape {
+        /** Skills only default to attributes. */
+        NONE,
+        /** Each skill defaults to the one created just before it. */
+        CHAIN,
+        /** Each skill defaults to its parent in a binary tree rooted at the first skill. */
+        TREE,
+        /** Every skill defaults to the first skill. */
+        STAR,
+        /** Each skill defaults to a randomly chosen skill created before it. */
+        RANDOM
+    }
+
+    /** @param seed The seed for the random number generator. */
+    public void setSeed(long seed) {
+        mSeed = seed;
+    }
+
+    /** @param rows The total number of rows to create in each file. */
+    public void setRows(int rows) {
+        mRows = Math.max(rows, 0);
+    }
+
+    /**
+     * @param depth The number of levels of containers to nest rows within. Zero places all rows at
+     *              the top level.
+     */
+    public void setDepth(int depth) {
+        mDepth = Math.max(depth, 0);
+    }
+
+    /** @param density The fraction, from 0 to 1, of rows that have features. */
+    public void setFeatureDensity(double density) {
+        mFeatures = Math.min(Math.max(density, 0), 1);
+    }
+
+    /** @param density The fraction, from 0 to 1, of rows that have prerequisites. */
+    public void setPrereqDensity(double density) {
+        mPrereqs = Math.min(Math.max(density, 0), 1);
+    }
+
+    /**
+     * @param weapons The number of weapons to spread across the rows of each file, or a negative
+     *                value to arm one row in ten.
+     */
+    public void setWeaponCount(int weapons) {
+        mWeapons = weapons;
+    }
+
+    /** @param shape The shape of the graph formed by skills defaulting to other skills. */
+    public void setDefaultShape(Shape shape) {
+        mShape = shape;
+    }
+
+    /**
+     * Applies a setting given as text, as on the command line.
+     *
+     * @param key   The name of the setting.
+     * @param value The value for the setting.
+     * @return {@code false} if the key or value isn't valid.
+     */
+    public boolean set(String key, String value) {
+        try {
+            switch (key) {
+                case "seed" -> setSeed(Long.parseLong(value));
+                case "rows" -> setRows(Integer.parseInt(value));
+                case "depth" -> setDepth(Integer.parseInt(value));
+                case "features" -> setFeatureDensity(Double.parseDouble(value));
+                case "prereqs" -> setPrereqDensity(Double.parseDouble(value));
+                case "weapons" -> setWeaponCount(Integer.parseInt(value));
+                case "defaults" -> setDefaultShape(Shape.valueOf(value.toUpperCase(Locale.ROOT)));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * @param fileType The type of file to create.
+     * @return A newly created file of the specified type, or {@code null} if the type isn't one
+     *         that holds rows.
+     */
+    public DataFile create(FileType fileType) {
+        if (fileType == FileType.SHEET) {
+            return createCharacter();
+        }
+        if (fileType == FileType.TEMPLATE) {
+            return createTemplate();
+        }
+        if (fileType == FileType.ADVANTAGE) {
+            return createList(new AdvantageList());
+        }
+        if (fileType == FileType.ADVANTAGE_MODIFIER) {
+            return createList(new AdvantageModifierList());
+        }
+        if (fileType == FileType.EQUIPMENT) {
+            return createList(new EquipmentList());
+        }
+        if (fileType == FileType.EQUIPMENT_MODIFIER) {
+            return createList(new EquipmentModifierList());
+        }
+        if (fileType == FileType.SKILL) {
+            return createList(new SkillList());
+        }
+        if (fileType == FileType.SPELL) {
+            return createList(new SpellList());
+        }
+        if (fileType == FileType.NOTE) {
+            return createList(new NoteList());
+        }
+        return null;
+    }
+
+    /** @return A newly created and fully calculated character. */
+    public GURPSCharacter createCharacter() {
+        GURPSCharacter character = new GURPSCharacter();
+        Profile        profile   = character.getProfile();
+        profile.setName(String.format("Synthetic %,d", Integer.valueOf(mRows)));
+        profile.setGender("Male");
+        profile.setAge("30");
+        profile.setBirthday("January 1");
+        profile.setEyeColor("Brown");
+        profile.setHair("Brown");
+        profile.setSkinColor("Fair");
+        profile.setHandedness("Right");
+        profile.setHeight(new LengthValue(new Fixed6(70), LengthUnits.IN));
+        profile.setWeight(new WeightValue(new Fixed6(175), WeightUnits.LB));
+        fill(character);
+        character.recalculate();
+        return character;
+    }
+
+    /** @return A newly created template. */
+    public Template createTemplate() {
+        Template template = new Template();
+        fill(template);
+        template.recalculate();
+        return template;
+    }
+
+    private void fill(CollectedModels models) {
+        int skills    = mRows * 2 / 5;
+        int spells    = mRows / 10;
+        int ads       = mRows / 5;
+        int notes     = mRows / 20;
+        int equipment = mRows - (skills + spells + ads + notes);
+        begin(skills);
+        addRows(models.getSkillsModel(), skills, container -> new Skill(models, container), this::configure);
+        addRows(models.getSpellsModel(), spells, container -> new Spell(models, container), this::configure);
+        addRows(models.getAdvantagesModel(), ads, container -> new Advantage(models, container), this::configure);
+        int carried = equipment * 4 / 5;
+        addRows(models.getEquipmentModel(), carried, container -> new Equipment(models, container), this::configure);
+        addRows(models.getOtherEquipmentModel(), equipment - carried, container -> new Equipment(models, container), this::configure);
+        addRows(models.getNotesModel(), notes, container -> new Note(models, container), this::configure);
+        arm();
+    }
+
+    private <T extends ListFile> T createList(T list) {
+        OutlineModel model = list.getModel();
+        if (list instanceof AdvantageList) {
+            begin(0);
+            addRows(model, mRows, container -> new Advantage(list, container), this::configure);
+        } else if (list instanceof AdvantageModifierList) {
+            begin(0);
+            addRows(model, mRows, container -> new AdvantageModifier(list, container), this::configure);
+        } else if (list instanceof EquipmentList) {
+            begin(0);
+            addRows(model, mRows, container -> new Equipment(list, container), this::configure);
+        } else if (list instanceof EquipmentModifierList) {
+            begin(0);
+            addRows(model, mRows, container -> new EquipmentModifier(list, container), this::configure);
+        } else if (list instanceof SkillList) {
+            begin(mRows);
+            addRows(model, mRows, container -> new Skill(list, container), this::configure);
+        } else if (list instanceof SpellList) {
+            begin(0);
+            addRows(model, mRows, container -> new Spell(list, container), this::configure);
+        } else if (list instanceof NoteList) {
+            begin(0);
+            addRows(model, mRows, container -> new Note(list, container), this::configure);
+        }
+        arm();
+        return list;
+    }
+
+    /** @return The name given to the skill at the specified index. */
+    public static String skillName(int index) {
+        return "Skill " + index;
+    }
+
+    private void begin(int skillCount) {
+        mRandom = new Random(mSeed);
+        mSkillCount = skillCount;
+        mRowIndex = 0;
+        mSkillIndex = 0;
+        mArmed = new ArrayList<>();
+    }
+
+    private <T extends ListRow> void addRows(OutlineModel model, int count, RowFactory<T> factory, RowConfigurer<T> configurer) {
+        int[] remaining = {count};
+        while (remaining[0] > 0) {
+            model.addRow(addRow(0, remaining, factory, configurer), true);
+        }
+    }
+
+    private <T extends ListRow> T addRow(int level, int[] remaining, RowFactory<T> factory, RowConfigurer<T> configurer) {
+        boolean container = level < mDepth && remaining[0] > 1;
+        T       row       = factory.create(container);
+        remaining[0]--;
+        configurer.configure(row, container);
+        mRowIndex++;
+        if (!container) {
+            mArmed.add(row);
+            if (mRandom.nextDouble() < mFeatures) {
+                row.setFeatures(features(row.getDataFile()));
+            }
+            if (mRandom.nextDouble() < mPrereqs) {
+                row.setPrereqs(prereqs());
+            }
+        }
+        if (container) {
+            for (int i = 0; i < CONTAINER_SIZE && remaining[0] > 0; i++) {
+                row.addChild(addRow(level + 1, remaining, factory, configurer));
+            }
+        }
+        return row;
+    }
+
+    private void configure(Skill skill, boolean container) {
+        if (container) {
+            skill.setName("Skills " + mRowIndex);
+            return;
+        }
+        int index = mSkillIndex++;
+        skill.setName(skillName(index));
+        skill.setDifficulty(ATTRIBUTES[1 + mRandom.nextInt(2)], SkillDifficulty.values()[mRandom.nextInt(4)]);
+        skill.setRawPoints(mRandom.nextInt(3) == 0 ? 0 : 1 << mRandom.nextInt(4));
+        List<SkillDefault> defaults = new ArrayList<>();
+        defaults.add(new SkillDefault(ATTRIBUTES[1 + mRandom.nextInt(2)], null, null, -5));
+        if (index > 0) {
+            int target = switch (mShape) {
+                case NONE -> -1;
+                case CHAIN -> index - 1;
+                case TREE -> (index - 1) / 2;
+                case STAR -> 0;
+                case RANDOM -> mRandom.nextInt(index);
+            };
+            if (target >= 0) {
+                defaults.add(new SkillDefault("skill", skillName(target), null, -3));
+            }
+        }
+        skill.setDefaults(defaults);
+    }
+
+    private void configure(Spell spell, boolean container) {
+        if (container) {
+            spell.setName("Spells " + mRowIndex);
+            return;
+        }
+        spell.setName("Spell " + mRowIndex);
+        spell.setDifficulty("iq", mRandom.nextBoolean() ? SkillDifficulty.H : SkillDifficulty.VH);
+        spell.setRawPoints(1 + mRandom.nextInt(4));
+        List<String> colleges = new ArrayList<>();
+        colleges.add(collegeName(mRandom.nextInt(COLLEGES)));
+        spell.setColleges(colleges);
+        spell.setCastingCost(Integer.toString(1 + mRandom.nextInt(5)));
+        spell.setCastingTime("1 sec");
+        spell.setDuration("1 min");
+    }
+
+    private void configure(Advantage advantage, boolean container) {
+        if (container) {
+            advantage.setName("Advantages " + mRowIndex);
+            return;
+        }
+        advantage.setName("Advantage " + mRowIndex);
+        advantage.setPoints(mRandom.nextInt(31) - 10);
+    }
+
+    private void configure(AdvantageModifier modifier, boolean container) {
+        modifier.setName((container ? "Advantage Modifiers " : "Advantage Modifier ") + mRowIndex);
+        if (!container) {
+            modifier.setCost(5 * (mRandom.nextInt(21) - 10));
+        }
+    }
+
+    private void configure(Equipment equipment, boolean container) {
+        equipment.setDescription((container ? "Container " : "Equipment ") + mRowIndex);
+        equipment.setQuantity(container ? 1 : 1 + mRandom.nextInt(3));
+        equipment.setValue(new Fixed6(mRandom.nextInt(10000) / 100.0));
+        equipment.setWeight(new WeightValue(new Fixed6(mRandom.nextInt(1000) / 100.0), WeightUnits.LB));
+    }
+
+    private void configure(EquipmentModifier modifier, boolean container) {
+        modifier.setName((container ? "Equipment Modifiers " : "Equipment Modifier ") + mRowIndex);
+        if (!container) {
+            modifier.setCostAdjAmount("+" + (1 + mRandom.nextInt(100)));
+        }
+    }
+
+    private void configure(Note note, boolean container) {
+        note.setDescription((container ? "Notes " : "Note ") + mRowIndex);
+    }
+
+    private static String collegeName(int index) {
+        return "College " + index;
+    }
+
+    private List<Feature> features(DataFile dataFile) {
+        List<Feature> features = new ArrayList<>();
+        int           count    = 1 + mRandom.nextInt(2);
+        for (int i = 0; i < count; i++) {
+            switch (mRandom.nextInt(mSkillCount > 0 ? 4 : 3)) {
+                case 0 -> {
+                    AttributeBonus bonus = new AttributeBonus();
+                    bonus.setAttribute(dataFile, ATTRIBUTES[mRandom.nextInt(ATTRIBUTES.length)]);
+                    bonus.getAmount().setAmount(1);
+                    features.add(bonus);
+                }
+                case 1 -> {
+                    DRBonus bonus = new DRBonus();
+                    bonus.setLocation(LOCATIONS[mRandom.nextInt(LOCATIONS.length)]);
+                    bonus.getAmount().setAmount(1 + mRandom.nextInt(3));
+                    features.add(bonus);
+                }
+                case 2 -> {
+                    SpellBonus bonus = new SpellBonus();
+                    bonus.getNameCriteria().setType(StringCompareType.IS);
+                    bonus.getNameCriteria().setQualifier(collegeName(mRandom.nextInt(COLLEGES)));
+                    bonus.getAmount().setAmount(1);
+                    features.add(bonus);
+                }
+                default -> {
+                    SkillBonus bonus = new SkillBonus();
+                    bonus.getNameCriteria().setType(StringCompareType.IS);
+                    bonus.getNameCriteria().setQualifier(skillName(mRandom.nextInt(mSkillCount)));
+                    bonus.getAmount().setAmount(1);
+                    features.add(bonus);
+                }
+            }
+        }
+        return features;
+    }
+
+    private PrereqList prereqs() {
+        PrereqList      prereqs   = new PrereqList(null, true);
+        AttributePrereq attribute = new AttributePrereq(prereqs);
+        attribute.setWhich(ATTRIBUTES[mRandom.nextInt(ATTRIBUTES.length)]);
+        prereqs.add(0, attribute);
+        if (mRandom.nextBoolean()) {
+            // A nested "any of" list, so that evaluation has to recurse
+            PrereqList any = new PrereqList(prereqs, false);
+            if (mSkillCount > 0) {
+                SkillPrereq skill = new SkillPrereq(any);
+                skill.getNameCriteria().setType(StringCompareType.IS);
+                skill.getNameCriteria().setQualifier(skillName(mRandom.nextInt(mSkillCount)));
+                skill.getLevelCriteria().setType(NumericCompareType.AT_LEAST);
+                skill.getLevelCriteria().setQualifier(10 + mRandom.nextInt(5));
+                any.add(any.getChildCount(), skill);
+            }
+            AdvantagePrereq advantage = new AdvantagePrereq(any);
+            advantage.getNameCriteria().setType(StringCompareType.STARTS_WITH);
+            advantage.getNameCriteria().setQualifier("Advantage " + mRandom.nextInt(Math.max(mRows, 1)));
+            any.add(any.getChildCount(), advantage);
+            prereqs.add(1, any);
+        }
+        return prereqs;
+    }
+
+    private void arm() {
+        int leaves  = mArmed.size();
+        int weapons = mWeapons < 0 ? leaves / 10 : Math.min(mWeapons, leaves);
+        for (int i = 0; i < weapons; i++) {
+            ListRow           row   = mArmed.get((int) ((long) i * leaves / weapons));
+            List<WeaponStats> stats = new ArrayList<>();
+            String            skill = mSkillCount > 0 ? skillName(mRandom.nextInt(mSkillCount)) : "Broadsword";
+            stats.add(i % 3 == 2 ? ranged(row, skill) : melee(row, skill));
+            if (row instanceof Skill skillRow) {
+                skillRow.setWeapons(stats);
+            } else if (row instanceof Spell spell) {
+                spell.setWeapons(stats);
+            } else if (row instanceof Advantage advantage) {
+                advantage.setWeapons(stats);
+            } else if (row instanceof Equipment equipment) {
+                equipment.setWeapons(stats);
+            }
+        }
+        mArmed = null;
+    }
+
+    private static MeleeWeaponStats melee(ListRow owner, String skillName) {
+        MeleeWeaponStats weapon = new MeleeWeaponStats(owner);
+        WeaponDamage     damage = new WeaponDamage(weapon);
+        damage.setWeaponSTDamage(WeaponSTDamage.SW);
+        damage.setBase(new Dice(0, 1));
+        damage.setType("cut");
+        weapon.setDamage(damage);
+        weapon.setUsage("Swung");
+        weapon.setParry("0");
+        weapon.setDefaults(weaponDefaults(skillName));
+        return weapon;
+    }
+
+    private static RangedWeaponStats ranged(ListRow owner, String skillName) {
+        RangedWeaponStats weapon = new RangedWeaponStats(owner);
+        WeaponDamage      damage = new WeaponDamage(weapon);
+        damage.setWeaponSTDamage(WeaponSTDamage.THR);
+        damage.setType("imp");
+        weapon.setDamage(damage);
+        weapon.setUsage("Thrown");
+        weapon.setAccuracy("2");
+        weapon.setRange("x1/x1.5");
+        weapon.setDefaults(weaponDefaults(skillName));
+        return weapon;
+    }
+
+    private static List<SkillDefault> weaponDefaults(String skillName) {
+        List<SkillDefault> defaults = new ArrayList<>();
+        defaults.add(new SkillDefault("skill", skillName, null, 0));
+        defaults.add(new SkillDefault("dx", null, null, -5));
+        return defaults;
+    }
+
+    @FunctionalInterface
+    private interface RowFactory<T extends ListRow> {
+        T create(boolean container);
+    }
+
+    @FunctionalInterface
+    private interface RowConfigurer<T extends ListRow> {
+        void configure(T row, boolean container);
+    }
+}
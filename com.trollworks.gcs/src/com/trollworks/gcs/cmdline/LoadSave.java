@@ -26,15 +26,23 @@ import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.PathUtils;
 
-import java.awt.EventQueue;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public final class LoadSave implements Runnable {
-    private List<Path> mPaths;
+public final class LoadSave {
+    private static final FileType[] FILE_TYPES = {FileType.SHEET, FileType.TEMPLATE, FileType.ADVANTAGE, FileType.ADVANTAGE_MODIFIER, FileType.EQUIPMENT, FileType.EQUIPMENT_MODIFIER, FileType.SKILL, FileType.SPELL, FileType.NOTE};
+
+    private LoadSave() {
+    }
 
     public static void process(List<Path> paths) {
         if (paths.isEmpty()) {
@@ -43,77 +51,98 @@ public final class LoadSave implements Runnable {
         }
         System.setProperty("java.awt.headless", Boolean.TRUE.toString());
         UIUtilities.initialize();
+        List<Path> files = new ArrayList<>();
         try {
-            // This is run on the event queue since much of the sheet logic assumes a UI
-            // environment and would otherwise cause concurrent modification exceptions, as the
-            // detection of whether it was safe to modify data would be inaccurate.
-            EventQueue.invokeAndWait(new LoadSave(paths));
-        } catch (Exception exception) {
-            exception.printStackTrace(System.err);
-            System.exit(1);
-        }
-    }
-
-    private LoadSave(List<Path> paths) {
-        mPaths = paths;
-    }
-
-    @Override
-    public void run() {
-        try {
-            for (Path path : mPaths) {
-                traverse(path);
+            for (Path path : paths) {
+                collect(path, files);
             }
         } catch (IOException ioe) {
             ioe.printStackTrace();
             System.out.println(I18n.text("  ** ERROR ENCOUNTERED **"));
+            return;
+        }
+        // Each file is loaded, recalculated and saved entirely on one worker thread. The files
+        // share no data that changes, so they are processed concurrently. The results are still
+        // reported in order.
+        AtomicInteger   counter  = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, LoadSave.class.getSimpleName() + " " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Boolean>> pending = new ArrayList<>(files.size());
+            for (Path file : files) {
+                pending.add(executor.submit(() -> loadSave(file)));
+            }
+            int count = files.size();
+            for (int i = 0; i < count; i++) {
+                Path path = files.get(i);
+                if (!pending.get(i).get().booleanValue()) {
+                    System.out.println("failed to save " + path);
+                    System.exit(1);
+                }
+                System.out.println(path);
+            }
+        } catch (ExecutionException exception) {
+            exception.getCause().printStackTrace();
+            System.out.println(I18n.text("  ** ERROR ENCOUNTERED **"));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
         }
     }
 
-    private static void traverse(Path path) throws IOException {
+    private static void collect(Path path, List<Path> files) throws IOException {
         if (!shouldSkip(path)) {
             if (Files.isDirectory(path)) {
                 try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
                     for (Path child : stream) {
-                        traverse(child);
+                        collect(child, files);
                     }
                 }
-            } else {
-                String ext = PathUtils.getExtension(path.getFileName());
-                if (FileType.SHEET.matchExtension(ext)) {
-                    save(new GURPSCharacter(path), path);
-                } else if (FileType.TEMPLATE.matchExtension(ext)) {
-                    save(new Template(path), path);
-                } else if (FileType.ADVANTAGE.matchExtension(ext)) {
-                    loadSave(new AdvantageList(), path);
-                } else if (FileType.ADVANTAGE_MODIFIER.matchExtension(ext)) {
-                    loadSave(new AdvantageModifierList(), path);
-                } else if (FileType.EQUIPMENT.matchExtension(ext)) {
-                    loadSave(new EquipmentList(), path);
-                } else if (FileType.EQUIPMENT_MODIFIER.matchExtension(ext)) {
-                    loadSave(new EquipmentModifierList(), path);
-                } else if (FileType.SKILL.matchExtension(ext)) {
-                    loadSave(new SkillList(), path);
-                } else if (FileType.SPELL.matchExtension(ext)) {
-                    loadSave(new SpellList(), path);
-                } else if (FileType.NOTE.matchExtension(ext)) {
-                    loadSave(new NoteList(), path);
-                }
+            } else if (isHandled(PathUtils.getExtension(path.getFileName()))) {
+                files.add(path);
             }
         }
     }
 
-    private static void loadSave(DataFile data, Path path) throws IOException {
-        data.load(path);
-        save(data, path);
+    private static boolean isHandled(String ext) {
+        for (FileType fileType : FILE_TYPES) {
+            if (fileType.matchExtension(ext)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private static void save(DataFile data, Path path) {
-        if (!data.save(path)) {
-            System.out.println("failed to save " + path);
-            System.exit(1);
+    private static boolean loadSave(Path path) throws IOException {
+        String   ext = PathUtils.getExtension(path.getFileName());
+        DataFile data;
+        if (FileType.SHEET.matchExtension(ext)) {
+            data = new GURPSCharacter(path);
+        } else if (FileType.TEMPLATE.matchExtension(ext)) {
+            data = new Template(path);
+        } else {
+            if (FileType.ADVANTAGE.matchExtension(ext)) {
+                data = new AdvantageList();
+            } else if (FileType.ADVANTAGE_MODIFIER.matchExtension(ext)) {
+                data = new AdvantageModifierList();
+            } else if (FileType.EQUIPMENT.matchExtension(ext)) {
+                data = new EquipmentList();
+            } else if (FileType.EQUIPMENT_MODIFIER.matchExtension(ext)) {
+                data = new EquipmentModifierList();
+            } else if (FileType.SKILL.matchExtension(ext)) {
+                data = new SkillList();
+            } else if (FileType.SPELL.matchExtension(ext)) {
+                data = new SpellList();
+            } else {
+                data = new NoteList();
+            }
+            data.load(path);
         }
-        System.out.println(path);
+        return data.save(path);
     }
 
     private static boolean shouldSkip(Path path) {
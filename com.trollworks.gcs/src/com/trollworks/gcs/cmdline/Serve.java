@@ -0,0 +1,412 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.cmdline;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.trollworks.gcs.character.CharacterSheet;
+import com.trollworks.gcs.character.GURPSCharacter;
+import com.trollworks.gcs.character.TextTemplate;
+import com.trollworks.gcs.datafile.DataFile;
+import com.trollworks.gcs.library.Library;
+import com.trollworks.gcs.settings.Settings;
+import com.trollworks.gcs.ui.GraphicsUtilities;
+import com.trollworks.gcs.ui.UIUtilities;
+import com.trollworks.gcs.utility.I18n;
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
+import com.trollworks.gcs.utility.PathUtils;
+import com.trollworks.gcs.utility.RecursiveDirectoryRemover;
+import com.trollworks.gcs.utility.json.Json;
+import com.trollworks.gcs.utility.json.JsonMap;
+
+import java.awt.EventQueue;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A long-running, headless HTTP server that turns sheets into text template or PNG output, so
+ * that callers don't pay for starting a new copy of GCS for each one. Fonts, settings, libraries
+ * and templates are loaded once and reused. Sheets are parsed and recalculated on the request
+ * threads, while laying out and rendering them happens on the event queue, one at a time.
+ */
+public final class Serve {
+    private static final int                       MAX_BODY_SIZE = 32 * 1024 * 1024;
+    private static final String                    TEMPLATES_DIR = "Output Templates";
+    private static final String                    TEXT_PLAIN    = "text/plain; charset=utf-8";
+    private static final Metrics.Timer             REQUEST_TIMER = Metrics.timer("serve.request");
+    private final        Path                      mDefaultTemplate;
+    private final        Map<Path, CachedTemplate> mTemplates    = new HashMap<>();
+    private final        Map<Path, CachedListing>  mListings     = new HashMap<>();
+
+    /**
+     * @param address  The port, or host and port separated by a colon, to listen on. When only a
+     *                 port is given, only connections from the local machine are accepted.
+     * @param template The template to use when a request doesn't name one. May be {@code null}.
+     */
+    public static void process(String address, Path template) {
+        InetSocketAddress socketAddress = parseAddress(address);
+        if (socketAddress == null) {
+            System.err.println(I18n.text("invalid address for --serve: ") + address);
+            System.exit(1);
+        }
+        if (template != null && !Files.isReadable(template)) {
+            System.err.printf(I18n.text("Unable to load %s\n"), template);
+            System.exit(1);
+        }
+        System.setProperty("java.awt.headless", Boolean.TRUE.toString());
+        UIUtilities.initialize();
+        Settings.getInstance();
+        GraphicsUtilities.setAllowUserDisplay(false);
+        Serve serve = new Serve(template);
+        try {
+            HttpServer    server  = HttpServer.create(socketAddress, 0);
+            AtomicInteger counter = new AtomicInteger();
+            server.setExecutor(Executors.newFixedThreadPool(Math.max(Runtime.getRuntime().availableProcessors() * 2, 4), runnable -> {
+                Thread thread = new Thread(runnable, "Serve " + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.createContext("/", serve::handleRequest);
+            server.start();
+            CountDownLatch stopped = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop(1);
+                stopped.countDown();
+            }, "Serve Shutdown"));
+            InetSocketAddress bound = server.getAddress();
+            System.out.printf(I18n.text("Serving on http://%s:%d/\n"), bound.getHostString(), Integer.valueOf(bound.getPort()));
+            stopped.await();
+        } catch (IOException exception) {
+            exception.printStackTrace(System.err);
+            System.exit(1);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static InetSocketAddress parseAddress(String address) {
+        String host  = "127.0.0.1";
+        String port  = address.trim();
+        int    colon = port.lastIndexOf(':');
+        if (colon != -1) {
+            host = port.substring(0, colon);
+            port = port.substring(colon + 1);
+            if (host.startsWith("[") && host.endsWith("]")) {
+                host = host.substring(1, host.length() - 1);
+            }
+        }
+        try {
+            int value = Integer.parseInt(port);
+            if (value < 0 || value > 65535) {
+                return null;
+            }
+            return host.isEmpty() ? new InetSocketAddress(value) : new InetSocketAddress(host, value);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    private Serve(Path template) {
+        mDefaultTemplate = template != null ? template.normalize().toAbsolutePath() : null;
+    }
+
+    private void handleRequest(HttpExchange exchange) {
+        long start = REQUEST_TIMER.start();
+        try {
+            String method = exchange.getRequestMethod();
+            switch (exchange.getRequestURI().getPath()) {
+                case "/templates" -> {
+                    requireMethod(method, "GET");
+                    StringBuilder buffer = new StringBuilder();
+                    for (Path path : listTemplates()) {
+                        buffer.append(path.getFileName());
+                        buffer.append('\n');
+                    }
+                    respond(exchange, 200, TEXT_PLAIN, buffer.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                case "/text" -> {
+                    requireMethod(method, "POST");
+                    Path   template = findTemplate(getQuery(exchange).get("template"));
+                    String content  = loadTemplate(template);
+                    String result   = renderText(loadCharacter(exchange), content, PathUtils.getExtension(template));
+                    respond(exchange, 200, contentType(PathUtils.getExtension(template)), result.getBytes(StandardCharsets.UTF_8));
+                }
+                case "/png" -> {
+                    requireMethod(method, "POST");
+                    int page;
+                    try {
+                        page = Integer.parseInt(getQuery(exchange).getOrDefault("page", "1"));
+                    } catch (NumberFormatException exception) {
+                        throw new RequestException(400, I18n.text("invalid page number"));
+                    }
+                    renderPNG(exchange, loadCharacter(exchange), page);
+                }
+                default -> throw new RequestException(404, I18n.text("not found"));
+            }
+        } catch (RequestException exception) {
+            respondWithError(exchange, exception.mStatus, exception.getMessage());
+        } catch (Throwable throwable) {
+            Log.error(throwable);
+            respondWithError(exchange, 500, throwable.getMessage());
+        } finally {
+            exchange.close();
+            REQUEST_TIMER.stop(start);
+        }
+    }
+
+    private static void requireMethod(String method, String required) throws RequestException {
+        if (!required.equals(method)) {
+            throw new RequestException(405, I18n.text("method not allowed"));
+        }
+    }
+
+    private static Map<String, String> getQuery(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String              raw   = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String param : raw.split("&")) {
+                String[] parts = param.split("=", 2);
+                query.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8), parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+        return query;
+    }
+
+    private static GURPSCharacter loadCharacter(HttpExchange exchange) throws IOException, RequestException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY_SIZE + 1);
+        }
+        if (body.length > MAX_BODY_SIZE) {
+            throw new RequestException(413, I18n.text("sheet is too large"));
+        }
+        JsonMap m;
+        try {
+            m = Json.asMap(Json.parse(new ByteArrayInputStream(body)));
+        } catch (IOException exception) {
+            throw new RequestException(400, I18n.text("invalid sheet: ") + exception.getMessage());
+        }
+        if (!GURPSCharacter.KEY_ROOT.equals(m.getString(DataFile.TYPE))) {
+            throw new RequestException(400, I18n.text("not a character sheet"));
+        }
+        try {
+            return new GURPSCharacter(m);
+        } catch (IOException exception) {
+            throw new RequestException(400, I18n.text("invalid sheet: ") + exception.getMessage());
+        }
+    }
+
+    private List<Path> listTemplates() {
+        List<Path> templates = new ArrayList<>();
+        if (mDefaultTemplate != null) {
+            templates.add(mDefaultTemplate);
+        }
+        for (Library lib : Library.LIBRARIES) {
+            templates.addAll(listTemplates(lib.getPathNoCreate().resolve(TEMPLATES_DIR)));
+        }
+        return templates;
+    }
+
+    private List<Path> listTemplates(Path dir) {
+        // A directory's modification time changes whenever an entry is added, removed or renamed,
+        // so the previous listing is reused for as long as it stays the same.
+        FileTime modified;
+        try {
+            if (!Files.isDirectory(dir)) {
+                return List.of();
+            }
+            modified = Files.getLastModifiedTime(dir);
+        } catch (IOException exception) {
+            return List.of();
+        }
+        synchronized (mListings) {
+            CachedListing cached = mListings.get(dir);
+            if (cached != null && cached.mModified.equals(modified)) {
+                return cached.mPaths;
+            }
+        }
+        List<Path> templates = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    templates.add(path);
+                }
+            }
+        } catch (IOException exception) {
+            Log.error(exception);
+            return templates;
+        }
+        templates = List.copyOf(templates);
+        synchronized (mListings) {
+            mListings.put(dir, new CachedListing(modified, templates));
+        }
+        return templates;
+    }
+
+    private Path findTemplate(String name) throws RequestException {
+        if (name == null || name.isBlank()) {
+            if (mDefaultTemplate == null) {
+                throw new RequestException(400, I18n.text("no template specified"));
+            }
+            return mDefaultTemplate;
+        }
+        for (Path path : listTemplates()) {
+            if (path.getFileName().toString().equals(name)) {
+                return path;
+            }
+        }
+        throw new RequestException(404, I18n.text("unknown template: ") + name);
+    }
+
+    private String loadTemplate(Path path) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+        synchronized (mTemplates) {
+            CachedTemplate cached = mTemplates.get(path);
+            if (cached != null && cached.mModified.equals(modified)) {
+                return cached.mContent;
+            }
+        }
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        synchronized (mTemplates) {
+            mTemplates.put(path, new CachedTemplate(modified, content));
+        }
+        return content;
+    }
+
+    private static String renderText(GURPSCharacter character, String template, String extension) throws Exception {
+        // Templates may ask for extra files, such as the portrait, to be written alongside the
+        // output. Those have nowhere to go in a response, so they're written to a scratch
+        // directory that is removed afterward.
+        Path dir = Files.createTempDirectory("gcs-serve");
+        try {
+            return onEventQueue(() -> {
+                CharacterSheet sheet = createSheet(character);
+                try {
+                    StringWriter sw = new StringWriter();
+                    try (BufferedReader in = new BufferedReader(new StringReader(template)); BufferedWriter out = new BufferedWriter(sw)) {
+                        new TextTemplate(sheet).export(in, out, dir.resolve(extension.isEmpty() ? "sheet" : PathUtils.enforceExtension("sheet", extension)));
+                    }
+                    return sw.toString();
+                } finally {
+                    sheet.dispose();
+                }
+            });
+        } finally {
+            RecursiveDirectoryRemover.remove(dir, true);
+        }
+    }
+
+    private static void renderPNG(HttpExchange exchange, GURPSCharacter character, int page) throws Exception {
+        ByteArrayOutputStream out   = new ByteArrayOutputStream();
+        int                   count = onEventQueue(() -> {
+            CharacterSheet sheet = createSheet(character);
+            try {
+                return Integer.valueOf(sheet.writePageAsPNG(page - 1, out));
+            } finally {
+                sheet.dispose();
+            }
+        }).intValue();
+        if (page < 1 || page > count) {
+            throw new RequestException(404, String.format(I18n.text("no such page; the sheet has %d"), Integer.valueOf(count)));
+        }
+        exchange.getResponseHeaders().add("X-Page-Count", Integer.toString(count));
+        respond(exchange, 200, "image/png", out.toByteArray());
+    }
+
+    private static CharacterSheet createSheet(GURPSCharacter character) {
+        CharacterSheet sheet = new CharacterSheet(character);
+        sheet.addNotify(); // Required to allow layout to work
+        sheet.rebuild();
+        sheet.setSize(sheet.getPreferredSize());
+        return sheet;
+    }
+
+    private static <T> T onEventQueue(Callable<T> callable) throws Exception {
+        FutureTask<T> task = new FutureTask<>(callable);
+        EventQueue.invokeLater(task);
+        try {
+            return task.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof Exception ex) {
+                throw ex;
+            }
+            throw exception;
+        }
+    }
+
+    private static String contentType(String extension) {
+        return switch (extension.toLowerCase()) {
+            case "html", "htm" -> "text/html; charset=utf-8";
+            case "xml" -> "application/xml; charset=utf-8";
+            case "json" -> "application/json; charset=utf-8";
+            case "csv" -> "text/csv; charset=utf-8";
+            default -> TEXT_PLAIN;
+        };
+    }
+
+    private static void respondWithError(HttpExchange exchange, int status, String msg) {
+        try {
+            respond(exchange, status, TEXT_PLAIN, ((msg != null ? msg : Integer.toString(status)) + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException exception) {
+            // The client has most likely gone away, so there is no one to tell.
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] data) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, data.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(data);
+        }
+    }
+
+    private record CachedTemplate(FileTime mModified, String mContent) {
+    }
+
+    private record CachedListing(FileTime mModified, List<Path> mPaths) {
+    }
+
+    private static final class RequestException extends Exception {
+        private int mStatus;
+
+        RequestException(int status, String msg) {
+            super(msg);
+            mStatus = status;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.datafile;
+
+import com.trollworks.gcs.library.LibraryExplorerDockable;
+import com.trollworks.gcs.settings.Settings;
+import com.trollworks.gcs.ui.widget.MessageType;
+import com.trollworks.gcs.ui.widget.Modal;
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.I18n;
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.PathUtils;
+import com.trollworks.gcs.utility.SafeFileUpdater;
+import com.trollworks.gcs.utility.SaveType;
+import com.trollworks.gcs.utility.json.Json;
+import com.trollworks.gcs.utility.json.JsonMap;
+import com.trollworks.gcs.utility.json.JsonWriter;
+import com.trollworks.gcs.utility.task.Task;
+import com.trollworks.gcs.utility.task.Tasks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the contents of modified {@link DataFile}s into a recovery journal, so that
+ * unsaved work can be offered for reopening after a crash. The data is serialized on the UI thread,
+ * which owns it, but only once no changes have been made to it for {@link #DELAY_SECONDS}, so that
+ * serializing a large sheet never interrupts typing. The resulting text is written to disk on a
+ * background thread.
+ */
+public final class AutoSaver {
+    private static final String             META_EXTENSION = "meta";
+    private static final String             RECOVERY_DIR   = "Recovery";
+    private static final String             PATH           = "path";
+    private static final String             WHEN           = "when";
+    private static final long               DELAY_SECONDS  = 15;
+    private static final Map<UUID, Integer> PENDING        = new HashMap<>();
+    private static final Map<UUID, Task>    SCHEDULED      = new HashMap<>(); // UI thread only
+
+    private AutoSaver() {
+    }
+
+    /**
+     * Starts tracking changes to the {@link DataFile} owned by the specified dockable.
+     *
+     * @param dockable The {@link DataFileDockable} to track.
+     */
+    public static void track(DataFileDockable dockable) {
+        DataFile dataFile = dockable.getDataFile();
+        dataFile.addChangeListener(() -> schedule(dataFile));
+        dataFile.addDataModifiedListener((obj, modified) -> {
+            if (!modified) {
+                discard(dataFile);
+            }
+        });
+    }
+
+    /**
+     * Removes any journal entry for the specified {@link DataFile}. Should be called on the UI
+     * thread once its dockable has been closed.
+     *
+     * @param dataFile The {@link DataFile} to stop tracking.
+     */
+    public static void discard(DataFile dataFile) {
+        UUID     id       = dataFile.getID();
+        FileType fileType = dataFile.getFileType();
+        cancelScheduled(id);
+        synchronized (PENDING) {
+            PENDING.remove(id);
+        }
+        Tasks.callOnBackgroundThread(() -> deleteEntry(id, fileType));
+    }
+
+    private static void schedule(DataFile dataFile) {
+        if (dataFile.isModified()) {
+            // Each change pushes the snapshot back, rather than letting one that is already
+            // scheduled run while the user is still editing.
+            UUID id = dataFile.getID();
+            cancelScheduled(id);
+            SCHEDULED.put(id, Tasks.scheduleOnUIThread(() -> {
+                SCHEDULED.remove(id);
+                snapshot(dataFile);
+            }, DELAY_SECONDS, TimeUnit.SECONDS, null));
+        }
+    }
+
+    private static void cancelScheduled(UUID id) {
+        Task task = SCHEDULED.remove(id);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private static void snapshot(DataFile dataFile) {
+        if (!dataFile.isModified()) {
+            return;
+        }
+        String content;
+        try (StringWriter sw = new StringWriter(); JsonWriter w = new JsonWriter(sw, "\t")) {
+            dataFile.save(w, SaveType.NORMAL, false);
+            w.flush();
+            content = sw.toString();
+        } catch (IOException exception) {
+            Log.error(exception);
+            return;
+        }
+        UUID     id          = dataFile.getID();
+        Integer  changeCount = Integer.valueOf(dataFile.getChangeCount());
+        FileType fileType    = dataFile.getFileType();
+        Path     path        = dataFile.getPath();
+        synchronized (PENDING) {
+            PENDING.put(id, changeCount);
+        }
+        Tasks.callOnBackgroundThread(() -> write(id, changeCount, fileType, path, content));
+    }
+
+    private static void write(UUID id, Integer changeCount, FileType fileType, Path path, String content) {
+        if (!isPending(id, changeCount)) {
+            return; // Discarded, or superseded by a newer snapshot
+        }
+        Path            dir         = getRecoveryDir();
+        SafeFileUpdater transaction = new SafeFileUpdater();
+        transaction.begin();
+        try {
+            File dataTransactionFile = transaction.getTransactionFile(dir.resolve(fileType.addExtension(id.toString())).toFile());
+            try (BufferedWriter out = new BufferedWriter(new FileWriter(dataTransactionFile, StandardCharsets.UTF_8))) {
+                out.write(content);
+            }
+            File metaTransactionFile = transaction.getTransactionFile(dir.resolve(id + "." + META_EXTENSION).toFile());
+            try (JsonWriter w = new JsonWriter(new BufferedWriter(new FileWriter(metaTransactionFile, StandardCharsets.UTF_8)), "\t")) {
+                w.startMap();
+                if (path != null) {
+                    w.keyValue(PATH, path.toString());
+                }
+                w.keyValue(WHEN, System.currentTimeMillis());
+                w.endMap();
+            }
+            transaction.commit();
+        } catch (Exception exception) {
+            Log.error(exception);
+            transaction.abort();
+        }
+        // If the document was saved or closed while we were writing, the entry we just created
+        // would otherwise outlive it.
+        boolean discarded;
+        synchronized (PENDING) {
+            discarded = !PENDING.containsKey(id);
+        }
+        if (discarded) {
+            deleteEntry(id, fileType);
+        }
+    }
+
+    private static boolean isPending(UUID id, Integer changeCount) {
+        synchronized (PENDING) {
+            return changeCount.equals(PENDING.get(id));
+        }
+    }
+
+    private static void deleteEntry(UUID id, FileType fileType) {
+        Path dir = getRecoveryDir();
+        try {
+            Files.deleteIfExists(dir.resolve(fileType.addExtension(id.toString())));
+            Files.deleteIfExists(dir.resolve(id + "." + META_EXTENSION));
+        } catch (IOException exception) {
+            Log.error(exception);
+        }
+    }
+
+    private static Path getRecoveryDir() {
+        Path dir = Settings.getSupportPath(RECOVERY_DIR);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException exception) {
+            Log.error(exception);
+        }
+        return dir;
+    }
+
+    /**
+     * Looks for documents left behind in the recovery journal by a previous session and, if any are
+     * found, offers to reopen them. Must be called on the UI thread once the workspace exists.
+     */
+    public static void offerRecovery() {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(getRecoveryDir())) {
+            for (Path path : stream) {
+                String ext = PathUtils.getExtension(path);
+                for (FileType fileType : FileType.OPENABLE) {
+                    if (fileType.matchExtension(ext)) {
+                        entries.add(path);
+                        break;
+                    }
+                }
+            }
+        } catch (IOException exception) {
+            Log.error(exception);
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        Modal dialog = Modal.prepareToShowMessage(null, I18n.text("Recover Documents"), MessageType.QUESTION,
+                String.format(I18n.text("%d document(s) with unsaved changes were found from a previous session.\nWould you like to reopen them?"), Integer.valueOf(entries.size())));
+        dialog.addButton(I18n.text("Discard"), Modal.CANCEL);
+        dialog.addButton(I18n.text("Reopen"), Modal.OK);
+        dialog.presentToUser();
+        boolean                 reopen   = dialog.getResult() == Modal.OK;
+        LibraryExplorerDockable explorer = LibraryExplorerDockable.get();
+        for (Path entry : entries) {
+            Path meta = entry.resolveSibling(PathUtils.enforceExtension(PathUtils.getLeafName(entry, false), META_EXTENSION));
+            if (reopen && explorer != null) {
+                Path original = null;
+                if (Files.isReadable(meta)) {
+                    try (BufferedReader in = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+                        JsonMap m = Json.asMap(Json.parse(in));
+                        if (m.has(PATH)) {
+                            original = Path.of(m.getString(PATH));
+                        }
+                    } catch (IOException exception) {
+                        Log.error(exception);
+                    }
+                }
+                // The journal entry is left in place; it is removed once the reopened document is
+                // saved or closed.
+                explorer.openRecovered(entry, original);
+            } else {
+                try {
+                    Files.deleteIfExists(entry);
+                    Files.deleteIfExists(meta);
+                } catch (IOException exception) {
+                    Log.error(exception);
+                }
+            }
+        }
+    }
+}
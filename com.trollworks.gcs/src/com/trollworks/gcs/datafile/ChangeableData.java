@@ -11,11 +11,21 @@
 
 package com.trollworks.gcs.datafile;
 
+import java.awt.EventQueue;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Data that notifies listeners when it changes. Changes are accumulated and delivered to the
+ * listeners once per turn of the UI event loop, as a single {@link DataChange}.
+ * <p>
+ * Data with no listeners attached sends nothing to the event loop, so it may be created and used
+ * on any one thread, such as by the command line tools. Once a listener, such as a sheet, has been
+ * attached, changes are delivered on the event loop and the data must only be used there.
+ */
 public class ChangeableData implements ChangeNotifier {
     private Set<DataChangeListener> mChangeListeners;
+    private DataChange              mPendingChange;
 
     public final synchronized void addChangeListener(DataChangeListener listener) {
         if (mChangeListeners == null) {
@@ -32,16 +42,45 @@ public class ChangeableData implements ChangeNotifier {
     }
 
     @Override
-    public void notifyOfChange() {
-        DataChangeListener[] listeners;
+    public final void notifyOfChange() {
+        notifyOfChange(null, null);
+    }
+
+    /**
+     * Records a change and arranges for listeners to be notified of it.
+     *
+     * @param source   The object that changed, or {@code null} if the change can't be attributed
+     *                 to a specific object.
+     * @param property The key of the property that changed, or {@code null} if unknown.
+     */
+    public void notifyOfChange(Object source, String property) {
         synchronized (this) {
             if (mChangeListeners == null) {
                 return;
             }
+            if (mPendingChange != null) {
+                mPendingChange.add(source, property);
+                return;
+            }
+            mPendingChange = new DataChange();
+            mPendingChange.add(source, property);
+        }
+        EventQueue.invokeLater(this::deliverPendingChange);
+    }
+
+    private void deliverPendingChange() {
+        DataChange           change;
+        DataChangeListener[] listeners;
+        synchronized (this) {
+            change = mPendingChange;
+            mPendingChange = null;
+            if (change == null || mChangeListeners == null) {
+                return;
+            }
             listeners = mChangeListeners.toArray(new DataChangeListener[0]);
         }
         for (DataChangeListener listener : listeners) {
-            listener.dataWasChanged();
+            listener.dataWasChanged(change);
         }
     }
 }
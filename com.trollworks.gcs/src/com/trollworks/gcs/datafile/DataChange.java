@@ -0,0 +1,127 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.datafile;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes what changed in a {@link ChangeableData} since its listeners were last notified. A
+ * change is either global, meaning anything may have changed, or a set of sources (typically rows)
+ * along with the properties of each that changed.
+ */
+public final class DataChange {
+    private boolean                  mGlobal;
+    private Map<Object, Set<String>> mSources = new IdentityHashMap<>();
+
+    /** @return A new change that covers everything. */
+    public static DataChange global() {
+        DataChange change = new DataChange();
+        change.mGlobal = true;
+        return change;
+    }
+
+    /**
+     * Records a change.
+     *
+     * @param source   The object that changed, or {@code null} if the change can't be attributed
+     *                 to a specific object.
+     * @param property The key of the property that changed, or {@code null} if unknown.
+     */
+    public void add(Object source, String property) {
+        if (source == null) {
+            mGlobal = true;
+        } else if (!mGlobal) {
+            Set<String> properties = mSources.get(source);
+            if (properties == null) {
+                if (!mSources.containsKey(source)) {
+                    mSources.put(source, property == null ? null : new HashSet<>(Collections.singleton(property)));
+                }
+            } else if (property == null) {
+                mSources.put(source, null);
+            } else {
+                properties.add(property);
+            }
+        }
+    }
+
+    /** @param other Another change to fold into this one. */
+    public void merge(DataChange other) {
+        if (other.mGlobal) {
+            mGlobal = true;
+        }
+        if (!mGlobal) {
+            for (Map.Entry<Object, Set<String>> entry : other.mSources.entrySet()) {
+                Set<String> properties = entry.getValue();
+                if (properties == null) {
+                    add(entry.getKey(), null);
+                } else {
+                    for (String property : properties) {
+                        add(entry.getKey(), property);
+                    }
+                }
+            }
+        }
+    }
+
+    /** @return {@code true} if anything may have changed. */
+    public boolean isGlobal() {
+        return mGlobal;
+    }
+
+    /** @return The objects that changed. Empty if the change is global. */
+    public Set<Object> getSources() {
+        return mGlobal ? Collections.emptySet() : Collections.unmodifiableSet(mSources.keySet());
+    }
+
+    /**
+     * @param filter The filter describing the changes of interest.
+     * @return {@code true} if this change is global or contains at least one change the filter
+     *         accepts.
+     */
+    public boolean affects(Filter filter) {
+        if (mGlobal) {
+            return true;
+        }
+        for (Map.Entry<Object, Set<String>> entry : mSources.entrySet()) {
+            Object      source     = entry.getKey();
+            Set<String> properties = entry.getValue();
+            if (properties == null) {
+                if (filter.accepts(source, null)) {
+                    return true;
+                }
+            } else {
+                for (String property : properties) {
+                    if (filter.accepts(source, property)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Decides whether a single source and property change is of interest. */
+    @FunctionalInterface
+    public interface Filter {
+        /**
+         * @param source   The object that changed.
+         * @param property The key of the property that changed, or {@code null} if unknown, in
+         *                 which case any property must be assumed to have changed.
+         * @return {@code true} if the change is of interest.
+         */
+        boolean accepts(Object source, String property);
+    }
+}
@@ -12,5 +12,16 @@
 package com.trollworks.gcs.datafile;
 
 public interface DataChangeListener {
+    /** Called when the data being listened to has changed. */
     void dataWasChanged();
+
+    /**
+     * Called when the data being listened to has changed. Listeners that only display some of the
+     * data may override this to ignore changes that don't affect them.
+     *
+     * @param change What changed.
+     */
+    default void dataWasChanged(DataChange change) {
+        dataWasChanged();
+    }
 }
@@ -18,6 +18,7 @@ import com.trollworks.gcs.settings.SheetSettings;
 import com.trollworks.gcs.ui.widget.DataModifiedListener;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
 import com.trollworks.gcs.utility.SafeFileUpdater;
 import com.trollworks.gcs.utility.SaveType;
 import com.trollworks.gcs.utility.VersionException;
@@ -42,6 +43,9 @@ import javax.swing.undo.UndoableEdit;
 
 /** A common super class for all data file-based model objects. */
 public abstract class DataFile extends ChangeableData implements Undoable {
+    private static final Metrics.Timer LOAD_TIMER = Metrics.timer("file.load");
+    private static final Metrics.Timer SAVE_TIMER = Metrics.timer("file.save");
+
     /** The 'id' attribute. */
     public static final String                     ID                     = "id";
     /** The attribute used for versioning. */
@@ -59,31 +63,38 @@ public abstract class DataFile extends ChangeableData implements Undoable {
     private             List<DataModifiedListener> mDataModifiedListeners = new ArrayList<>();
     private             boolean                    mSortingMarksDirty     = true;
     private             boolean                    mModified;
+    private volatile    int                        mChangeCount;
 
     @Override
-    public void notifyOfChange() {
+    public void notifyOfChange(Object source, String property) {
+        mChangeCount++;
         setModified(true);
-        super.notifyOfChange();
+        super.notifyOfChange(source, property);
     }
 
     /** @param path The path to load. */
     public void load(Path path) throws IOException {
-        setPath(path);
-        try (BufferedReader fileReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            fileReader.mark(20);
-            char[] buffer = new char[5];
-            int    n      = fileReader.read(buffer);
-            if (n < 0) {
-                throw new IOException("Premature EOF");
-            }
-            fileReader.reset();
-            if (n == 5 && buffer[0] == '<' && buffer[1] == '?' && buffer[2] == 'x' && buffer[3] == 'm' && buffer[4] == 'l') {
-                throw new IOException("The old xml format from versions prior to GCS v4.20 cannot be read by this version of GCS");
-            } else {
-                load(Json.asMap(Json.parse(fileReader)), new LoadState());
+        long start = LOAD_TIMER.start();
+        try {
+            setPath(path);
+            try (BufferedReader fileReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                fileReader.mark(20);
+                char[] buffer = new char[5];
+                int    n      = fileReader.read(buffer);
+                if (n < 0) {
+                    throw new IOException("Premature EOF");
+                }
+                fileReader.reset();
+                if (n == 5 && buffer[0] == '<' && buffer[1] == '?' && buffer[2] == 'x' && buffer[3] == 'm' && buffer[4] == 'l') {
+                    throw new IOException("The old xml format from versions prior to GCS v4.20 cannot be read by this version of GCS");
+                } else {
+                    load(Json.asMap(Json.parse(fileReader)), new LoadState());
+                }
             }
+            mModified = false;
+        } finally {
+            LOAD_TIMER.stop(start);
         }
-        mModified = false;
     }
 
     /**
@@ -118,6 +129,7 @@ public abstract class DataFile extends ChangeableData implements Undoable {
      * @return {@code true} on success.
      */
     public boolean save(Path path) {
+        long            start       = SAVE_TIMER.start();
         SafeFileUpdater transaction = new SafeFileUpdater();
         boolean         success     = false;
         transaction.begin();
@@ -133,6 +145,7 @@ public abstract class DataFile extends ChangeableData implements Undoable {
             Log.error(exception);
             transaction.abort();
         }
+        SAVE_TIMER.stop(start);
         return success;
     }
 
@@ -206,6 +219,14 @@ public abstract class DataFile extends ChangeableData implements Undoable {
         return mModified;
     }
 
+    /**
+     * @return A counter that is incremented every time a change is noted. Useful for detecting
+     *         whether the data was altered while being read from another thread.
+     */
+    public final int getChangeCount() {
+        return mChangeCount;
+    }
+
     /** @param modified Whether or not the data has been modified. */
     public final void setModified(boolean modified) {
         if (mModified != modified) {
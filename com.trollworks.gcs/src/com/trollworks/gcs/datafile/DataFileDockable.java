@@ -45,6 +45,7 @@ public abstract class DataFileDockable extends Dockable implements CloseHandler,
         super(new BorderLayout());
         mDataFile = file;
         mDataFile.setUndoManager(new StdUndoManager());
+        AutoSaver.track(this);
     }
 
     /** @return The {@link DataFile}. */
@@ -119,6 +120,7 @@ public abstract class DataFileDockable extends Dockable implements CloseHandler,
     public boolean attemptClose() {
         if (SaveCommand.attemptSave(this) != SaveResult.CANCEL) {
             getDockContainer().close(this);
+            AutoSaver.discard(mDataFile);
             return true;
         }
         return false;
@@ -32,10 +32,12 @@ import com.trollworks.gcs.template.Template;
 import com.trollworks.gcs.ui.widget.outline.Column;
 import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowEditor;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.Filtered;
 import com.trollworks.gcs.utility.Fixed6;
+import com.trollworks.gcs.utility.Fixed6Accumulator;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.SaveType;
@@ -90,6 +92,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     private String                  mReference;
     private List<WeaponStats>       mWeapons;
     private List<EquipmentModifier> mModifiers;
+    private boolean                 mRollupDirty = true;
 
     /**
      * Creates a new equipment.
@@ -175,6 +178,19 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         return new Equipment(newOwner, this, deep);
     }
 
+    @Override
+    public boolean canCloneConcurrently() {
+        return true;
+    }
+
+    @Override
+    public boolean isDisplayOnlyProperty(String property) {
+        return switch (property) {
+            case KEY_USES, KEY_MAX_USES, KEY_TL, KEY_LC, KEY_REFERENCE -> true;
+            default -> super.isDisplayOnlyProperty(property);
+        };
+    }
+
     @Override
     public ListOutline getOutlineFromCollectedOutlines(CollectedOutlines outlines) {
         return getOwner().getProperty(EquipmentList.KEY_OTHER_ROOT) != null ? outlines.getOtherEquipmentOutline() : outlines.getEquipmentOutline();
@@ -238,6 +254,8 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         } else if (mUses < 0) {
             mUses = 0;
         }
+        // Also reached when an undo reloads this row in place, so the containers holding it must
+        // be recomputed as well; update() marks them.
         update();
         super.finishedLoading(state);
     }
@@ -316,27 +334,102 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         w.endMap();
     }
 
+    /**
+     * Recomputes the extended value and weight of this row, along with those of any rows it
+     * contains that have changed since they were last computed. The containers of this row are
+     * marked as needing to be recomputed, but are not recomputed here.
+     */
     @Override
     public void update() {
-        updateExtendedValue();
-        updateExtendedWeight();
+        markRollupDirty();
+        updateRollup();
     }
 
-    private void updateExtendedValue() {
-        Fixed6 savedValue = mExtendedValue;
-        int    count      = getChildCount();
-        mExtendedValue = new Fixed6(mQuantity).mul(getAdjustedValue());
+    /**
+     * Recomputes the extended value and weight of this row and the rows it contains, skipping any
+     * that haven't changed since they were last computed. No change notifications are sent.
+     *
+     * @return {@code true} if the extended value or weight of this row changed.
+     */
+    public boolean updateRollup() {
+        if (!mRollupDirty) {
+            return false;
+        }
+        int count = getChildCount();
         for (int i = 0; i < count; i++) {
-            Equipment child = (Equipment) getChild(i);
-            child.updateExtendedValue();
-            mExtendedValue = mExtendedValue.add(child.mExtendedValue);
+            ((Equipment) getChild(i)).updateRollup();
+        }
+        boolean changed = updateExtendedValue();
+        changed |= updateExtendedWeight();
+        mRollupDirty = false;
+        return changed;
+    }
+
+    /**
+     * Marks this row and all of the rows it contains as needing their extended value and weight
+     * recomputed, such as when the weight units in use have changed.
+     */
+    public void invalidateRollup() {
+        mRollupDirty = true;
+        int count = getChildCount();
+        for (int i = 0; i < count; i++) {
+            ((Equipment) getChild(i)).invalidateRollup();
+        }
+    }
+
+    private void markRollupDirty() {
+        for (Row row = this; row instanceof Equipment equipment; row = row.getParent()) {
+            equipment.mRollupDirty = true;
+        }
+    }
+
+    @Override
+    public void notifyOfChange(String property) {
+        if (!isDisplayOnlyChange(this, property)) {
+            markRollupDirty();
+        }
+        super.notifyOfChange(property);
+    }
+
+    @Override
+    public void insertChild(int index, Row row) {
+        super.insertChild(index, row);
+        markRollupDirty();
+    }
+
+    @Override
+    public boolean addChild(Row row) {
+        if (super.addChild(row)) {
+            markRollupDirty();
+            return true;
         }
-        if (!mExtendedValue.equals(savedValue)) {
-            notifyOfChange();
+        return false;
+    }
+
+    @Override
+    public void removeChild(Row row) {
+        super.removeChild(row);
+        markRollupDirty();
+    }
+
+    @Override
+    protected void undoSnapshotWasApplied() {
+        markRollupDirty();
+    }
+
+    private boolean updateExtendedValue() {
+        Fixed6            savedValue = mExtendedValue;
+        int               count      = getChildCount();
+        Fixed6Accumulator total      = new Fixed6Accumulator();
+        total.addProduct(getAdjustedValue(), new Fixed6(mQuantity));
+        for (int i = 0; i < count; i++) {
+            total.add(((Equipment) getChild(i)).mExtendedValue);
         }
+        mExtendedValue = total.toFixed6();
+        return !mExtendedValue.equals(savedValue);
     }
 
-    private void updateExtendedWeight() {
+    private boolean updateExtendedWeight() {
         WeightValue saved          = mExtendedWeight;
         WeightValue savedForSkills = mExtendedWeightForSkills;
         int         count          = getChildCount();
@@ -348,8 +441,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         SheetSettings sheetSettings      = mDataFile.getSheetSettings();
         boolean       useSimpleMetric    = sheetSettings.useSimpleMetricConversions();
         for (int i = 0; i < count; i++) {
-            Equipment one = (Equipment) getChild(i);
-            one.updateExtendedWeight();
+            Equipment   one    = (Equipment) getChild(i);
             WeightValue weight = one.mExtendedWeight;
             if (useSimpleMetric) {
                 weight = units.isMetric() ? GURPSCharacter.convertToGurpsMetric(weight) : GURPSCharacter.convertFromGurpsMetric(weight);
@@ -404,9 +496,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         if (containedForSkills.getNormalizedValue().greaterThan(Fixed6.ZERO)) {
             mExtendedWeightForSkills.add(containedForSkills);
         }
-        if (!saved.equals(mExtendedWeight) || !savedForSkills.equals(mExtendedWeightForSkills)) {
-            notifyOfChange();
-        }
+        return !saved.equals(mExtendedWeight) || !savedForSkills.equals(mExtendedWeightForSkills);
     }
 
     /** @return The quantity. */
@@ -421,7 +511,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setQuantity(int quantity) {
         if (quantity != mQuantity) {
             mQuantity = quantity;
-            notifyOfChange();
+            notifyOfChange(KEY_QUANTITY);
             return true;
         }
         return false;
@@ -441,7 +531,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         }
         if (uses != mUses) {
             mUses = uses;
-            notifyOfChange();
+            notifyOfChange(KEY_USES);
             return true;
         }
         return false;
@@ -462,7 +552,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
             if (mMaxUses > mUses) {
                 mUses = mMaxUses;
             }
-            notifyOfChange();
+            notifyOfChange(KEY_MAX_USES);
             return true;
         }
         return false;
@@ -480,7 +570,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setDescription(String description) {
         if (!mDescription.equals(description)) {
             mDescription = description;
-            notifyOfChange();
+            notifyOfChange(KEY_DESCRIPTION);
             return true;
         }
         return false;
@@ -498,7 +588,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setTechLevel(String techLevel) {
         if (!mTechLevel.equals(techLevel)) {
             mTechLevel = techLevel;
-            notifyOfChange();
+            notifyOfChange(KEY_TL);
             return true;
         }
         return false;
@@ -528,7 +618,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setLegalityClass(String legalityClass) {
         if (!mLegalityClass.equals(legalityClass)) {
             mLegalityClass = legalityClass;
-            notifyOfChange();
+            notifyOfChange(KEY_LC);
             return true;
         }
         return false;
@@ -545,27 +635,28 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
      * @return The adjusted value.
      */
     public static Fixed6 getValueAdjustedForModifiers(Fixed6 value, List<EquipmentModifier> modifiers) {
+        if (modifiers.isEmpty()) {
+            return value.greaterThanOrEqual(Fixed6.ZERO) ? value : Fixed6.ZERO;
+        }
+
         // Apply all EquipmentModifierCostType.TO_ORIGINAL_COST
         Fixed6 cost = processNonCFStep(EquipmentModifierCostType.TO_ORIGINAL_COST, value, modifiers);
 
         // Apply all EquipmentModifierCostType.TO_BASE_COST
-        Fixed6 cf = Fixed6.ZERO;
+        Fixed6Accumulator cf = new Fixed6Accumulator();
         for (EquipmentModifier modifier : modifiers) {
             if (modifier.isEnabled() && modifier.getCostAdjType() == EquipmentModifierCostType.TO_BASE_COST) {
                 String                adj = modifier.getCostAdjAmount();
                 ModifierCostValueType mvt = EquipmentModifierCostType.TO_BASE_COST.determineType(adj);
-                Fixed6                amt = mvt.extractValue(adj, false);
+                cf.add(mvt.extractValue(adj, false));
                 if (mvt == ModifierCostValueType.MULTIPLIER) {
-                    amt = amt.sub(Fixed6.ONE);
+                    cf.sub(Fixed6.ONE);
                 }
-                cf = cf.add(amt);
             }
         }
-        if (!cf.equals(Fixed6.ZERO)) {
-            if (cf.lessThan(MIN_CF)) {
-                cf = MIN_CF;
-            }
-            cost = cost.mul(cf.add(Fixed6.ONE));
+        if (!cf.isZero()) {
+            long rawCF = Math.max(cf.getRawValue(), MIN_CF.getRawValue());
+            cost = cost.mul(Fixed6.fromRaw(rawCF + Fixed6.ONE.getRawValue()));
         }
 
         // Apply all EquipmentModifierCostType.TO_FINAL_BASE_COST
@@ -577,26 +668,26 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     }
 
     private static Fixed6 processNonCFStep(EquipmentModifierCostType costType, Fixed6 value, List<EquipmentModifier> modifiers) {
-        Fixed6 percentages = Fixed6.ZERO;
-        Fixed6 additions   = Fixed6.ZERO;
-        Fixed6 cost        = value;
+        Fixed6Accumulator percentages = new Fixed6Accumulator();
+        Fixed6Accumulator additions   = new Fixed6Accumulator();
+        Fixed6Accumulator cost        = new Fixed6Accumulator(value);
         for (EquipmentModifier modifier : modifiers) {
             if (modifier.isEnabled() && modifier.getCostAdjType() == costType) {
                 String                adj = modifier.getCostAdjAmount();
                 ModifierCostValueType mvt = costType.determineType(adj);
                 Fixed6                amt = mvt.extractValue(adj, false);
                 switch (mvt) {
-                    case ADDITION -> additions = additions.add(amt);
-                    case PERCENTAGE -> percentages = percentages.add(amt);
-                    case MULTIPLIER -> cost = cost.mul(amt);
+                    case ADDITION -> additions.add(amt);
+                    case PERCENTAGE -> percentages.add(amt);
+                    case MULTIPLIER -> cost.mul(amt);
                 }
             }
         }
-        cost = cost.add(additions);
-        if (!percentages.equals(Fixed6.ZERO)) {
-            cost = cost.add(value.mul(percentages.div(new Fixed6(100))));
+        cost.addRaw(additions.getRawValue());
+        if (!percentages.isZero()) {
+            cost.addRaw(Fixed6.rawMul(value.getRawValue(), Fixed6.rawDiv(percentages.getRawValue(), Fixed6.rawFromLong(100))));
         }
-        return cost;
+        return cost.toFixed6();
     }
 
     /** @return The value. */
@@ -611,7 +702,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setValue(Fixed6 value) {
         if (!mValue.equals(value)) {
             mValue = value;
-            notifyOfChange();
+            notifyOfChange(KEY_VALUE);
             return true;
         }
         return false;
@@ -704,7 +795,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setWeight(WeightValue weight) {
         if (!mWeight.equals(weight)) {
             mWeight = new WeightValue(weight);
-            notifyOfChange();
+            notifyOfChange(KEY_WEIGHT);
             return true;
         }
         return false;
@@ -728,7 +819,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setWeightIgnoredForSkills(boolean ignore) {
         if (mWeightIgnoredForSkills != ignore) {
             mWeightIgnoredForSkills = ignore;
-            notifyOfChange();
+            notifyOfChange(KEY_IGNORE_WEIGHT_FOR_SKILLS);
             return true;
         }
         return false;
@@ -746,7 +837,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setEquipped(boolean equipped) {
         if (mEquipped != equipped) {
             mEquipped = equipped;
-            notifyOfChange();
+            notifyOfChange(KEY_EQUIPPED);
             return true;
         }
         return false;
@@ -766,18 +857,16 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
     public boolean setReference(String reference) {
         if (!mReference.equals(reference)) {
             mReference = reference;
-            notifyOfChange();
+            notifyOfChange(KEY_REFERENCE);
             return true;
         }
         return false;
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getDescription().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> text) {
+        super.addSearchText(text);
+        text.add(getDescription());
     }
 
     @Override
@@ -800,6 +889,11 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         return Collections.unmodifiableList(mWeapons);
     }
 
+    @Override
+    public boolean hasWeapons() {
+        return !mWeapons.isEmpty();
+    }
+
     /**
      * @param weapons The weapons to set.
      * @return Whether it was modified.
@@ -810,7 +904,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
             for (WeaponStats weapon : mWeapons) {
                 weapon.setOwner(this);
             }
-            notifyOfChange();
+            notifyOfChange(KEY_WEAPONS);
             return true;
         }
         return false;
@@ -864,7 +958,7 @@ public class Equipment extends CollectedListRow implements HasSourceReference {
         List<EquipmentModifier> in = Filtered.list(modifiers, EquipmentModifier.class);
         if (!mModifiers.equals(in)) {
             mModifiers = in;
-            notifyOfChange();
+            notifyOfChange(KEY_MODIFIERS);
             update();
         }
     }
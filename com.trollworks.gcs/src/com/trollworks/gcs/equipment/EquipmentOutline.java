@@ -24,6 +24,7 @@ import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.MultipleRowUndo;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
+import com.trollworks.gcs.ui.widget.outline.RowCloner;
 import com.trollworks.gcs.ui.widget.outline.RowPostProcessor;
 import com.trollworks.gcs.ui.widget.outline.RowUndo;
 import com.trollworks.gcs.utility.FilteredIterator;
@@ -34,6 +35,7 @@ import java.awt.EventQueue;
 import java.awt.dnd.DropTargetDragEvent;
 import java.awt.dnd.DropTargetDropEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.swing.undo.StateEdit;
 
@@ -305,8 +307,7 @@ public class EquipmentOutline extends ListOutline implements Incrementable, Uses
             }
         }
 
-        for (Row row : rows) {
-            Equipment equipment = new Equipment(mDataFile, (Equipment) row, true);
+        for (ListRow equipment : RowCloner.cloneRows(mDataFile, Arrays.asList(rows), mDataFile instanceof GURPSCharacter)) {
             model.collectRowsAndSetOwner(list, equipment, false);
             if (forSheetOrTemplate) {
                 addRowsToBeProcessed(process, equipment);
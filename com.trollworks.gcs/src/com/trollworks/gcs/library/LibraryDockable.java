@@ -55,6 +55,7 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
     private PopupMenu<Scales> mScalesPopup;
     private EditorField       mFilterField;
     private PopupMenu<String> mCategoryPopup;
+    private String            mLowerCaseFilter = "";
     private FontIconButton    mLockButton;
     private ListOutline       mOutline;
     private boolean           mUpdatePending;
@@ -161,7 +162,7 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
     private void createCategoryPopup() {
         mCategoryPopup = new PopupMenu<>(new ArrayList<>(), (p) -> {
             if (mOutline != null) {
-                mOutline.reapplyRowFilter();
+                mOutline.rowFilterChanged();
             }
         });
         adjustCategoryPopup();
@@ -191,7 +192,7 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
         mCategoryPopup.revalidate();
         mCategoryPopup.repaint();
         if (mOutline != null) {
-            mOutline.reapplyRowFilter();
+            mOutline.rowFilterChanged();
         }
     }
 
@@ -206,9 +207,8 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
                 }
             }
             if (!filtered) {
-                String filter = mFilterField.getText();
-                if (!filter.isEmpty()) {
-                    filtered = !listRow.contains(filter.toLowerCase(), true);
+                if (!mLowerCaseFilter.isEmpty()) {
+                    filtered = !listRow.contains(mLowerCaseFilter, true);
                 }
             }
         }
@@ -246,7 +246,8 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
     }
 
     private void documentChanged() {
-        mOutline.reapplyRowFilter();
+        mLowerCaseFilter = mFilterField.getText().toLowerCase();
+        mOutline.rowFilterChanged();
     }
 
     @Override
@@ -15,6 +15,8 @@ import com.trollworks.gcs.advantage.AdvantageList;
 import com.trollworks.gcs.advantage.AdvantagesDockable;
 import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.character.SheetDockable;
+import com.trollworks.gcs.datafile.DataFile;
+import com.trollworks.gcs.datafile.DataFileDockable;
 import com.trollworks.gcs.equipment.EquipmentDockable;
 import com.trollworks.gcs.equipment.EquipmentList;
 import com.trollworks.gcs.menu.edit.Deletable;
@@ -41,6 +43,7 @@ import com.trollworks.gcs.ui.widget.Modal;
 import com.trollworks.gcs.ui.widget.ScrollContent;
 import com.trollworks.gcs.ui.widget.ScrollPanel;
 import com.trollworks.gcs.ui.widget.Search;
+import com.trollworks.gcs.ui.widget.SearchSnapshot;
 import com.trollworks.gcs.ui.widget.SearchTarget;
 import com.trollworks.gcs.ui.widget.Toolbar;
 import com.trollworks.gcs.ui.widget.Workspace;
@@ -98,7 +101,7 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
         OutlineModel model = new OutlineModel();
         model.addColumn(new Column(0, "", "", new LibraryExplorerCell()));
         LibraryDirectoryRow root = new LibraryDirectoryRow("");
-        fillTree(LibraryUpdater.collectFiles(), root);
+        fillTree(LibraryUpdater.takePrecollectedFiles(), root);
         transferRowsToModel(model, root);
         restoreOpenRows(model, new HashSet<>(Settings.getInstance().getLibraryExplorerOpenRowKeys()));
         mOutline = new Outline(model);
@@ -296,32 +299,7 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
         FileProxy proxy = (FileProxy) getDockableFor(path);
         if (proxy == null) {
             // If it wasn't, load it and put it into the dock
-            try {
-                String ext = PathUtils.getExtension(path);
-                if (FileType.ADVANTAGE.matchExtension(ext)) {
-                    proxy = openAdvantageList(path);
-                } else if (FileType.ADVANTAGE_MODIFIER.matchExtension(ext)) {
-                    proxy = openAdvantageModifierList(path);
-                } else if (FileType.EQUIPMENT.matchExtension(ext)) {
-                    proxy = openEquipmentList(path);
-                } else if (FileType.EQUIPMENT_MODIFIER.matchExtension(ext)) {
-                    proxy = openEquipmentModifierList(path);
-                } else if (FileType.SKILL.matchExtension(ext)) {
-                    proxy = openSkillList(path);
-                } else if (FileType.SPELL.matchExtension(ext)) {
-                    proxy = openSpellList(path);
-                } else if (FileType.NOTE.matchExtension(ext)) {
-                    proxy = openNoteList(path);
-                } else if (FileType.SHEET.matchExtension(ext)) {
-                    proxy = dockSheet(new SheetDockable(new GURPSCharacter(path)));
-                } else if (FileType.TEMPLATE.matchExtension(ext)) {
-                    proxy = dockTemplate(new TemplateDockable(new Template(path)));
-                } else if (FileType.PDF.matchExtension(ext)) {
-                    Settings.getInstance().getGeneralSettings().getPDFViewer().open(path, 0);
-                }
-            } catch (Throwable throwable) {
-                Modal.showCannotOpenMsg(this, PathUtils.getLeafName(path, true), throwable);
-            }
+            proxy = load(path);
         } else {
             Dockable dockable = (Dockable) proxy;
             dockable.getDockContainer().setCurrentDockable(dockable);
@@ -335,6 +313,53 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
         return proxy;
     }
 
+    /**
+     * Opens a document that was recovered from the autosave journal. The document is marked as
+     * modified and re-associated with the path it had when it was journaled.
+     *
+     * @param path     The journal file to load the document from.
+     * @param original The path the document was associated with. May be {@code null}.
+     */
+    public void openRecovered(Path path, Path original) {
+        if (load(path) instanceof DataFileDockable dockable) {
+            DataFile dataFile = dockable.getDataFile();
+            dataFile.setPath(original);
+            dataFile.setModified(true);
+            dockable.getDockContainer().updateTitle(dockable);
+        }
+    }
+
+    private FileProxy load(Path path) {
+        FileProxy proxy = null;
+        try {
+            String ext = PathUtils.getExtension(path);
+            if (FileType.ADVANTAGE.matchExtension(ext)) {
+                proxy = openAdvantageList(path);
+            } else if (FileType.ADVANTAGE_MODIFIER.matchExtension(ext)) {
+                proxy = openAdvantageModifierList(path);
+            } else if (FileType.EQUIPMENT.matchExtension(ext)) {
+                proxy = openEquipmentList(path);
+            } else if (FileType.EQUIPMENT_MODIFIER.matchExtension(ext)) {
+                proxy = openEquipmentModifierList(path);
+            } else if (FileType.SKILL.matchExtension(ext)) {
+                proxy = openSkillList(path);
+            } else if (FileType.SPELL.matchExtension(ext)) {
+                proxy = openSpellList(path);
+            } else if (FileType.NOTE.matchExtension(ext)) {
+                proxy = openNoteList(path);
+            } else if (FileType.SHEET.matchExtension(ext)) {
+                proxy = dockSheet(new SheetDockable(new GURPSCharacter(path)));
+            } else if (FileType.TEMPLATE.matchExtension(ext)) {
+                proxy = dockTemplate(new TemplateDockable(new Template(path)));
+            } else if (FileType.PDF.matchExtension(ext)) {
+                Settings.getInstance().getGeneralSettings().getPDFViewer().open(path, 0);
+            }
+        } catch (Throwable throwable) {
+            Modal.showCannotOpenMsg(this, PathUtils.getLeafName(path, true), throwable);
+        }
+        return proxy;
+    }
+
     private FileProxy openAdvantageList(Path path) throws IOException {
         AdvantageList list = new AdvantageList();
         list.load(path);
@@ -503,6 +528,43 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
     public List<Object> search(String filter) {
         List<LibraryExplorerSearchResult> list = new ArrayList<>();
         collect(filter.toLowerCase(), list);
+        return prepareResults(list);
+    }
+
+    @Override
+    public SearchSnapshot createSearchSnapshot() {
+        List<LibraryExplorerRow> rows = new ArrayList<>();
+        for (Row row : mOutline.getModel().getTopLevelRows()) {
+            collect(row, rows);
+        }
+        String[] names = new String[rows.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = rows.get(i).getName();
+        }
+        return (filter, hits) -> {
+            String                            text = filter.toLowerCase();
+            List<LibraryExplorerSearchResult> list = new ArrayList<>();
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].toLowerCase().contains(text)) {
+                    list.add(new LibraryExplorerSearchResult(rows.get(i)));
+                }
+            }
+            hits.test(prepareResults(list));
+        };
+    }
+
+    private static void collect(Row row, List<LibraryExplorerRow> list) {
+        if (row instanceof LibraryExplorerRow libRow) {
+            list.add(libRow);
+        }
+        if (row instanceof LibraryDirectoryRow) {
+            for (Row child : row.getChildren()) {
+                collect(child, list);
+            }
+        }
+    }
+
+    private static List<Object> prepareResults(List<LibraryExplorerSearchResult> list) {
         Set<String> titles     = new HashSet<>();
         Set<String> duplicates = new HashSet<>();
         for (LibraryExplorerSearchResult one : list) {
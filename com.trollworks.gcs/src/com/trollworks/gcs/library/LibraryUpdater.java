@@ -25,6 +25,8 @@ import com.trollworks.gcs.ui.widget.Workspace;
 import com.trollworks.gcs.ui.widget.dock.Dockable;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
+import com.trollworks.gcs.utility.NamedDataRegistry;
 import com.trollworks.gcs.utility.RecursiveDirectoryRemover;
 import com.trollworks.gcs.utility.Release;
 
@@ -42,22 +44,52 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
 
 public final class LibraryUpdater implements Runnable {
-    private static final ExecutorService QUEUE = Executors.newSingleThreadExecutor();
+    private static final ExecutorService   QUEUE      = Executors.newSingleThreadExecutor();
+    private static final Metrics.Timer     SCAN_TIMER = Metrics.timer("library.scan");
+    private static final Metrics.Histogram SCAN_DIRS  = Metrics.histogram("library.scan.directories");
+    private static       List<Object>      PRECOLLECTED;
     private              String          mResult;
     private              Modal           mModal;
     private              Library         mLibrary;
     private              Release         mRelease;
     private              boolean         mUpdateComplete;
 
+    /**
+     * Collects the library files ahead of time, so that the first call to {@link
+     * #takePrecollectedFiles()} doesn't have to wait for the file system to be traversed.
+     */
+    public static void precollectFiles() {
+        List<Object> files = collectFiles();
+        synchronized (LibraryUpdater.class) {
+            PRECOLLECTED = files;
+        }
+    }
+
+    /**
+     * @return The files gathered by {@link #precollectFiles()}, if that hasn't already been
+     *         consumed, or a freshly collected set of files if not.
+     */
+    public static List<Object> takePrecollectedFiles() {
+        List<Object> files;
+        synchronized (LibraryUpdater.class) {
+            files = PRECOLLECTED;
+            PRECOLLECTED = null;
+        }
+        return files != null ? files : collectFiles();
+    }
+
     public static List<Object> collectFiles() {
         FutureTask<List<Object>> task = new FutureTask<>(() -> {
-            Set<Path>    dirs = new HashSet<>();
-            List<Object> list = new ArrayList<>();
+            long         start = SCAN_TIMER.start();
+            Set<Path>    dirs  = new HashSet<>();
+            List<Object> list  = new ArrayList<>();
             list.add("GCS");
             for (Library library : Library.LIBRARIES) {
                 list.add(LibraryCollector.list(library.getTitle(), library.getPath(), dirs));
             }
             LibraryWatcher.INSTANCE.watchDirs(dirs);
+            SCAN_TIMER.stop(start);
+            SCAN_DIRS.record(dirs.size());
             return list;
         });
         QUEUE.submit(task);
@@ -192,6 +224,7 @@ public final class LibraryUpdater implements Runnable {
                 }
             }
         }
+        NamedDataRegistry.invalidateAll();
         mUpdateComplete = true;
         if (!GraphicsEnvironment.isHeadless()) {
             EventQueue.invokeLater(this);
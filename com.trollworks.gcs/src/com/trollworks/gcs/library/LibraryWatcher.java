@@ -12,14 +12,17 @@
 package com.trollworks.gcs.library;
 
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.NamedDataRegistry;
 
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.swing.SwingUtilities;
@@ -46,29 +49,50 @@ public final class LibraryWatcher implements Runnable {
             return;
         }
         while (true) {
-            WatchKey key;
+            Set<Path> changed = new HashSet<>();
+            boolean   refresh;
             try {
-                key = mWatcher.take();
-                key.pollEvents();
-                key.reset();
+                WatchKey key = mWatcher.take();
+                refresh = processEvents(key, changed);
                 while (true) {
                     key = mWatcher.poll();
                     if (key == null) {
                         break;
                     }
-                    key.pollEvents();
-                    key.reset();
+                    refresh |= processEvents(key, changed);
                 }
             } catch (InterruptedException iex) {
                 return;
             }
-            SwingUtilities.invokeLater(() -> {
-                LibraryExplorerDockable explorer = LibraryExplorerDockable.get();
-                if (explorer != null) {
-                    explorer.refresh();
-                }
-            });
+            NamedDataRegistry.invalidate(changed);
+            if (refresh) {
+                SwingUtilities.invokeLater(() -> {
+                    LibraryExplorerDockable explorer = LibraryExplorerDockable.get();
+                    if (explorer != null) {
+                        explorer.refresh();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * @param key     The {@link WatchKey} to process.
+     * @param changed The set of directories whose contents changed.
+     * @return {@code true} if files were added or removed, requiring the library tree be rebuilt.
+     */
+    private static boolean processEvents(WatchKey key, Set<Path> changed) {
+        boolean refresh = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY) {
+                refresh = true;
+            }
+        }
+        if (key.watchable() instanceof Path dir) {
+            changed.add(dir);
         }
+        key.reset();
+        return refresh;
     }
 
     public void watchDirs(Set<Path> dirs) {
@@ -80,7 +104,7 @@ public final class LibraryWatcher implements Runnable {
             WatchKey key = mPathKeyMap.get(p);
             if (key == null) {
                 try {
-                    keep.put(p, p.register(mWatcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE));
+                    keep.put(p, p.register(mWatcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
                 } catch (IOException exception) {
                     Log.error(exception);
                 }
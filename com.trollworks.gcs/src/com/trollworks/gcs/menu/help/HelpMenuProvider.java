@@ -16,6 +16,7 @@ import com.trollworks.gcs.menu.DynamicMenuEnabler;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Platform;
 
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenu;
 import javax.swing.JMenuItem;
 
@@ -39,6 +40,8 @@ public final class HelpMenuProvider {
         menu.addSeparator();
         menu.add(new JMenuItem(new OpenURICommand(I18n.text("Web Site"), GCS.WEB_SITE)));
         menu.add(new JMenuItem(new OpenURICommand(I18n.text("Mailing Lists"), "https://groups.io/g/gcs")));
+        menu.addSeparator();
+        menu.add(new JCheckBoxMenuItem(MetricsOverlayCommand.INSTANCE));
         DynamicMenuEnabler.add(menu);
         return menu;
     }
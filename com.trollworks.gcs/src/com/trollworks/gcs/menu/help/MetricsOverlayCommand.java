@@ -0,0 +1,41 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.menu.help;
+
+import com.trollworks.gcs.menu.Command;
+import com.trollworks.gcs.ui.widget.Workspace;
+import com.trollworks.gcs.utility.I18n;
+
+import java.awt.event.ActionEvent;
+
+/** Provides the "Show Performance Metrics" command. */
+public final class MetricsOverlayCommand extends Command {
+    /** The action command this command will issue. */
+    public static final String                CMD_METRICS_OVERLAY = "MetricsOverlay";
+    /** The singleton {@link MetricsOverlayCommand}. */
+    public static final MetricsOverlayCommand INSTANCE            = new MetricsOverlayCommand();
+
+    private MetricsOverlayCommand() {
+        super(I18n.text("Show Performance Metrics"), CMD_METRICS_OVERLAY);
+    }
+
+    @Override
+    public void adjust() {
+        setMarked(Workspace.get().isMetricsOverlayVisible());
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        Workspace workspace = Workspace.get();
+        workspace.setMetricsOverlayVisible(!workspace.isMetricsOverlayVisible());
+    }
+}
@@ -28,6 +28,7 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.swing.Icon;
@@ -83,6 +84,11 @@ public class Note extends CollectedListRow implements HasSourceReference {
         return new Note(newOwner, this, deep);
     }
 
+    @Override
+    public boolean canCloneConcurrently() {
+        return true;
+    }
+
     @Override
     public ListOutline getOutlineFromCollectedOutlines(CollectedOutlines outlines) {
         return outlines.getNotesOutline();
@@ -164,11 +170,9 @@ public class Note extends CollectedListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getDescription().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> text) {
+        super.addSearchText(text);
+        text.add(getDescription());
     }
 
     @Override
@@ -17,11 +17,13 @@ import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
+import com.trollworks.gcs.ui.widget.outline.RowCloner;
 import com.trollworks.gcs.ui.widget.outline.RowPostProcessor;
 
 import java.awt.EventQueue;
 import java.awt.dnd.DropTargetDragEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** An outline specifically for notes. */
@@ -57,8 +59,7 @@ public class NoteOutline extends ListOutline {
         Row[]              rows               = model.getDragRows();
         boolean            forSheetOrTemplate = mDataFile instanceof CollectedModels;
         ArrayList<ListRow> process            = new ArrayList<>();
-        for (Row element : rows) {
-            Note note = new Note(mDataFile, (Note) element, true);
+        for (ListRow note : RowCloner.cloneRows(mDataFile, Arrays.asList(rows), false)) {
             model.collectRowsAndSetOwner(list, note, false);
             if (forSheetOrTemplate) {
                 addRowsToBeProcessed(process, note);
@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.pageref;
 
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import com.trollworks.gcs.utility.PathUtils;
@@ -18,7 +19,6 @@ import com.trollworks.gcs.utility.Platform;
 import com.trollworks.gcs.utility.text.Text;
 
 import java.awt.Desktop;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,29 +27,47 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 public final class PDFServer {
-    private static       HttpServer          SERVER;
-    private static final DateTimeFormatter   DATE_TIME_FORMATTER    = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH).withZone(ZoneId.of("GMT"));
-    private static final Instant             RESOURCE_LAST_MODIFIED = Instant.now();
-    private static final Map<String, byte[]> CACHE                  = new HashMap<>();
-    private static       int                 PORT;
+    private static final int                   THREAD_COUNT           = 4;
+    private static final int                   MAX_MAPPED_CHUNK       = 64 * 1024 * 1024;
+    private static final int                   EXPIRES_IN_SECONDS     = 12 * 60 * 60; // 12 hours
+    private static       HttpServer            SERVER;
+    private static final DateTimeFormatter     DATE_TIME_FORMATTER    = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH).withZone(ZoneId.of("GMT"));
+    private static final Instant               RESOURCE_LAST_MODIFIED = Instant.now();
+    private static final Map<String, Resource> CACHE                  = new HashMap<>();
+    private static       int                   PORT;
 
     private PDFServer() {
     }
 
     public static synchronized void showPDF(Path path, int page) throws IOException, URISyntaxException {
         if (SERVER == null) {
-            HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+            HttpServer    server  = HttpServer.create(new InetSocketAddress(0), 0);
+            AtomicInteger counter = new AtomicInteger();
+            server.setExecutor(Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+                Thread thread = new Thread(runnable, "PDF Server " + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
             server.createContext("/", PDFServer::handleRequest);
             server.start();
             SERVER = server;
@@ -86,79 +104,185 @@ public final class PDFServer {
                             }
                         }
                     }
-                    p = Path.of(path).normalize();
-                    if (!Files.isRegularFile(p) || !Files.isReadable(p)) {
-                        notFound(httpExchange);
-                        return;
-                    }
-                    long    size;
-                    Instant instant;
-                    try {
-                        size = Files.size(p);
-                        instant = Files.getLastModifiedTime(p).toInstant();
-                    } catch (IOException ex) {
-                        notFound(httpExchange);
-                        return;
-                    }
-                    int expiresInSeconds = 12 * 60 * 60; // 12 hours
-                    httpExchange.getResponseHeaders().add("Content-Type", contentType);
-                    httpExchange.getResponseHeaders().add("Content-Length", Long.toString(size));
-                    httpExchange.getResponseHeaders().add("Last-Modified", DATE_TIME_FORMATTER.format(instant));
-                    httpExchange.getResponseHeaders().add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(expiresInSeconds)));
-                    httpExchange.getResponseHeaders().add("Cache-Control", "max-age=" + expiresInSeconds);
-                    httpExchange.sendResponseHeaders(200, size);
-                    if ("HEAD".equals(httpExchange.getRequestMethod())) {
-                        httpExchange.getResponseBody().close();
-                    } else {
-                        try (OutputStream out = httpExchange.getResponseBody()) {
-                            Files.copy(p, out);
-                        }
-                    }
+                    servePDF(httpExchange, Path.of(path).normalize(), contentType);
                     return;
                 }
                 String path = p.toString();
                 if (Platform.isWindows()) {
                     path = path.replace('\\', '/');
                 }
-                byte[] data;
-                synchronized (CACHE) {
-                    data = CACHE.get(path);
-                    if (data == null) {
-                        ByteArrayOutputStream out = new ByteArrayOutputStream();
-                        try (InputStream in = PDFServer.class.getModule().getResourceAsStream("/pdfjs" + path)) {
-                            in.transferTo(out);
-                        } catch (IOException ioe) {
-                            out = null;
-                        }
-                        if (out != null) {
-                            data = out.toByteArray();
-                            CACHE.put(path, data);
-                        }
-                    }
-                }
-                if (data == null) {
+                Resource resource = getResource(path, isCompressible(contentType));
+                if (resource == null) {
                     notFound(httpExchange);
                     return;
                 }
-                int expiresInSeconds = 12 * 60 * 60; // 12 hours
-                httpExchange.getResponseHeaders().add("Content-Type", contentType);
-                httpExchange.getResponseHeaders().add("Content-Length", Integer.toString(data.length));
-                httpExchange.getResponseHeaders().add("Last-Modified", DATE_TIME_FORMATTER.format(RESOURCE_LAST_MODIFIED));
-                httpExchange.getResponseHeaders().add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(expiresInSeconds)));
-                httpExchange.getResponseHeaders().add("Cache-Control", "public, immutable, max-age=" + expiresInSeconds);
-                httpExchange.sendResponseHeaders(200, data.length);
-                OutputStream body = httpExchange.getResponseBody();
-                if (!"HEAD".equals(httpExchange.getRequestMethod())) {
-                    try (InputStream in = new ByteArrayInputStream(data)) {
-                        in.transferTo(body);
+                byte[]  data    = resource.mData;
+                Headers headers = httpExchange.getResponseHeaders();
+                if (resource.mGzipped != null) {
+                    headers.add("Vary", "Accept-Encoding");
+                    if (acceptsGzip(httpExchange)) {
+                        headers.add("Content-Encoding", "gzip");
+                        data = resource.mGzipped;
                     }
                 }
-                body.close();
+                headers.add("Content-Type", contentType);
+                headers.add("Last-Modified", DATE_TIME_FORMATTER.format(RESOURCE_LAST_MODIFIED));
+                headers.add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(EXPIRES_IN_SECONDS)));
+                headers.add("Cache-Control", "public, immutable, max-age=" + EXPIRES_IN_SECONDS);
+                respond(httpExchange, 200, data);
             }
             default -> methodNotAllowed(httpExchange);
         }
     }
 
+    private static Resource getResource(String path, boolean compressible) {
+        synchronized (CACHE) {
+            Resource resource = CACHE.get(path);
+            if (resource == null) {
+                try (InputStream in = PDFServer.class.getModule().getResourceAsStream("/pdfjs" + path)) {
+                    if (in == null) {
+                        return null;
+                    }
+                    resource = new Resource(in.readAllBytes(), compressible);
+                } catch (IOException ioe) {
+                    return null;
+                }
+                CACHE.put(path, resource);
+            }
+            return resource;
+        }
+    }
+
+    private static void servePDF(HttpExchange httpExchange, Path path, String contentType) throws IOException {
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            notFound(httpExchange);
+            return;
+        }
+        long    size;
+        Instant instant;
+        try {
+            size = Files.size(path);
+            instant = Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException ex) {
+            notFound(httpExchange);
+            return;
+        }
+        String  lastModified = DATE_TIME_FORMATTER.format(instant);
+        Headers headers      = httpExchange.getResponseHeaders();
+        headers.add("Accept-Ranges", "bytes");
+        headers.add("Last-Modified", lastModified);
+        headers.add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(EXPIRES_IN_SECONDS)));
+        headers.add("Cache-Control", "max-age=" + EXPIRES_IN_SECONDS);
+        long   start = 0;
+        long   end   = size - 1;
+        int    code  = 200;
+        String range = httpExchange.getRequestHeaders().getFirst("Range");
+        if (range != null) {
+            String ifRange = httpExchange.getRequestHeaders().getFirst("If-Range");
+            if (ifRange == null || ifRange.equals(lastModified)) {
+                long[] bounds = parseRange(range, size);
+                if (bounds == null) {
+                    headers.add("Content-Range", "bytes */" + size);
+                    headers.add("Content-Type", "text/plain; charset=UTF-8");
+                    respond(httpExchange, 416, "416 Range Not Satisfiable".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    code = 206;
+                    headers.add("Content-Range", "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+        }
+        long length = end - start + 1;
+        headers.add("Content-Type", contentType);
+        if ("HEAD".equals(httpExchange.getRequestMethod())) {
+            headers.add("Content-Length", Long.toString(length));
+            httpExchange.sendResponseHeaders(code, -1);
+            httpExchange.close();
+            return;
+        }
+        httpExchange.sendResponseHeaders(code, length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ); OutputStream out = httpExchange.getResponseBody()) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long                offset = start;
+            while (length > 0) {
+                int              chunk  = (int) Math.min(length, MAX_MAPPED_CHUNK);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, chunk);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+    }
+
+    /**
+     * Parses the value of a Range header.
+     *
+     * @param range The value of the header.
+     * @param size  The size of the file.
+     * @return {@code null} if the range can't be satisfied, an empty array if the header should be
+     *         ignored and the full content returned, or the first and last byte positions of the
+     *         requested range.
+     */
+    private static long[] parseRange(String range, long size) {
+        range = range.trim();
+        if (!range.startsWith("bytes=")) {
+            return new long[0];
+        }
+        String spec = range.substring(6).trim();
+        if (spec.indexOf(',') != -1) {
+            // Multiple ranges aren't supported, so just send the whole thing
+            return new long[0];
+        }
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last  = spec.substring(dash + 1).trim();
+            long   start;
+            long   end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                start = Math.max(size - suffix, 0);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+                if (start >= size || end < start) {
+                    return start >= size ? null : new long[0];
+                }
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException nfe) {
+            return new long[0];
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange httpExchange) {
+        for (String value : httpExchange.getRequestHeaders().getOrDefault("Accept-Encoding", List.of())) {
+            for (String one : value.split(",")) {
+                String[] parts = one.trim().split(";");
+                if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                    return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.startsWith("application/json") || contentType.startsWith("image/svg+xml");
+    }
+
     public static String encodeQueryParam(String str) {
         StringBuilder buffer = new StringBuilder();
         byte[]        bytes  = str.getBytes(StandardCharsets.UTF_8);
@@ -211,10 +335,34 @@ public final class PDFServer {
             size = -1;
         }
         httpExchange.sendResponseHeaders(code, size);
+        if (isHead) {
+            // No body was requested, so there is no response stream to close
+            httpExchange.close();
+            return;
+        }
         try (OutputStream out = httpExchange.getResponseBody()) {
-            if (!isHead && body != null) {
+            if (body != null) {
                 out.write(body);
             }
         }
     }
+
+    /** A bundled pdf.js resource, along with a gzip-compressed copy if it is worth compressing. */
+    private static final class Resource {
+        private byte[] mData;
+        private byte[] mGzipped;
+
+        Resource(byte[] data, boolean compressible) throws IOException {
+            mData = data;
+            if (compressible) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 64);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(data);
+                }
+                if (out.size() < data.length) {
+                    mGzipped = out.toByteArray();
+                }
+            }
+        }
+    }
 }
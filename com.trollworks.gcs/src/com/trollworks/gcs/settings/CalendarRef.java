@@ -14,7 +14,7 @@ package com.trollworks.gcs.settings;
 import com.trollworks.gcs.calendar.Calendar;
 import com.trollworks.gcs.utility.Dirs;
 import com.trollworks.gcs.utility.FileType;
-import com.trollworks.gcs.utility.NamedData;
+import com.trollworks.gcs.utility.NamedDataRegistry;
 import com.trollworks.gcs.utility.PathUtils;
 import com.trollworks.gcs.utility.json.Json;
 import com.trollworks.gcs.utility.text.NumericComparator;
@@ -31,10 +31,10 @@ import java.util.List;
 import java.util.Map;
 
 public class CalendarRef implements Comparable<CalendarRef> {
-    private static Map<String, CalendarRef> REGISTERED_CALENDARS = new HashMap<>();
-    static         CalendarRef              DEFAULT              = new CalendarRef();
-    private        String                   mName;
-    private        Calendar                 mCalendar;
+    private static final NamedDataRegistry<CalendarRef> REGISTRY = new NamedDataRegistry<>(FileType.CALENDAR_SETTINGS, Dirs.SETTINGS, CalendarRef::new);
+    static               CalendarRef                    DEFAULT  = new CalendarRef();
+    private              String                         mName;
+    private              Calendar                       mCalendar;
 
     public static final CalendarRef current() {
         return get(Settings.getInstance().getGeneralSettings().calendarRef());
@@ -45,29 +45,18 @@ public class CalendarRef implements Comparable<CalendarRef> {
     }
 
     public static final CalendarRef get(String name) {
-        load();
-        CalendarRef ref = REGISTERED_CALENDARS.get(name);
+        CalendarRef ref = REGISTRY.get(name);
         return ref != null ? ref : DEFAULT;
     }
 
     public static final List<CalendarRef> choices() {
-        load();
-        List<CalendarRef> list = new ArrayList<>(REGISTERED_CALENDARS.values());
+        Map<String, CalendarRef> all = new HashMap<>(REGISTRY.getAll());
+        all.putIfAbsent(DEFAULT.mName, DEFAULT);
+        List<CalendarRef> list = new ArrayList<>(all.values());
         Collections.sort(list);
         return list;
     }
 
-    private static void load() {
-        if (REGISTERED_CALENDARS.isEmpty()) {
-            for (NamedData<List<NamedData<CalendarRef>>> list : NamedData.scanLibraries(FileType.CALENDAR_SETTINGS, Dirs.SETTINGS, CalendarRef::new)) {
-                for (NamedData<CalendarRef> data : list.getData()) {
-                    REGISTERED_CALENDARS.putIfAbsent(data.getName(), data.getData());
-                }
-            }
-            REGISTERED_CALENDARS.putIfAbsent(DEFAULT.mName, DEFAULT);
-        }
-    }
-
     public CalendarRef() {
         mName = "Gregorian";
         mCalendar = new Calendar();
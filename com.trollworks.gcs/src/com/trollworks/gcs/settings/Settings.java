@@ -107,17 +107,28 @@ public final class Settings extends ChangeableData {
     }
 
     private static Path getPreferencesPath() {
+        return getPlatformConfigPath().resolve("gcs.json").normalize().toAbsolutePath();
+    }
+
+    /**
+     * @param name The name of the directory.
+     * @return The path to a directory alongside the preferences for GCS to keep its own data in,
+     *         such as caches and crash-recovery files. The directory may not exist yet.
+     */
+    public static Path getSupportPath(String name) {
+        return getPlatformConfigPath().resolve("GCS").resolve(name).normalize().toAbsolutePath();
+    }
+
+    private static Path getPlatformConfigPath() {
         String homeDir = System.getProperty("user.home", ".");
-        Path   path;
         if (Platform.isMacintosh()) {
-            path = Path.of(homeDir, "Library", "Preferences");
-        } else if (Platform.isWindows()) {
+            return Path.of(homeDir, "Library", "Preferences");
+        }
+        if (Platform.isWindows()) {
             String localAppData = System.getenv("LOCALAPPDATA");
-            path = localAppData != null ? Path.of(localAppData) : Path.of(homeDir, "AppData", "Local");
-        } else {
-            path = Path.of(homeDir, ".config");
+            return localAppData != null ? Path.of(localAppData) : Path.of(homeDir, "AppData", "Local");
         }
-        return path.resolve("gcs.json").normalize().toAbsolutePath();
+        return Path.of(homeDir, ".config");
     }
 
     private Settings() {
@@ -340,6 +340,11 @@ public class Skill extends CollectedListRow implements HasSourceReference {
         return Collections.unmodifiableList(mWeapons);
     }
 
+    @Override
+    public boolean hasWeapons() {
+        return !mWeapons.isEmpty();
+    }
+
     /**
      * @param weapons The weapons to set.
      * @return Whether it was modified.
@@ -371,6 +376,30 @@ public class Skill extends CollectedListRow implements HasSourceReference {
         return mLevel.getToolTip();
     }
 
+    /** @return The most recently calculated {@link SkillLevel}. */
+    public SkillLevel getCalculatedLevel() {
+        return mLevel;
+    }
+
+    /** @return The default the most recently calculated level was based on, if any. */
+    public SkillDefault getDefaultedFrom() {
+        return mDefaultedFrom;
+    }
+
+    /**
+     * Adopts a level that was calculated elsewhere, such as on a copy of the character. No
+     * notification is issued.
+     *
+     * @param level         The calculated level.
+     * @param defaultedFrom The default the level was based on, if any.
+     */
+    public void setCalculatedLevel(SkillLevel level, SkillDefault defaultedFrom) {
+        if (level != null) {
+            mLevel = level;
+            mDefaultedFrom = defaultedFrom;
+        }
+    }
+
     /** @return The name. */
     public String getName() {
         return mName;
@@ -582,14 +611,10 @@ public class Skill extends CollectedListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getSpecialization().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> text) {
+        super.addSearchText(text);
+        text.add(getName());
+        text.add(getSpecialization());
     }
 
     @Override
@@ -56,6 +56,17 @@ public class SkillLevel {
         }
     }
 
+    /**
+     * Creates a clone of the specified SkillLevel.
+     *
+     * @param other The SkillLevel to clone.
+     */
+    public SkillLevel(SkillLevel other) {
+        mLevel = other.mLevel;
+        mRelativeLevel = other.mRelativeLevel;
+        mToolTip = other.mToolTip;
+    }
+
     /** @return The level. */
     public int getLevel() {
         return mLevel;
@@ -406,6 +406,11 @@ public class Spell extends CollectedListRow implements HasSourceReference {
         return Collections.unmodifiableList(mWeapons);
     }
 
+    @Override
+    public boolean hasWeapons() {
+        return !mWeapons.isEmpty();
+    }
+
     /**
      * @param weapons The weapons to set.
      * @return Whether it was modified.
@@ -884,19 +889,11 @@ public class Spell extends CollectedListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getSpellClass().toLowerCase().contains(text)) {
-            return true;
-        }
-        for (String college : getColleges()) {
-            if (college.toLowerCase().contains(text)) {
-                return true;
-            }
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> text) {
+        super.addSearchText(text);
+        text.add(getName());
+        text.add(getSpellClass());
+        text.addAll(getColleges());
     }
 
     @Override
@@ -1026,6 +1023,23 @@ public class Spell extends CollectedListRow implements HasSourceReference {
         return mLevel.getToolTip();
     }
 
+    /** @return The most recently calculated {@link SkillLevel}. */
+    public SkillLevel getCalculatedLevel() {
+        return mLevel;
+    }
+
+    /**
+     * Adopts a level that was calculated elsewhere, such as on a copy of the character. No
+     * notification is issued.
+     *
+     * @param level The calculated level.
+     */
+    public void setCalculatedLevel(SkillLevel level) {
+        if (level != null) {
+            mLevel = level;
+        }
+    }
+
     @Override
     public String getSecondaryText() {
         StringBuilder builder = new StringBuilder(super.getSecondaryText());
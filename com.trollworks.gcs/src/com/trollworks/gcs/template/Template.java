@@ -61,11 +61,12 @@ public class Template extends CollectedModels {
     }
 
     public void recalculate() {
+        checkEquipmentRollupSettings();
         for (Row one : getEquipmentModel().getTopLevelRows()) {
-            ((Equipment) one).update();
+            ((Equipment) one).updateRollup();
         }
         for (Row one : getOtherEquipmentModel().getTopLevelRows()) {
-            ((Equipment) one).update();
+            ((Equipment) one).updateRollup();
         }
     }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui;
+
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the event dispatch thread for stalls. Every event dispatch is timed by a replacement
+ * {@link EventQueue}, and a background thread samples the stack of the event dispatch thread
+ * whenever a single dispatch has been running for longer than {@link #STALL_MILLIS}. Once the
+ * dispatch completes, the sampled stacks are aggregated and the hottest ones are written to the
+ * diagnostics log via {@link Log#diagnostic(String)}. The stacks that were hottest across the
+ * whole session are written there as well when the application exits.
+ * <p>
+ * Dispatches nest when a modal dialog runs its own event loop. The time an outer dispatch spends
+ * inside nested dispatches, or waiting on the nested loop for its next event, is not counted as
+ * part of its latency, and the outer dispatch is watched again once the nested loop returns to it.
+ */
+public final class EdtWatchdog extends EventQueue {
+    /** The length of time, in milliseconds, a single dispatch must take to be considered a stall. */
+    public static final  int                  STALL_MILLIS    = 500;
+    private static final int                  SAMPLE_MILLIS   = 50;
+    private static final int                  MAX_FRAMES      = 40;
+    private static final int                  STACKS_REPORTED = 3;
+    private static final Metrics.Timer        DISPATCH_TIMER  = Metrics.timer("edt.dispatch");
+    private static final Metrics.Counter      STALL_COUNTER   = Metrics.counter("edt.stalls");
+    private static       EdtWatchdog          INSTANCE;
+    private volatile     Thread               mDispatchThread;
+    private volatile     AWTEvent             mEvent;
+    private volatile     long                 mDispatchStart;
+    private volatile     long                 mLastStallNanos;
+    private              long                 mStallStart;
+    private              String               mStallEvent;
+    private              int                  mStallSamples;
+    private              Map<String, Integer> mStallStacks    = new HashMap<>();
+    private              Map<String, Integer> mSessionStacks  = new HashMap<>();
+    private              Deque<Dispatch>      mDispatches     = new ArrayDeque<>();
+
+    /** Installs the watchdog, if it hasn't already been installed. */
+    public static synchronized void install() {
+        if (INSTANCE == null) {
+            INSTANCE = new EdtWatchdog();
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(INSTANCE);
+            Thread thread = new Thread(INSTANCE::sample, "EDT Watchdog");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::reportSession, "EDT Watchdog Report"));
+        }
+    }
+
+    private EdtWatchdog() {
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        Dispatch outer = mDispatches.peek();
+        if (outer == null) {
+            return super.getNextEvent();
+        }
+        // A nested event loop is waiting for its next event, which isn't latency of the outer
+        // dispatch, so nothing is watched until it arrives.
+        long start = System.nanoTime();
+        mDispatchStart = 0;
+        try {
+            return super.getNextEvent();
+        } finally {
+            outer.mExcluded += System.nanoTime() - start;
+            watch(outer);
+        }
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        Dispatch outer    = mDispatches.peek();
+        Dispatch dispatch = new Dispatch(event, System.nanoTime());
+        mDispatches.push(dispatch);
+        mDispatchThread = Thread.currentThread();
+        watch(dispatch);
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long end = System.nanoTime();
+            mDispatches.pop();
+            long elapsed = end - dispatch.mStart - dispatch.mExcluded;
+            DISPATCH_TIMER.record(elapsed);
+            if (elapsed >= TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS)) {
+                mLastStallNanos = elapsed;
+            }
+            if (outer != null) {
+                outer.mExcluded += end - dispatch.mStart;
+                watch(outer);
+            } else {
+                mEvent = null;
+                mDispatchStart = 0;
+            }
+        }
+    }
+
+    private void watch(Dispatch dispatch) {
+        mEvent = dispatch.mEvent;
+        mDispatchStart = dispatch.mStart + dispatch.mExcluded;
+    }
+
+    private void sample() {
+        long threshold = TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS);
+        while (true) {
+            try {
+                Thread.sleep(SAMPLE_MILLIS);
+            } catch (InterruptedException exception) {
+                return;
+            }
+            long   start  = mDispatchStart;
+            Thread thread = mDispatchThread;
+            if (mStallStart != 0 && start != mStallStart) {
+                finishStall();
+            }
+            if (start != 0 && thread != null && System.nanoTime() - start >= threshold) {
+                if (mStallStart == 0) {
+                    mStallStart = start;
+                    mStallEvent = describe(mEvent);
+                    mLastStallNanos = 0;
+                }
+                mStallStacks.merge(key(thread.getStackTrace()), Integer.valueOf(1), Integer::sum);
+                mStallSamples++;
+            }
+        }
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event == null) {
+            return "unknown event";
+        }
+        Object source = event.getSource();
+        return event.getClass().getName() + " (id " + event.getID() + ") from " + (source != null ? source.getClass().getName() : "unknown source");
+    }
+
+    private static String key(StackTraceElement[] stack) {
+        StringBuilder buffer = new StringBuilder();
+        int           count  = Math.min(stack.length, MAX_FRAMES);
+        for (int i = 0; i < count; i++) {
+            buffer.append("\n\tat ");
+            buffer.append(stack[i]);
+        }
+        if (stack.length > count) {
+            buffer.append("\n\t... ");
+            buffer.append(stack.length - count);
+            buffer.append(" more");
+        }
+        return buffer.toString();
+    }
+
+    private void finishStall() {
+        STALL_COUNTER.increment();
+        long nanos = mLastStallNanos;
+        if (nanos == 0) {
+            nanos = System.nanoTime() - mStallStart;
+        }
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(String.format("EDT stall of %,dms dispatching %s; %d samples", Long.valueOf(TimeUnit.NANOSECONDS.toMillis(nanos)), mStallEvent, Integer.valueOf(mStallSamples)));
+        appendHottest(buffer, mStallStacks);
+        Log.diagnostic(buffer.toString());
+        synchronized (mSessionStacks) {
+            for (Map.Entry<String, Integer> entry : mStallStacks.entrySet()) {
+                mSessionStacks.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        mStallStacks.clear();
+        mStallSamples = 0;
+        mStallStart = 0;
+        mStallEvent = null;
+        mLastStallNanos = 0;
+    }
+
+    private void reportSession() {
+        synchronized (mSessionStacks) {
+            if (!mSessionStacks.isEmpty()) {
+                StringBuilder buffer = new StringBuilder();
+                buffer.append(String.format("EDT stalls this session: %,d", Long.valueOf(STALL_COUNTER.getCount())));
+                appendHottest(buffer, mSessionStacks);
+                Log.diagnostic(buffer.toString());
+            }
+        }
+    }
+
+    private static void appendHottest(StringBuilder buffer, Map<String, Integer> stacks) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(stacks.entrySet());
+        entries.sort((e1, e2) -> Integer.compare(e2.getValue().intValue(), e1.getValue().intValue()));
+        int count = Math.min(entries.size(), STACKS_REPORTED);
+        for (int i = 0; i < count; i++) {
+            Map.Entry<String, Integer> entry = entries.get(i);
+            buffer.append(String.format("%n  %d samples:", entry.getValue()));
+            buffer.append(entry.getKey());
+        }
+    }
+
+    private static final class Dispatch {
+        private final AWTEvent mEvent;
+        private final long     mStart;
+        private       long     mExcluded;
+
+        private Dispatch(AWTEvent event, long start) {
+            mEvent = event;
+            mStart = start;
+        }
+    }
+}
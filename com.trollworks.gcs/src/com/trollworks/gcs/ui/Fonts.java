@@ -32,6 +32,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -113,12 +114,10 @@ public final class Fonts {
                 "Font Awesome 5 Free-Solid-900.otf",
                 "RPG Awesome Webfont.ttf"
         };
-        for (String embeddedFont : embeddedFonts) {
-            try (InputStream in = Settings.class.getModule().getResourceAsStream("/fonts/" + embeddedFont)) {
-                Font font = Font.createFont(Font.TRUETYPE_FONT, in);
-                GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
-            } catch (Exception exception) {
-                Log.error("unable to load font: " + embeddedFont);
+        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        for (Font font : EmbeddedFontLoader.load(embeddedFonts)) {
+            if (font != null) {
+                ge.registerFont(font);
             }
         }
         BUTTON = new ThemeFont("button", I18n.text("Button"), new Font(ROBOTO_BLACK, Font.PLAIN, 13));
@@ -322,4 +321,23 @@ public final class Fonts {
             mFonts[index] = font;
         }
     }
+
+    /**
+     * Decodes the embedded fonts concurrently. This lives in its own class since worker threads
+     * calling back into {@link Fonts} while its static initializer is still running would deadlock.
+     */
+    private static final class EmbeddedFontLoader {
+        static Font[] load(String[] names) {
+            return Arrays.stream(names).parallel().map(EmbeddedFontLoader::load).toArray(Font[]::new);
+        }
+
+        private static Font load(String name) {
+            try (InputStream in = Settings.class.getModule().getResourceAsStream("/fonts/" + name)) {
+                return Font.createFont(Font.TRUETYPE_FONT, in);
+            } catch (Exception exception) {
+                Log.error("unable to load font: " + name);
+                return null;
+            }
+        }
+    }
 }
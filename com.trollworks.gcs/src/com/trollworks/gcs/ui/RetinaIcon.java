@@ -44,22 +44,24 @@ public class RetinaIcon implements Icon {
         RenderingHints saved      = GraphicsUtilities.setMaximumQualityForGraphics(gc);
         PrintProxy     printProxy = UIUtilities.getAncestorOfType(component, PrintProxy.class);
         Scale          scale      = Scale.get(component);
-        Img            img        = mRetina != null && ((printProxy != null && printProxy.isPrinting()) || scale.getScale() > 1 || GraphicsUtilities.isRetinaDisplay(g)) ? mRetina : mNormal;
+        Img            retina     = getRetina();
+        Img            img        = retina != null && ((printProxy != null && printProxy.isPrinting()) || scale.getScale() > 1 || GraphicsUtilities.isRetinaDisplay(g)) ? retina : getNormal();
         gc.drawImage(img, x, y, scale.scale(getIconWidth()), scale.scale(getIconHeight()), component);
         gc.setRenderingHints(saved);
     }
 
     @Override
     public int getIconWidth() {
-        return mNormal.getWidth();
+        return getNormal().getWidth();
     }
 
     @Override
     public int getIconHeight() {
-        return mNormal.getHeight();
+        return getNormal().getHeight();
     }
 
     public RetinaIcon createDisabled() {
-        return new RetinaIcon(mNormal.translucent(0.3f), mRetina != null ? mRetina.translucent(0.3f) : null);
+        Img retina = getRetina();
+        return new RetinaIcon(getNormal().translucent(0.3f), retina != null ? retina.translucent(0.3f) : null);
     }
 }
@@ -35,6 +35,11 @@ public final class Images {
     private Images() {
     }
 
+    /** Ensures the images have been decoded, so that a later first use doesn't have to wait. */
+    public static void preload() {
+        // Nothing to do, as calling this method forces the static initializers to run.
+    }
+
     static synchronized Img get(String name) {
         name += ".png";
         try (InputStream in = Img.class.getModule().getResourceAsStream("/images/" + name)) {
@@ -22,6 +22,7 @@ import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
 import java.awt.Insets;
 import java.awt.MouseInfo;
 import java.awt.Point;
@@ -184,6 +185,9 @@ public class FontIconButton extends Panel implements MouseListener, MouseMotionL
     }
 
     public void updateRollOver() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return; // There is no pointer to query
+        }
         boolean wasRollover = mRollover;
         Point   location    = MouseInfo.getPointerInfo().getLocation();
         UIUtilities.convertPointFromScreen(location, this);
@@ -0,0 +1,122 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget;
+
+import com.trollworks.gcs.ui.Colors;
+import com.trollworks.gcs.ui.Fonts;
+import com.trollworks.gcs.ui.GraphicsUtilities;
+import com.trollworks.gcs.utility.Metrics;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.JLayeredPane;
+import javax.swing.Timer;
+
+/**
+ * A developer overlay that floats over the top-right corner of a window, showing the count, mean,
+ * 95th percentile and maximum of each {@link Metrics} entry, refreshed once a second.
+ */
+public class MetricsOverlay extends JComponent {
+    private static final int          REFRESH_MILLIS = 1000;
+    private static final int          MARGIN         = 8;
+    private static final String       FORMAT         = "%-28s %8s %10s %10s %10s";
+    private              JLayeredPane mLayeredPane;
+    private              Timer        mTimer;
+    private              List<String> mLines         = new ArrayList<>();
+    private              Listener     mListener      = new Listener();
+
+    /** @param layeredPane The layered pane to float over. */
+    public MetricsOverlay(JLayeredPane layeredPane) {
+        mLayeredPane = layeredPane;
+        // The overlay fills its entire bounds, so marking it opaque lets its once-a-second repaint
+        // stay confined to it rather than also repainting (and timing) the outlines beneath it.
+        setOpaque(true);
+        mTimer = new Timer(REFRESH_MILLIS, event -> refresh());
+    }
+
+    /** Adds the overlay to its layered pane and starts updating it. */
+    public void install() {
+        mLayeredPane.add(this, JLayeredPane.PALETTE_LAYER);
+        mLayeredPane.addComponentListener(mListener);
+        refresh();
+        mTimer.start();
+    }
+
+    /** Stops updating the overlay and removes it from its layered pane. */
+    public void uninstall() {
+        mTimer.stop();
+        mLayeredPane.removeComponentListener(mListener);
+        mLayeredPane.remove(this);
+        mLayeredPane.repaint(getBounds());
+    }
+
+    private Font getOverlayFont() {
+        return new Font(Font.MONOSPACED, Font.PLAIN, Fonts.TOOLTIP.getFont().getSize());
+    }
+
+    private void refresh() {
+        mLines.clear();
+        mLines.add(String.format(FORMAT, "Metric", "Count", "Mean", "P95", "Max"));
+        for (Metrics.Metric metric : Metrics.getAll()) {
+            if (metric instanceof Metrics.Histogram) {
+                String units = metric.getUnits();
+                mLines.add(String.format(FORMAT, metric.getName(), Long.valueOf(metric.getCount()), format(metric.getMean(), units), format(metric.getP95(), units), format(metric.getMax(), units)));
+            } else {
+                mLines.add(String.format(FORMAT, metric.getName(), Long.valueOf(metric.getCount()), "", "", ""));
+            }
+        }
+        FontMetrics fm    = getFontMetrics(getOverlayFont());
+        int         width = 0;
+        for (String line : mLines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+        int height = fm.getHeight() * mLines.size();
+        setBounds(mLayeredPane.getWidth() - (width + MARGIN * 3), MARGIN, width + MARGIN * 2, height + MARGIN * 2);
+        repaint();
+    }
+
+    private static String format(double value, String units) {
+        return String.format(value < 10 ? "%.2f%s" : "%.0f%s", Double.valueOf(value), units);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D gc = GraphicsUtilities.prepare(g);
+        gc.setColor(Colors.TOOLTIP);
+        gc.fillRect(0, 0, getWidth(), getHeight());
+        gc.setColor(Colors.DIVIDER);
+        gc.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
+        Font font = getOverlayFont();
+        gc.setFont(font);
+        gc.setColor(Colors.ON_TOOLTIP);
+        FontMetrics fm = gc.getFontMetrics(font);
+        int         y  = MARGIN + fm.getAscent();
+        for (String line : mLines) {
+            gc.drawString(line, MARGIN, y);
+            y += fm.getHeight();
+        }
+    }
+
+    private class Listener extends ComponentAdapter {
+        @Override
+        public void componentResized(ComponentEvent event) {
+            refresh();
+        }
+    }
+}
@@ -18,30 +18,44 @@ import com.trollworks.gcs.ui.layout.PrecisionLayout;
 import com.trollworks.gcs.ui.layout.PrecisionLayoutData;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.text.Numbers;
+import com.trollworks.gcs.utility.task.Tasks;
 import com.trollworks.gcs.utility.text.Text;
 
 import java.awt.Container;
+import java.awt.EventQueue;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.JLayeredPane;
 import javax.swing.JRootPane;
 import javax.swing.SwingConstants;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
-/** A standard search control. */
+/**
+ * A standard search control. When the target supports it, searches are run on a background thread
+ * a short while after typing pauses, with results added to the drop-down as they arrive. A search
+ * that is still running when the filter changes again is abandoned.
+ */
 public class Search extends Panel implements DocumentListener, KeyListener, FocusListener {
-    private SearchTarget   mTarget;
-    private Label          mHits;
-    private EditorField    mFilterField;
-    private SearchDropDown mFloater;
-    private String         mFilter;
+    private static final long           DEBOUNCE_MILLIS = 150;
+    private              SearchTarget   mTarget;
+    private              Label          mHits;
+    private              EditorField    mFilterField;
+    private              SearchDropDown mFloater;
+    private              String         mFilter;
+    private              List<Object>   mCurrentHits    = new ArrayList<>();
+    private              boolean        mCurrentHitsComplete;
+    private              boolean        mReplaceOnNextHits;
+    private              AtomicInteger  mGeneration     = new AtomicInteger();
 
     /**
      * Creates the search panel.
@@ -88,23 +102,87 @@ public class Search extends Panel implements DocumentListener, KeyListener, Focu
                 return;
             }
         }
-        mTarget.searchSelect(adjustHits());
+        mTarget.searchSelect(mCurrentHitsComplete ? new ArrayList<>(mCurrentHits) : adjustHits());
     }
 
     /**
-     * Adjust the hits count.
+     * Adjust the hits count by searching the target on the UI thread, abandoning any search that
+     * is running in the background.
      *
      * @return The current hits.
      */
     public List<Object> adjustHits() {
+        mGeneration.incrementAndGet();
         List<Object> hits = mFilter != null ? mTarget.search(mFilter) : Collections.emptyList();
-        mHits.setText(Numbers.format(hits.size()));
+        setHits(hits, true);
+        return hits;
+    }
+
+    private void startSearch() {
+        SearchSnapshot snapshot = mFilter != null ? mTarget.createSearchSnapshot() : null;
+        if (snapshot == null) {
+            adjustHits();
+            return;
+        }
+        int    generation = mGeneration.incrementAndGet();
+        String filter     = mFilter;
+        mCurrentHitsComplete = false;
+        // The previous hits are left in place until the first batch of new ones arrives, to
+        // avoid flicker while typing.
+        mReplaceOnNextHits = true;
+        Tasks.callOnBackgroundThread(() -> {
+            snapshot.search(filter, (batch) -> {
+                if (generation != mGeneration.get()) {
+                    return false;
+                }
+                if (!batch.isEmpty()) {
+                    List<Object> hits = new ArrayList<>(batch);
+                    EventQueue.invokeLater(() -> {
+                        if (generation == mGeneration.get()) {
+                            addHits(hits);
+                        }
+                    });
+                }
+                return true;
+            });
+            EventQueue.invokeLater(() -> {
+                if (generation == mGeneration.get()) {
+                    if (mReplaceOnNextHits) {
+                        setHits(Collections.emptyList(), true);
+                    } else {
+                        mCurrentHitsComplete = true;
+                    }
+                }
+            });
+        });
+    }
+
+    private void setHits(List<Object> hits, boolean complete) {
+        mCurrentHits = new ArrayList<>(hits);
+        mCurrentHitsComplete = complete;
+        mReplaceOnNextHits = false;
         if (mFloater != null) {
             mFloater.adjustToHits(hits);
         }
+        updateHitCount();
+    }
+
+    private void addHits(List<Object> hits) {
+        if (mReplaceOnNextHits) {
+            setHits(hits, false);
+            return;
+        }
+        mCurrentHits.addAll(hits);
+        if (mFloater != null) {
+            mFloater.appendHits(hits);
+        }
+        updateHitCount();
+    }
+
+    private void updateHitCount() {
+        mHits.setText(Numbers.format(mCurrentHits.size()));
         mHits.revalidate();
         mHits.repaint();
-        return hits;
     }
 
     @Override
@@ -125,7 +203,16 @@ public class Search extends Panel implements DocumentListener, KeyListener, Focu
     private void documentChanged() {
         String filterText = mFilterField.getText();
         mFilter = filterText.isEmpty() ? null : filterText;
-        adjustHits();
+        int generation = mGeneration.incrementAndGet();
+        if (mFilter == null) {
+            setHits(Collections.emptyList(), true);
+        } else {
+            Tasks.scheduleOnUIThread(() -> {
+                if (generation == mGeneration.get()) {
+                    startSearch();
+                }
+            }, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS, null);
+        }
     }
 
     private boolean redirectKeyEventToFloater(KeyEvent event) {
@@ -165,7 +252,7 @@ public class Search extends Panel implements DocumentListener, KeyListener, Focu
             UIUtilities.convertPoint(where, mFilterField, layeredPane);
             layeredPane.add(mFloater, JLayeredPane.POPUP_LAYER);
             mFloater.repaint();
-            adjustHits();
+            startSearch();
         }
     }
 
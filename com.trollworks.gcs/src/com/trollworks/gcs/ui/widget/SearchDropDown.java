@@ -69,9 +69,23 @@ class SearchDropDown extends ScrollPanel implements MouseListener {
      */
     void adjustToHits(List<Object> hits) {
         mModel.removeAllElements();
-        for (Object one : hits) {
-            mModel.addElement(one);
+        appendHits(hits);
+    }
+
+    /**
+     * Adds to the list of hits.
+     *
+     * @param hits The hits to add.
+     */
+    void appendHits(List<Object> hits) {
+        boolean wasEmpty = mModel.isEmpty();
+        mModel.addAll(hits);
+        if (wasEmpty || !isVisible()) {
+            adjustBounds();
         }
+    }
+
+    private void adjustBounds() {
         Point where  = new Point(0, mFilterField.getHeight());
         int   count  = mModel.getSize();
         int   height = 0;
@@ -0,0 +1,31 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A capture of the searchable content of a {@link SearchTarget}, taken on the UI thread. It must
+ * not refer to any mutable state, as it will be searched on a background thread.
+ */
+public interface SearchSnapshot {
+    /**
+     * Called on a background thread to search the snapshot.
+     *
+     * @param filter The filter to apply.
+     * @param hits   Should be called with each batch of matching objects as they are found. Returns
+     *               {@code false} if the search has been superseded, in which case the search
+     *               should stop as soon as possible.
+     */
+    void search(String filter, Predicate<List<Object>> hits);
+}
@@ -34,6 +34,17 @@ public interface SearchTarget extends JumpToSearchTarget {
      */
     List<Object> search(String filter);
 
+    /**
+     * Called on the UI thread to capture the content of the target, so that a search can be
+     * performed on a background thread.
+     *
+     * @return The snapshot, or {@code null} if the target only supports {@link #search(String)},
+     *         which will then be called on the UI thread.
+     */
+    default SearchSnapshot createSearchSnapshot() {
+        return null;
+    }
+
     /**
      * Called to have the target select the objects specified.
      *
@@ -31,7 +31,8 @@ import java.util.List;
 
 /** The workspace, where all files can be viewed and edited. */
 public final class Workspace extends BaseWindow implements SignificantFrame, JumpToSearchTarget, FontAdjustable {
-    private Dock mDock;
+    private Dock           mDock;
+    private MetricsOverlay mMetricsOverlay;
 
     /** @return The Workspace. */
     public static Workspace get() {
@@ -77,6 +78,24 @@ public final class Workspace extends BaseWindow implements SignificantFrame, Jum
         return mDock;
     }
 
+    /** @return Whether the performance metrics overlay is being shown. */
+    public boolean isMetricsOverlayVisible() {
+        return mMetricsOverlay != null;
+    }
+
+    /** @param visible Whether the performance metrics overlay should be shown. */
+    public void setMetricsOverlayVisible(boolean visible) {
+        if (visible != isMetricsOverlayVisible()) {
+            if (visible) {
+                mMetricsOverlay = new MetricsOverlay(getLayeredPane());
+                mMetricsOverlay.install();
+            } else {
+                mMetricsOverlay.uninstall();
+                mMetricsOverlay = null;
+            }
+        }
+    }
+
     @Override
     public boolean isJumpToSearchAvailable() {
         DockContainer dc = mDock.getFocusedDockContainer();
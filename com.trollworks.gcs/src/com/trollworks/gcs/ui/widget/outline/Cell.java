@@ -58,6 +58,33 @@ public interface Cell {
      */
     int compare(Column column, Row one, Row two);
 
+    /**
+     * Extracts the data this cell sorts by, so that it only needs to be computed once per row when
+     * sorting. Keys are compared with {@link #compareSortKeys(Column, Object, Object)}. The default
+     * implementation returns the row itself and defers to {@link #compare(Column, Row, Row)}.
+     *
+     * @param column The column to extract the key for.
+     * @param row    The row to extract the key from.
+     * @return The sort key.
+     */
+    default Object getSortKey(Column column, Row row) {
+        return row;
+    }
+
+    /**
+     * Compare two keys returned by {@link #getSortKey(Column, Row)}. Must produce the same result
+     * as {@link #compare(Column, Row, Row)} would for the rows the keys came from.
+     *
+     * @param column The column to compare.
+     * @param one    The first key.
+     * @param two    The second key.
+     * @return {@code < 0} if key one is less than key two, {@code 0} if they are equal, and {@code
+     *         > 0} if key one is greater than key two.
+     */
+    default int compareSortKeys(Column column, Object one, Object two) {
+        return compare(column, (Row) one, (Row) two);
+    }
+
     /**
      * @param event  The {@link MouseEvent} that caused the tooltip to be shown.
      * @param bounds The bounds of the cell.
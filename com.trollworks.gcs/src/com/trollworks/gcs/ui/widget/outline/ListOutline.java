@@ -20,6 +20,7 @@ import com.trollworks.gcs.equipment.EquipmentOutline;
 import com.trollworks.gcs.library.LibraryExplorerDockable;
 import com.trollworks.gcs.menu.Command;
 import com.trollworks.gcs.menu.edit.ConvertToContainer;
+import com.trollworks.gcs.menu.edit.Copyable;
 import com.trollworks.gcs.menu.edit.Duplicatable;
 import com.trollworks.gcs.menu.edit.MoveEquipmentCommand;
 import com.trollworks.gcs.menu.item.ApplyTemplateCommand;
@@ -45,6 +46,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -54,7 +56,7 @@ import javax.swing.border.CompoundBorder;
 import javax.swing.undo.StateEdit;
 
 /** Base outline class. */
-public class ListOutline extends Outline implements Runnable, ActionListener, Duplicatable {
+public class ListOutline extends Outline implements Runnable, ActionListener, Copyable, Duplicatable {
     public static final String   OWNING_LIST = "owning_list";
     /** The owning data file. */
     protected           DataFile mDataFile;
@@ -140,7 +142,6 @@ public class ListOutline extends Outline implements Runnable, ActionListener, Du
         List<Row>    sel   = model.getSelectionAsList(true);
         int          count = sel.size();
         int          insertAt;
-        int          i;
         Row          parentRow;
         if (count > 0) {
             insertAt = model.getIndexOfRow(sel.get(count == 1 ? 0 : count - 1));
@@ -161,10 +162,7 @@ public class ListOutline extends Outline implements Runnable, ActionListener, Du
         } else {
             insertAt = model.getRowCount();
         }
-        i = insertAt;
-        for (ListRow row : rows) {
-            model.addRow(i++, row, true);
-        }
+        model.addRows(insertAt, Arrays.asList(rows));
         updateAllRows();
         edit.end();
         postUndo(edit);
@@ -368,6 +366,20 @@ public class ListOutline extends Outline implements Runnable, ActionListener, Du
         }
     }
 
+    @Override
+    public boolean canCopySelection() {
+        return getModel().hasSelection();
+    }
+
+    @Override
+    public void copySelection() {
+        if (canCopySelection()) {
+            OutlineModel model     = getModel();
+            RowSelection selection = new RowSelection(model, model.getSelectionAsList(true).toArray(new Row[0]));
+            getToolkit().getSystemClipboard().setContents(selection, null);
+        }
+    }
+
     @Override
     public boolean canDuplicateSelection() {
         OutlineModel model = getModel();
@@ -73,6 +73,7 @@ public abstract class ListRow extends Row {
     private   String             mUnsatisfiedReason;
     private   String             mNotes;
     private   TreeSet<String>    mCategories;
+    private   SearchKey          mSearchKey;
 
     public static void saveList(JsonWriter w, String key, List<?> list, SaveType saveType) throws IOException {
         List<ListRow> rows = Filtered.list(list, ListRow.class);
@@ -196,6 +197,16 @@ public abstract class ListRow extends Row {
      */
     public abstract ListRow cloneRow(DataFile dataFile, boolean deep, boolean forSheet);
 
+    /**
+     * @return {@code true} if {@link #cloneRow(DataFile, boolean, boolean)} only reads this row and
+     *         its children, so that separate rows may be cloned on separate threads at the same
+     *         time. Rows whose clones consult their new owner's computed state must return {@code
+     *         false}.
+     */
+    public boolean canCloneConcurrently() {
+        return false;
+    }
+
     public UUID getID() {
         return mID;
     }
@@ -293,6 +304,7 @@ public abstract class ListRow extends Row {
         setCanHaveChildren(isContainer);
         setOpen(isContainer);
         prepareForLoad(state);
+        invalidateOwnerSearchIndex();
         loadSelf(m, state);
         if (m.has(KEY_PREREQS)) {
             mPrereqList = new PrereqList(null, mDataFile.getSheetSettings().defaultWeightUnits(), m.getMap(KEY_PREREQS));
@@ -515,11 +527,47 @@ public abstract class ListRow extends Row {
     protected abstract void saveSelf(JsonWriter w, SaveType saveType) throws IOException;
 
     public void notifyOfChange() {
+        notifyOfChange(null);
+    }
+
+    /**
+     * Notifies the owning data file that this row has changed.
+     *
+     * @param property The key of the property that changed, or {@code null} if unknown.
+     */
+    public void notifyOfChange(String property) {
+        invalidateOwnerSearchIndex();
         if (mDataFile != null) {
-            mDataFile.notifyOfChange();
+            mDataFile.notifyOfChange(this, property);
         }
     }
 
+    /**
+     * @param property The key of a property of this row.
+     * @return {@code true} if the property is only displayed in this row's own outline and has no
+     *         effect on anything else, so that a change to it only requires this row to be redrawn.
+     */
+    public boolean isDisplayOnlyProperty(String property) {
+        // Weapons show the notes of the row they belong to as part of their own
+        return KEY_NOTES.equals(property) && !hasWeapons();
+    }
+
+    /** @return {@code true} if this row has any weapons. */
+    public boolean hasWeapons() {
+        return false;
+    }
+
+    /**
+     * @param source   The object that changed.
+     * @param property The key of the property that changed, or {@code null} if unknown.
+     * @return {@code true} if the change is known to be limited to a display-only property of a
+     *         row.
+     * @see #isDisplayOnlyProperty(String)
+     */
+    public static boolean isDisplayOnlyChange(Object source, String property) {
+        return property != null && source instanceof ListRow row && row.isDisplayOnlyProperty(property);
+    }
+
     /** Called to update any information that relies on children. */
     public void update() {
         // Do nothing by default.
@@ -690,7 +738,66 @@ public abstract class ListRow extends Row {
      * @return {@code true} if this row contains the text.
      */
     public boolean contains(String text, boolean lowerCaseOnly) {
-        return false;
+        return getSearchKey().contains(lowerCaseOnly ? text : text.toLowerCase());
+    }
+
+    /**
+     * Adds the text that {@link #contains(String, boolean)} should match against. Subclasses that
+     * override this should call the super implementation.
+     *
+     * @param text The list to add to.
+     */
+    protected void addSearchText(List<String> text) {
+        // Nothing by default.
+    }
+
+    /**
+     * @return The lowercased text of this row that searches match against, with each field
+     *         separated by a newline. It is only rebuilt when one of the underlying strings has
+     *         been replaced.
+     */
+    public String getSearchKey() {
+        List<String> sources = new ArrayList<>();
+        addSearchText(sources);
+        SearchKey key = mSearchKey;
+        if (key == null || !key.isFor(sources)) {
+            key = new SearchKey(sources);
+            mSearchKey = key;
+        }
+        return key.mKey;
+    }
+
+    private static final class SearchKey {
+        private final String[] mSources;
+        private final String   mKey;
+
+        SearchKey(List<String> sources) {
+            mSources = sources.toArray(new String[0]);
+            StringBuilder buffer = new StringBuilder();
+            for (String one : mSources) {
+                if (one != null && !one.isEmpty()) {
+                    if (!buffer.isEmpty()) {
+                        buffer.append('\n');
+                    }
+                    buffer.append(one.toLowerCase());
+                }
+            }
+            mKey = buffer.toString();
+        }
+
+        boolean isFor(List<String> sources) {
+            int count = sources.size();
+            if (count != mSources.length) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                // Strings are immutable, so the same instance means the same text
+                if (sources.get(i) != mSources[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     /** @return An image representative of this row. */
@@ -185,6 +185,16 @@ public class MultiCell implements Cell {
         return NumericComparator.caselessCompareStrings(getSortText((ListRow) one), getSortText((ListRow) two));
     }
 
+    @Override
+    public Object getSortKey(Column column, Row row) {
+        return getSortText((ListRow) row);
+    }
+
+    @Override
+    public int compareSortKeys(Column column, Object one, Object two) {
+        return NumericComparator.caselessCompareStrings((String) one, (String) two);
+    }
+
     @Override
     public Cursor getCursor(MouseEvent event, Rectangle bounds, Row row, Column column) {
         return Cursor.getDefaultCursor();
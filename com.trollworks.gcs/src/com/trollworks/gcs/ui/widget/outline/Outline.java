@@ -32,6 +32,7 @@ import com.trollworks.gcs.ui.widget.dock.DockableTransferable;
 import com.trollworks.gcs.utility.Geometry;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Metrics;
 
 import java.awt.AlphaComposite;
 import java.awt.Color;
@@ -86,6 +87,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
     public static final  String            CMD_POTENTIAL_CONTENT_SIZE_CHANGE = "Outline.ContentSizeMayHaveChanged";
     private static final int               DIVIDER_HIT_SLOP                  = 2;
     private static final int               AUTO_SCROLL_MARGIN                = 10;
+    private static final Metrics.Timer     PAINT_TIMER                       = Metrics.timer("outline.paint");
     private              OutlineModel      mModel;
     /** The header panel. */
     protected            OutlineHeader     mHeaderPanel;
@@ -170,6 +172,12 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         }
     }
 
+    /** Should be called when the criteria used by the {@link RowFilter} have changed. */
+    public void rowFilterChanged() {
+        mModel.invalidateRowFilter();
+        reapplyRowFilter();
+    }
+
     /** @return The underlying data model. */
     public OutlineModel getModel() {
         return mModel;
@@ -260,7 +268,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         boolean needHeightAdjust = false;
         for (int i = getFirstRowToDisplay(); i <= getLastRowToDisplay(); i++) {
             Row row = mModel.getRowAtIndex(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 int height = row.getHeight();
                 if (height == -1) {
                     height = row.getPreferredHeight(this, columns);
@@ -356,6 +364,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
 
     @Override
     protected void paintComponent(Graphics g) {
+        long       start = PAINT_TIMER.start();
         Scale      scale = Scale.get(this);
         int        one   = scale.scale(1);
         Graphics2D gc    = GraphicsUtilities.prepare(g);
@@ -373,7 +382,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
 
         for (int rowIndex = first; rowIndex <= last; rowIndex++) {
             Row row = mModel.getRowAtIndex(rowIndex);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(rowIndex)) {
                 bounds.height = row.getHeight();
                 if (bounds.y >= clip.y || bounds.y + bounds.height + (mDrawRowDividers ? one : 0) >= clip.y) {
                     if (bounds.y > clip.y + clip.height) {
@@ -438,6 +447,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
             gc.setColor(Colors.DROP_AREA);
             gc.draw(Geometry.inset(1, getRowBounds(dragTargetRow)));
         }
+        PAINT_TIMER.stop(start);
     }
 
     private void drawBackground(Graphics2D gc) {
@@ -458,7 +468,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
 
         for (int rowIndex = first; rowIndex <= last; rowIndex++) {
             Row row = mModel.getRowAtIndex(rowIndex);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(rowIndex)) {
                 bounds.height = row.getHeight();
                 if (bounds.y >= clip.y || bounds.y + bounds.height + (mDrawRowDividers ? one : 0) >= clip.y) {
                     if (bounds.y > clip.y + clip.height) {
@@ -595,7 +605,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         List<Column> columns = mModel.getColumns();
         for (int i = getFirstRowToDisplay(); i <= last; i++) {
             Row row = mModel.getRowAtIndex(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 int height = row.getHeight();
                 if (height == -1) {
                     height = row.getPreferredHeight(this, columns);
@@ -657,7 +667,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
                             if (--rowIndex <= first) {
                                 break;
                             }
-                        } while (mModel.isRowFiltered(rows.get(rowIndex)));
+                        } while (mModel.isRowFiltered(rowIndex));
                         if (rowIndex >= first) {
                             return y - getRowIndexStart(rowIndex);
                         }
@@ -906,7 +916,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
 
         for (int i = getFirstRowToDisplay(); i <= last; i++) {
             Row row = mModel.getRowAtIndex(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 bounds.height = row.getHeight();
                 if (maxY < bounds.y) {
                     break;
@@ -940,7 +950,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         int       last = getLastRowToDisplay();
         for (int i = getFirstRowToDisplay(); i <= last; i++) {
             Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 pos += row.getHeight() + (mDrawRowDividers ? one : 0);
                 if (y < pos) {
                     return row;
@@ -963,7 +973,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         int       last = getLastRowToDisplay();
         for (int i = getFirstRowToDisplay(); i <= last; i++) {
             Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 pos += row.getHeight() + (mDrawRowDividers ? one : 0);
                 if (y < pos) {
                     return i;
@@ -984,7 +994,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         int       last = getLastRowToDisplay();
         for (int i = getFirstRowToDisplay(); i <= last; i++) {
             Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 int height = row.getHeight();
                 int tmp    = pos + height / 2;
                 if (y <= tmp) {
@@ -1006,7 +1016,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         int       pos  = getInsets().top;
         for (int i = getFirstRowToDisplay(); i < index; i++) {
             Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 pos += row.getHeight() + (mDrawRowDividers ? one : 0);
             }
         }
@@ -1027,7 +1037,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
             if (row == oneRow) {
                 break;
             }
-            if (!mModel.isRowFiltered(oneRow)) {
+            if (!mModel.isRowFiltered(i)) {
                 pos += oneRow.getHeight() + (mDrawRowDividers ? one : 0);
             }
         }
@@ -1490,7 +1500,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
                         OutlineModel model  = getModel();
                         RowFilter    filter = model.getRowFilter();
                         if (filter != null) {
-                            while (filter.isRowFiltered(model.getRowAtIndex(index))) {
+                            while (model.isRowFiltered(index)) {
                                 int last = index;
                                 index = selection.selectUp(shiftDown);
                                 if (index == last || index == -1) {
@@ -1508,7 +1518,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
                         OutlineModel model  = getModel();
                         RowFilter    filter = model.getRowFilter();
                         if (filter != null) {
-                            while (filter.isRowFiltered(model.getRowAtIndex(index))) {
+                            while (model.isRowFiltered(index)) {
                                 int last = index;
                                 index = selection.selectDown(shiftDown);
                                 if (index == last || index == -1) {
@@ -1540,7 +1550,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
             RowFilter filter = model.getRowFilter();
             if (filter != null) {
                 int i = 0;
-                while (i < count && filter.isRowFiltered(model.getRowAtIndex(i))) {
+                while (i < count && model.isRowFiltered(i)) {
                     i++;
                 }
                 if (i == count) {
@@ -1571,7 +1581,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
             RowFilter filter = model.getRowFilter();
             if (filter != null) {
                 int i = count - 1;
-                while (i >= 0 && filter.isRowFiltered(model.getRowAtIndex(i))) {
+                while (i >= 0 && model.isRowFiltered(i)) {
                     i--;
                 }
                 if (i < 0) {
@@ -2125,7 +2135,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
 
         for (int i = getFirstRowToDisplay(); i <= last; i++) {
             row = mModel.getRowAtIndex(i);
-            if (!mModel.isRowFiltered(row)) {
+            if (!mModel.isRowFiltered(i)) {
                 int height = row.getHeight();
                 if (pt.y <= y + height / 2) {
                     if (!isFromSelf || !mModel.isExtendedRowSelected(i) || i != 0 && !mModel.isExtendedRowSelected(i - 1)) {
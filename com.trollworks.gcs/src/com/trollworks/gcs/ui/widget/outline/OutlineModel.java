@@ -17,6 +17,7 @@ import com.trollworks.gcs.utility.text.Numbers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -50,6 +51,9 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     private              int                        mDisclosureSize;
     private              int                        mHierarchyColumnID;
     private              RowFilter                  mRowFilter;
+    private              BitSet                     mFilteredRows;
+    private              Row[]                      mFilteredRowsSource;
+    private              RowSearchIndex             mSearchIndex;
     private              Map<String, Object>        mProperties;
 
     /** Creates a new model. */
@@ -99,6 +103,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     }
 
     private void notifyOfRowAdditions(Row[] rows) {
+        mSearchIndex = null;
         for (OutlineModelListener listener : getCurrentListeners()) {
             listener.rowsAdded(this, rows);
         }
@@ -123,6 +128,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     }
 
     private void notifyOfSort() {
+        mSearchIndex = null;
         for (OutlineModelListener listener : getCurrentListeners()) {
             listener.sorted(this);
         }
@@ -135,6 +141,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     }
 
     private void notifyOfRowsWereRemoved(Row[] rows) {
+        mSearchIndex = null;
         for (OutlineModelListener listener : getCurrentListeners()) {
             listener.rowsWereRemoved(this, rows);
         }
@@ -157,6 +164,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     }
 
     private void notifyOfUndoDidHappen() {
+        mSearchIndex = null;
         for (OutlineModelListener listener : getCurrentListeners()) {
             listener.undoDidHappen(this);
         }
@@ -300,18 +308,37 @@ public class OutlineModel implements SelectionOwner, StateEditable {
             list.add(row);
             row.setOwner(this);
         }
-        preserveSelection();
-        mRows.addAll(index, list);
-        mSelection.setSize(mRows.size());
-        restoreSelection();
-        notifyOfRowAdditions(list.toArray(new Row[0]));
+        insertRows(index, list);
+        clearSort();
+    }
+
+    /**
+     * Adds the specified rows, along with the children of any open rows, issuing a single
+     * notification for the whole batch. This is much cheaper than calling {@link #addRow(int, Row,
+     * boolean)} for each row when adding a large number of rows at once.
+     *
+     * @param index The index to add the rows at.
+     * @param rows  The top-level rows to add.
+     */
+    public void addRows(int index, List<? extends Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        ArrayList<Row> list = new ArrayList<>();
+        for (Row row : rows) {
+            collectRowsAndSetOwner(list, row, false);
+        }
+        insertRows(index, list);
         clearSort();
     }
 
     private void addChildren(Row row) {
-        List<Row> list = collectRowsAndSetOwner(new ArrayList<>(), row, true);
+        insertRows(getIndexOfRow(row) + 1, collectRowsAndSetOwner(new ArrayList<>(), row, true));
+    }
+
+    private void insertRows(int index, List<Row> list) {
         preserveSelection();
-        mRows.addAll(getIndexOfRow(row) + 1, list);
+        mRows.addAll(index, list);
         mSelection.setSize(mRows.size());
         restoreSelection();
         notifyOfRowAdditions(list.toArray(new Row[0]));
@@ -1109,6 +1136,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     /** @param filter The {@link RowFilter} to use. */
     public void setRowFilter(RowFilter filter) {
         mRowFilter = filter;
+        invalidateRowFilter();
     }
 
     /**
@@ -1122,14 +1150,91 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         return false;
     }
 
+    /**
+     * @param index The index of the {@link Row} to check.
+     * @return Whether the {@link Row} at the index should be filtered from view. The results of
+     *         the {@link RowFilter} are computed once for all rows and retained until the filter is
+     *         reapplied or the set of rows changes.
+     */
+    public boolean isRowFiltered(int index) {
+        if (mRowFilter == null) {
+            return false;
+        }
+        if (mFilteredRowsSource == null || mFilteredRowsSource.length != mRows.size() || mFilteredRowsSource[index] != mRows.get(index)) {
+            mFilteredRowsSource = mRows.toArray(new Row[0]);
+            mFilteredRows = new BitSet(mFilteredRowsSource.length);
+            for (int i = 0; i < mFilteredRowsSource.length; i++) {
+                if (mRowFilter.isRowFiltered(mFilteredRowsSource[i])) {
+                    mFilteredRows.set(i);
+                }
+            }
+        }
+        return mFilteredRows.get(index);
+    }
+
+    /**
+     * Discards the retained results of the {@link RowFilter}, causing them to be recomputed the
+     * next time they are needed.
+     */
+    public void invalidateRowFilter() {
+        mFilteredRows = null;
+        mFilteredRowsSource = null;
+    }
+
+    /**
+     * Searches all {@link ListRow}s in this model, disclosed or not, using a trigram index that is
+     * rebuilt only when the rows or their search keys change.
+     *
+     * @param text The lowercase text to search for.
+     * @return The rows containing the text, in the same order as a {@link RowIterator} would
+     *         return them.
+     */
+    public List<ListRow> searchRows(String text) {
+        return getSearchIndex().search(text);
+    }
+
+    /**
+     * Must be called on the UI thread.
+     *
+     * @return A {@link RowSearchIndex} of the current rows. It does not change as the model does,
+     *         and so may be searched from any thread.
+     */
+    public RowSearchIndex getSearchIndex() {
+        RowSearchIndex index = mSearchIndex;
+        if (index == null) {
+            List<ListRow> rows = new ArrayList<>();
+            for (Row row : new RowIterator<>(this)) {
+                if (row instanceof ListRow listRow) {
+                    rows.add(listRow);
+                }
+            }
+            ListRow[] rowArray = rows.toArray(new ListRow[0]);
+            String[]  keys     = new String[rowArray.length];
+            for (int i = 0; i < rowArray.length; i++) {
+                keys[i] = rowArray[i].getSearchKey();
+            }
+            index = new RowSearchIndex(rowArray, keys);
+            mSearchIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Discards the {@link RowSearchIndex}, causing it to be rebuilt the next time it is needed.
+     * Rows call this when their children or searchable text change.
+     */
+    public void invalidateSearchIndex() {
+        mSearchIndex = null;
+    }
+
     /** Causes the {@link RowFilter} to be re-applied to the selection. */
     public void reapplyRowFilter() {
         if (mRowFilter != null) {
             List<Row> list  = new ArrayList<>(mSelection.getCount());
             int       index = mSelection.firstSelectedIndex();
             while (index != -1) {
-                Row row = getRowAtIndex(index);
-                if (mRowFilter.isRowFiltered(row)) {
+                if (isRowFiltered(index)) {
+                    Row row = getRowAtIndex(index);
                     list.add(row);
                 }
                 index = mSelection.nextSelectedIndex(index + 1);
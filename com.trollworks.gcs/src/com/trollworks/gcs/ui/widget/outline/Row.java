@@ -55,6 +55,16 @@ public abstract class Row {
                 child.mParent = this;
             }
         }
+        undoSnapshotWasApplied();
+    }
+
+    /**
+     * Called after an undo snapshot has restored this row's parent and children directly, rather
+     * than through {@link #addChild(Row)}, {@link #insertChild(int, Row)} and {@link
+     * #removeChild(Row)}.
+     */
+    protected void undoSnapshotWasApplied() {
+        // Does nothing by default
     }
 
     /** @param owner The owning model. */
@@ -240,6 +250,7 @@ public abstract class Row {
             }
             mChildren.add(index, row);
             row.mParent = this;
+            invalidateOwnerSearchIndex();
         }
     }
 
@@ -254,6 +265,7 @@ public abstract class Row {
             row.removeFromParent();
             mChildren.add(row);
             row.mParent = this;
+            invalidateOwnerSearchIndex();
             return true;
         }
         return false;
@@ -268,6 +280,14 @@ public abstract class Row {
         if (row.isChildOf(this)) {
             mChildren.remove(row);
             row.mParent = null;
+            invalidateOwnerSearchIndex();
+        }
+    }
+
+    /** Discards the search index of the owning model, if any. */
+    protected void invalidateOwnerSearchIndex() {
+        if (mOwner != null) {
+            mOwner.invalidateSearchIndex();
         }
     }
 
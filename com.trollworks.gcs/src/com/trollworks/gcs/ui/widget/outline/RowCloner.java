@@ -0,0 +1,134 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget.outline;
+
+import com.trollworks.gcs.datafile.DataFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Deep clones forests of {@link ListRow}s. Large runs of rows that report {@link
+ * ListRow#canCloneConcurrently()} are split across the common fork-join pool, with the cloned rows
+ * reattached to their parents in their original order, so the result is the same as calling {@link
+ * ListRow#cloneRow(DataFile, boolean, boolean)} on each row.
+ */
+public final class RowCloner {
+    /** Runs of rows with no more than this many rows in total are cloned on a single thread. */
+    private static final int SERIAL_LIMIT = 64;
+
+    private RowCloner() {
+    }
+
+    /**
+     * Deep clones the rows, splitting the work across threads where possible. The source rows must
+     * not be modified while this call is in progress.
+     *
+     * @param dataFile The {@link DataFile} the new rows should be owned by.
+     * @param rows     The rows to clone.
+     * @param forSheet {@code true} if this is for a character sheet.
+     * @return The newly created rows, in the same order as the source rows.
+     */
+    public static List<ListRow> cloneRows(DataFile dataFile, List<? extends Row> rows, boolean forSheet) {
+        return new CloneTask(dataFile, rows, 0, rows.size(), forSheet).invoke();
+    }
+
+    /**
+     * Deep clones the rows on the calling thread.
+     *
+     * @param dataFile The {@link DataFile} the new rows should be owned by.
+     * @param rows     The rows to clone.
+     * @param forSheet {@code true} if this is for a character sheet.
+     * @return The newly created rows, in the same order as the source rows.
+     */
+    public static List<ListRow> cloneRowsSerially(DataFile dataFile, List<? extends Row> rows, boolean forSheet) {
+        return cloneRowsSerially(dataFile, rows, 0, rows.size(), forSheet);
+    }
+
+    private static List<ListRow> cloneRowsSerially(DataFile dataFile, List<? extends Row> rows, int from, int to, boolean forSheet) {
+        List<ListRow> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(((ListRow) rows.get(i)).cloneRow(dataFile, true, forSheet));
+        }
+        return result;
+    }
+
+    private static boolean shouldSplit(List<? extends Row> rows, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!((ListRow) rows.get(i)).canCloneConcurrently()) {
+                return false;
+            }
+        }
+        int count = 0;
+        for (int i = from; i < to && count <= SERIAL_LIMIT; i++) {
+            count += countUpTo(rows.get(i), SERIAL_LIMIT + 1 - count);
+        }
+        return count > SERIAL_LIMIT;
+    }
+
+    private static int countUpTo(Row row, int limit) {
+        int count = 1;
+        if (row.hasChildren()) {
+            for (Row child : row.getChildList()) {
+                if (count >= limit) {
+                    break;
+                }
+                count += countUpTo(child, limit - count);
+            }
+        }
+        return count;
+    }
+
+    /** Clones a run of sibling rows. */
+    private static final class CloneTask extends RecursiveTask<List<ListRow>> {
+        private DataFile            mDataFile;
+        private List<? extends Row> mRows;
+        private int                 mFrom;
+        private int                 mTo;
+        private boolean             mForSheet;
+
+        CloneTask(DataFile dataFile, List<? extends Row> rows, int from, int to, boolean forSheet) {
+            mDataFile = dataFile;
+            mRows = rows;
+            mFrom = from;
+            mTo = to;
+            mForSheet = forSheet;
+        }
+
+        @Override
+        protected List<ListRow> compute() {
+            if (!shouldSplit(mRows, mFrom, mTo)) {
+                return cloneRowsSerially(mDataFile, mRows, mFrom, mTo, mForSheet);
+            }
+            if (mTo - mFrom > 1) {
+                int       middle = (mFrom + mTo) >>> 1;
+                CloneTask first  = new CloneTask(mDataFile, mRows, mFrom, middle, mForSheet);
+                CloneTask second = new CloneTask(mDataFile, mRows, middle, mTo, mForSheet);
+                invokeAll(first, second);
+                List<ListRow> result = first.join();
+                result.addAll(second.join());
+                return result;
+            }
+            // A single large row: clone it alone, then clone its children as their own run
+            ListRow   source   = (ListRow) mRows.get(mFrom);
+            ListRow   clone    = source.cloneRow(mDataFile, false, mForSheet);
+            List<Row> children = source.getChildList();
+            for (ListRow child : new CloneTask(mDataFile, children, 0, children.size(), mForSheet).invoke()) {
+                clone.addChild(child);
+            }
+            List<ListRow> result = new ArrayList<>(1);
+            result.add(clone);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget.outline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A trigram index over the search keys of the {@link ListRow}s in an {@link OutlineModel}, so that
+ * substring queries only need to examine rows that contain every trigram of the query. The index
+ * captures the rows and their keys at creation time and builds its trigram table on first use, so
+ * it may be created cheaply on the UI thread and then searched from any thread.
+ */
+public final class RowSearchIndex {
+    private static final int[]            EMPTY = new int[0];
+    private              ListRow[]        mRows;
+    private              String[]         mKeys;
+    private              Map<Long, int[]> mPostings;
+
+    RowSearchIndex(ListRow[] rows, String[] keys) {
+        mRows = rows;
+        mKeys = keys;
+    }
+
+    private synchronized Map<Long, int[]> getPostings() {
+        if (mPostings != null) {
+            return mPostings;
+        }
+        String[]            keys     = mKeys;
+        Map<Long, Postings> building = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            String key    = keys[i];
+            int    length = key.length();
+            for (int j = 0; j + 2 < length; j++) {
+                long trigram = trigram(key, j);
+                if (trigram != -1) {
+                    building.computeIfAbsent(Long.valueOf(trigram), k -> new Postings()).add(i);
+                }
+            }
+        }
+        mPostings = new HashMap<>(building.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, Postings> entry : building.entrySet()) {
+            mPostings.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return mPostings;
+    }
+
+    private static long trigram(String text, int index) {
+        char c0 = text.charAt(index);
+        char c1 = text.charAt(index + 1);
+        char c2 = text.charAt(index + 2);
+        if (c0 == '\n' || c1 == '\n' || c2 == '\n') {
+            return -1;
+        }
+        return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+    }
+
+    /**
+     * @param text The lowercase text to search for.
+     * @return The rows whose search keys contain the text, in model order.
+     */
+    public List<ListRow> search(String text) {
+        List<ListRow> result = new ArrayList<>();
+        int           length = text.length();
+        if (length < 3) {
+            for (int i = 0; i < mKeys.length; i++) {
+                if (mKeys[i].contains(text)) {
+                    result.add(mRows[i]);
+                }
+            }
+            return result;
+        }
+        Map<Long, int[]> allPostings = getPostings();
+        int[][]          lists       = new int[length - 2][];
+        for (int i = 0; i + 2 < length; i++) {
+            long  trigram  = trigram(text, i);
+            int[] postings = trigram == -1 ? null : allPostings.get(Long.valueOf(trigram));
+            if (postings == null) {
+                return result;
+            }
+            lists[i] = postings;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists[i]);
+        }
+        for (int candidate : candidates) {
+            if (mKeys[candidate].contains(text)) {
+                result.add(mRows[candidate]);
+            }
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        if (left == right) {
+            return left;
+        }
+        int[] out   = new int[Math.min(left.length, right.length)];
+        int   count = 0;
+        int   i     = 0;
+        int   j     = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                out[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return count == 0 ? EMPTY : Arrays.copyOf(out, count);
+    }
+
+    /** A growable, sorted list of row indexes without duplicates. */
+    private static final class Postings {
+        private int[] mIndexes = new int[4];
+        private int   mCount;
+
+        void add(int index) {
+            if (mCount > 0 && mIndexes[mCount - 1] == index) {
+                return;
+            }
+            if (mCount == mIndexes.length) {
+                mIndexes = Arrays.copyOf(mIndexes, mCount * 2);
+            }
+            mIndexes[mCount++] = index;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(mIndexes, mCount);
+        }
+    }
+}
@@ -11,17 +11,39 @@
 
 package com.trollworks.gcs.ui.widget.outline;
 
+import com.trollworks.gcs.utility.SaveType;
+import com.trollworks.gcs.utility.json.JsonWriter;
+
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
-/** Allows rows to be part of drag and drop operations internal to the JVM. */
+/**
+ * Allows rows to be part of drag and drop and clipboard operations. Only the rows and the columns
+ * visible at the time are captured when the selection is created. The text and JSON forms are
+ * built the first time their flavor is requested and reused after that, so a drag that never asks
+ * for them costs nothing extra.
+ */
 public class RowSelection implements Transferable {
     /** The data flavor for this class. */
-    public static final DataFlavor   DATA_FLAVOR = new DataFlavor(RowSelection.class, "Outline Rows");
-    private             OutlineModel mModel;
-    private             Row[]        mRows;
-    private             String       mCache;
+    public static final DataFlavor DATA_FLAVOR   = new DataFlavor(RowSelection.class, "Outline Rows");
+    /** The data flavor for the text form of the rows, delivered as a {@link Reader}. */
+    public static final DataFlavor READER_FLAVOR = new DataFlavor("text/plain;class=java.io.Reader", "Plain Text");
+    /** The data flavor for the rows in their saved JSON form, as a {@link String}. */
+    public static final DataFlavor JSON_FLAVOR   = new DataFlavor("application/x-gcs-rows+json;class=java.lang.String", "GCS Rows");
+    private             Row[]      mRows;
+    private             Column[]   mColumns;
+    private             String     mText;
+    private             String     mJSON;
 
     /**
      * Creates a new transferable row object.
@@ -30,54 +52,87 @@ public class RowSelection implements Transferable {
      * @param rows  The rows to transfer.
      */
     public RowSelection(OutlineModel model, Row[] rows) {
-        mModel = model;
         mRows = new Row[rows.length];
         System.arraycopy(rows, 0, mRows, 0, rows.length);
+        List<Column> columns = new ArrayList<>();
+        int          count   = model.getColumnCount();
+        for (int i = 0; i < count; i++) {
+            Column column = model.getColumnAtIndex(i);
+            if (column.isVisible()) {
+                columns.add(column);
+            }
+        }
+        mColumns = columns.toArray(new Column[0]);
+    }
+
+    private synchronized String getText() {
+        if (mText == null) {
+            StringBuilder buffer = new StringBuilder();
+            for (Row row : mRows) {
+                for (int i = 0; i < mColumns.length; i++) {
+                    if (i != 0) {
+                        buffer.append('\t');
+                    }
+                    buffer.append(row.getDataAsText(mColumns[i]));
+                }
+                buffer.append('\n');
+            }
+            mText = buffer.toString();
+        }
+        return mText;
+    }
+
+    private synchronized String getJSON() throws IOException {
+        if (mJSON == null) {
+            Set<Row> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+            Collections.addAll(selected, mRows);
+            StringWriter writer = new StringWriter();
+            try (JsonWriter w = new JsonWriter(writer, "")) {
+                w.startArray();
+                for (Row row : mRows) {
+                    if (row instanceof ListRow listRow && !hasAncestorIn(row, selected)) {
+                        listRow.save(w, SaveType.NORMAL);
+                    }
+                }
+                w.endArray();
+            }
+            mJSON = writer.toString();
+        }
+        return mJSON;
+    }
+
+    private static boolean hasAncestorIn(Row row, Set<Row> rows) {
+        for (Row parent = row.getParent(); parent != null; parent = parent.getParent()) {
+            if (rows.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public DataFlavor[] getTransferDataFlavors() {
-        return new DataFlavor[]{DATA_FLAVOR, DataFlavor.stringFlavor};
+        return new DataFlavor[]{DATA_FLAVOR, JSON_FLAVOR, READER_FLAVOR, DataFlavor.stringFlavor};
     }
 
     @Override
     public boolean isDataFlavorSupported(DataFlavor flavor) {
-        return DATA_FLAVOR.equals(flavor) || DataFlavor.stringFlavor.equals(flavor);
+        return DATA_FLAVOR.equals(flavor) || JSON_FLAVOR.equals(flavor) || READER_FLAVOR.equals(flavor) || DataFlavor.stringFlavor.equals(flavor);
     }
 
     @Override
-    public Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException {
+    public Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException, IOException {
         if (DATA_FLAVOR.equals(flavor)) {
             return mRows;
         }
+        if (JSON_FLAVOR.equals(flavor)) {
+            return getJSON();
+        }
+        if (READER_FLAVOR.equals(flavor)) {
+            return new StringReader(getText());
+        }
         if (DataFlavor.stringFlavor.equals(flavor)) {
-            if (mCache == null) {
-                StringBuilder buffer = new StringBuilder();
-
-                if (mRows.length > 0) {
-                    int count = mModel.getColumnCount();
-
-                    for (Row element : mRows) {
-                        boolean first = true;
-
-                        for (int j = 0; j < count; j++) {
-                            Column column = mModel.getColumnAtIndex(j);
-
-                            if (column.isVisible()) {
-                                if (first) {
-                                    first = false;
-                                } else {
-                                    buffer.append('\t');
-                                }
-                                buffer.append(element.getDataAsText(column));
-                            }
-                        }
-                        buffer.append('\n');
-                    }
-                }
-                mCache = buffer.toString();
-            }
-            return mCache;
+            return getText();
         }
         throw new UnsupportedFlavorException(flavor);
     }
@@ -11,14 +11,21 @@
 
 package com.trollworks.gcs.ui.widget.outline;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
 /** Sorts rows by the sort sequence specified in the associated columns. */
 public final class RowSorter implements Comparator<Row> {
-    private Column[] mSortingOrder;
+    private static final int      PARALLEL_THRESHOLD = 5000;
+    private              Column[] mSortingOrder;
+    private              Column[] mActiveColumns;
+    private              Cell[]   mActiveCells;
 
     private RowSorter(List<Column> columns) {
         int      count = columns.size();
@@ -55,6 +62,17 @@ public final class RowSorter implements Comparator<Row> {
                 }
             }
         }
+
+        // Comparison stops at the first empty slot, so only the columns before it matter
+        int active = 0;
+        while (active < count && mSortingOrder[active] != null) {
+            active++;
+        }
+        mActiveColumns = Arrays.copyOf(mSortingOrder, active);
+        mActiveCells = new Cell[active];
+        for (i = 0; i < active; i++) {
+            mActiveCells[i] = mActiveColumns[i].getRowCell(null);
+        }
     }
 
     /**
@@ -68,7 +86,9 @@ public final class RowSorter implements Comparator<Row> {
     }
 
     /**
-     * Used to sort an outline.
+     * Used to sort an outline. The sort key of each row is extracted once, then each list of
+     * siblings is sorted independently. When there are many rows, the child lists of containers
+     * are sorted in parallel.
      *
      * @param columns  The columns in the {@link Outline}.
      * @param rows     The rows in the {@link Outline}.
@@ -78,20 +98,139 @@ public final class RowSorter implements Comparator<Row> {
         for (Column column : columns) {
             if (column.getSortSequence() != -1) {
                 RowSorter rowSorter = new RowSorter(columns);
-
-                rows.sort(rowSorter);
+                Set<Row>  present   = Collections.newSetFromMap(new IdentityHashMap<>());
+                present.addAll(rows);
+                List<Row> roots      = new ArrayList<>();
+                Row       rootParent = null;
+                for (Row row : rows) {
+                    Row parent = row.getParent();
+                    if (parent == null || !present.contains(parent)) {
+                        if (roots.isEmpty()) {
+                            rootParent = parent;
+                        } else if (parent != rootParent) {
+                            // The rows don't form a simple forest, so fall back to the general
+                            // comparison, which knows how to deal with that.
+                            rowSorter.sortByComparison(rows, internal);
+                            return;
+                        }
+                        roots.add(row);
+                    }
+                }
                 if (internal) {
+                    List<List<Row>> childLists = new ArrayList<>();
                     for (Row row : collectContainerRows(rows, new HashSet<>())) {
                         if (row.hasChildren()) {
-                            row.getChildList().sort(rowSorter);
+                            childLists.add(row.getChildList());
                         }
                     }
+                    List<Keyed[]> keyed = new ArrayList<>(childLists.size());
+                    int           total = 0;
+                    for (List<Row> list : childLists) {
+                        keyed.add(rowSorter.extractKeys(list));
+                        total += list.size();
+                    }
+                    if (total >= PARALLEL_THRESHOLD) {
+                        keyed.parallelStream().forEach(rowSorter::sortKeyed);
+                    } else {
+                        keyed.forEach(rowSorter::sortKeyed);
+                    }
+                    for (int i = 0; i < childLists.size(); i++) {
+                        replaceContents(childLists.get(i), keyed.get(i));
+                    }
+                }
+                rowSorter.sortSiblings(roots);
+                rows.clear();
+                for (Row root : roots) {
+                    rowSorter.addInOrder(root, present, internal, rows);
                 }
                 return;
             }
         }
     }
 
+    private void sortByComparison(List<Row> rows, boolean internal) {
+        rows.sort(this);
+        if (internal) {
+            for (Row row : collectContainerRows(rows, new HashSet<>())) {
+                if (row.hasChildren()) {
+                    row.getChildList().sort(this);
+                }
+            }
+        }
+    }
+
+    private void addInOrder(Row row, Set<Row> present, boolean internal, List<Row> out) {
+        out.add(row);
+        if (row.hasChildren()) {
+            List<Row> children = new ArrayList<>();
+            for (Row child : row.getChildList()) {
+                if (present.contains(child)) {
+                    children.add(child);
+                }
+            }
+            if (!internal) {
+                // The child storage wasn't sorted, so the visible children need to be
+                sortSiblings(children);
+            }
+            for (Row child : children) {
+                addInOrder(child, present, internal, out);
+            }
+        }
+    }
+
+    private void sortSiblings(List<Row> siblings) {
+        if (siblings.size() > 1) {
+            Keyed[] keyed = extractKeys(siblings);
+            sortKeyed(keyed);
+            replaceContents(siblings, keyed);
+        }
+    }
+
+    private Keyed[] extractKeys(List<Row> rows) {
+        Keyed[] keyed = new Keyed[rows.size()];
+        for (int i = 0; i < keyed.length; i++) {
+            Row      row  = rows.get(i);
+            Object[] keys = new Object[mActiveColumns.length];
+            for (int j = 0; j < keys.length; j++) {
+                keys[j] = mActiveCells[j].getSortKey(mActiveColumns[j], row);
+            }
+            keyed[i] = new Keyed(row, keys);
+        }
+        return keyed;
+    }
+
+    private void sortKeyed(Keyed[] keyed) {
+        Arrays.sort(keyed, this::compareKeyed);
+    }
+
+    private int compareKeyed(Keyed one, Keyed two) {
+        for (int i = 0; i < mActiveColumns.length; i++) {
+            Column column = mActiveColumns[i];
+            int    result = mActiveCells[i].compareSortKeys(column, one.mKeys[i], two.mKeys[i]);
+            if (result != 0) {
+                return column.isSortAscending() ? result : -result;
+            }
+        }
+        return 0;
+    }
+
+    private static void replaceContents(List<Row> list, Keyed[] keyed) {
+        for (int i = 0; i < keyed.length; i++) {
+            list.set(i, keyed[i].mRow);
+        }
+    }
+
+    /** A row along with the sort keys extracted from it. */
+    private static final class Keyed {
+        private Row      mRow;
+        private Object[] mKeys;
+
+        Keyed(Row row, Object[] keys) {
+            mRow = row;
+            mKeys = keys;
+        }
+    }
+
     /**
      * Collects all container rows from the passed in rows and their children.
      *
@@ -71,6 +71,39 @@ public class TextCell implements Cell {
         return NumericComparator.caselessCompareStrings(one.getDataAsText(column), two.getDataAsText(column));
     }
 
+    @Override
+    public Object getSortKey(Column column, Row row) {
+        return new SortKey(column, row);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int compareSortKeys(Column column, Object one, Object two) {
+        SortKey oneKey = (SortKey) one;
+        SortKey twoKey = (SortKey) two;
+        Object  oneObj = oneKey.mData;
+        Object  twoObj = twoKey.mData;
+        if (!(oneObj instanceof String) && oneObj.getClass() == twoObj.getClass() && oneObj instanceof Comparable<?>) {
+            return ((Comparable<Object>) oneObj).compareTo(twoObj);
+        }
+        return NumericComparator.caselessCompareStrings(oneKey.mText, twoKey.mText);
+    }
+
+    /**
+     * The data a {@link TextCell} sorts by, extracted from a row. The text is captured up front as
+     * well, since it is needed whenever two keys don't hold the same comparable type and sorting
+     * may be spread across threads.
+     */
+    private static final class SortKey {
+        private final Object mData;
+        private final String mText;
+
+        SortKey(Column column, Row row) {
+            mData = row.getData(column);
+            mText = row.getDataAsText(column);
+        }
+    }
+
     /**
      * @param outline  The outline.
      * @param row      The row.
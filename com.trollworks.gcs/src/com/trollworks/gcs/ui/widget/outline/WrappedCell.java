@@ -67,6 +67,16 @@ public class WrappedCell implements Cell {
         return NumericComparator.caselessCompareStrings(one.getDataAsText(column), two.getDataAsText(column));
     }
 
+    @Override
+    public Object getSortKey(Column column, Row row) {
+        return row.getDataAsText(column);
+    }
+
+    @Override
+    public int compareSortKeys(Column column, Object one, Object two) {
+        return NumericComparator.caselessCompareStrings((String) one, (String) two);
+    }
+
     @Override
     public Cursor getCursor(MouseEvent event, Rectangle bounds, Row row, Column column) {
         return Cursor.getDefaultCursor();
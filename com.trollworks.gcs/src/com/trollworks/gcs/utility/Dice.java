@@ -14,6 +14,7 @@ package com.trollworks.gcs.utility;
 import com.trollworks.gcs.settings.Settings;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /** Simulates dice. */
 public class Dice implements Cloneable {
@@ -260,7 +261,7 @@ public class Dice implements Cloneable {
 
     /** @return The result of rolling the dice. */
     public int roll(boolean convertModifiersToExtraDice) {
-        return roll(RANDOM, convertModifiersToExtraDice);
+        return roll(ThreadLocalRandom.current(), convertModifiersToExtraDice);
     }
 
     /**
@@ -37,59 +37,173 @@ public class Fixed6 implements Comparable<Fixed6> {
     }
 
     public Fixed6(String in, boolean localized) throws NumberFormatException {
+        mRawValue = parseRaw(in, localized);
+    }
+
+    public Fixed6(String in, Fixed6 def, boolean localized) {
+        try {
+            mRawValue = new Fixed6(in, localized).mRawValue;
+        } catch (Exception exception) {
+            mRawValue = def.mRawValue;
+        }
+    }
+
+    /**
+     * @param rawValue A raw value, as returned by {@link #getRawValue()}.
+     * @return A new Fixed6 holding the raw value.
+     */
+    public static Fixed6 fromRaw(long rawValue) {
+        if (rawValue == 0) {
+            return ZERO;
+        }
+        return new Fixed6(rawValue, true);
+    }
+
+    /**
+     * @return The underlying value, scaled by 10^6. Hot loops can operate on these directly with
+     *         the raw helper methods and only create a Fixed6 for the final result.
+     */
+    public long getRawValue() {
+        return mRawValue;
+    }
+
+    /**
+     * @param value A whole number.
+     * @return The raw form of the value.
+     */
+    public static long rawFromLong(long value) {
+        return value * FACTOR;
+    }
+
+    /**
+     * @param left  A raw value.
+     * @param right A raw value.
+     * @return The raw result of multiplying the two values.
+     */
+    public static long rawMul(long left, long right) {
+        long high = Math.multiplyHigh(left, right);
+        long low  = left * right;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low / FACTOR;
+        }
+        // Use BigInteger here to allow cases that would normally overflow in the intermediate
+        // stages to work
+        return BigInteger.valueOf(left).multiply(BigInteger.valueOf(right)).divide(BIG_FACTOR).longValue();
+    }
+
+    /**
+     * @param left  A raw value.
+     * @param right A raw value.
+     * @return The raw result of dividing the left value by the right value.
+     */
+    public static long rawDiv(long left, long right) {
+        long high = Math.multiplyHigh(left, FACTOR);
+        long low  = left * FACTOR;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low / right;
+        }
+        // Use BigInteger here to allow cases that would normally overflow in the intermediate
+        // stages to work
+        return BigInteger.valueOf(left).multiply(BIG_FACTOR).divide(BigInteger.valueOf(right)).longValue();
+    }
+
+    /**
+     * Parses text into a raw value in a single pass, without creating any intermediate strings.
+     * Grouping separators are ignored, as is a leading '+'. Digits beyond the sixth decimal place
+     * are truncated.
+     *
+     * @param in        The text to parse.
+     * @param localized {@code true} if the text might have localized notation within it.
+     * @return The raw value.
+     */
+    public static long parseRaw(String in, boolean localized) throws NumberFormatException {
         if (in == null || in.isBlank()) {
             throw new NumberFormatException("empty or null string is not valid");
         }
-        in = Numbers.normalizeNumber(in, localized);
-        if (localized) {
-            char decimal = Numbers.LOCALIZED_DECIMAL_SEPARATOR.charAt(0);
-            if (decimal != '.') {
-                in = in.replace(decimal, '.');
-            }
+        char grouping = localized ? Numbers.LOCALIZED_GROUPING_SEPARATOR.charAt(0) : ',';
+        char decimal  = localized ? Numbers.LOCALIZED_DECIMAL_SEPARATOR.charAt(0) : '.';
+        int  start    = skipIgnorable(in, 0, grouping);
+        int  end      = in.length();
+        while (end > start && isIgnorable(in.charAt(end - 1), grouping)) {
+            end--;
         }
-        if (in.contains("E") || in.contains("e")) {
-            // Given a floating-point value with an exponent, which technically isn't valid input,
-            // but we'll try to convert it anyway.
-            mRawValue = (long) (Double.parseDouble(in) * FACTOR);
-        } else {
-            boolean  neg   = false;
-            String[] parts = in.split("\\.", 2);
-            if (!parts[0].isBlank()) {
-                if ("-".equals(parts[0]) || "-0".equals(parts[0])) {
-                    neg = true;
-                } else {
-                    mRawValue = Long.parseLong(parts[0]) * FACTOR;
-                    if (mRawValue < 0) {
-                        neg = true;
-                        mRawValue = -mRawValue;
-                    }
+        if (start < end && in.charAt(start) == '+') {
+            start = skipIgnorable(in, start + 1, grouping);
+        }
+        for (int i = start; i < end; i++) {
+            char ch = in.charAt(i);
+            if (ch == 'e' || ch == 'E') {
+                // Given a floating-point value with an exponent, which technically isn't valid
+                // input, but we'll try to convert it anyway.
+                String str = Numbers.normalizeNumber(in, localized);
+                if (localized && decimal != '.') {
+                    str = str.replace(decimal, '.');
                 }
+                return (long) (Double.parseDouble(str) * FACTOR);
             }
-            if (parts.length > 1) {
-                StringBuilder buffer = new StringBuilder();
-                buffer.append('1');
-                buffer.append(parts[1]);
-                if (buffer.length() > 7) {
-                    buffer.setLength(7);
-                } else {
-                    while (buffer.length() < 7) {
-                        buffer.append('0');
-                    }
-                }
-                mRawValue += Long.parseLong(buffer.toString()) - FACTOR;
+        }
+        boolean neg       = false;
+        boolean hasDigits = false;
+        long    whole     = 0;
+        int     i         = start;
+        if (i < end) {
+            char ch = in.charAt(i);
+            if (ch == '-' || ch == '+') {
+                neg = ch == '-';
+                i++;
+            }
+        }
+        for (; i < end; i++) {
+            char ch = in.charAt(i);
+            if (ch == grouping) {
+                continue;
             }
-            if (neg) {
-                mRawValue = -mRawValue;
+            if (ch == decimal || (localized && ch == '.')) {
+                break;
             }
+            if (ch < '0' || ch > '9') {
+                throw new NumberFormatException("invalid number: " + in);
+            }
+            if (whole > (Long.MAX_VALUE - 9) / 10) {
+                throw new NumberFormatException("number out of range: " + in);
+            }
+            hasDigits = true;
+            whole = whole * 10 + (ch - '0');
+        }
+        if (!hasDigits && i > start && !neg) {
+            throw new NumberFormatException("invalid number: " + in);
         }
+        long fraction = 0;
+        if (i < end) {
+            int  digits    = 0;
+            long remaining = FACTOR;
+            for (i++; i < end && digits < 6; i++) {
+                char ch = in.charAt(i);
+                if (ch == grouping) {
+                    continue;
+                }
+                if (ch < '0' || ch > '9') {
+                    throw new NumberFormatException("invalid number: " + in);
+                }
+                remaining /= 10;
+                fraction += (ch - '0') * remaining;
+                digits++;
+            }
+        }
+        long value = whole * FACTOR + fraction;
+        return neg ? -value : value;
     }
 
-    public Fixed6(String in, Fixed6 def, boolean localized) {
-        try {
-            mRawValue = new Fixed6(in, localized).mRawValue;
-        } catch (Exception exception) {
-            mRawValue = def.mRawValue;
+    private static int skipIgnorable(String in, int start, char grouping) {
+        int length = in.length();
+        while (start < length && isIgnorable(in.charAt(start), grouping)) {
+            start++;
         }
+        return start;
+    }
+
+    private static boolean isIgnorable(char ch, char grouping) {
+        return ch <= ' ' || ch == grouping;
     }
 
     public Fixed6 add(Fixed6 other) {
@@ -101,15 +215,11 @@ public class Fixed6 implements Comparable<Fixed6> {
     }
 
     public Fixed6 mul(Fixed6 other) {
-        // Use BigInteger here to allow cases that would normally overflow in the intermediate
-        // stages to work
-        return new Fixed6(BigInteger.valueOf(mRawValue).multiply(BigInteger.valueOf(other.mRawValue)).divide(BIG_FACTOR).longValue(), true);
+        return new Fixed6(rawMul(mRawValue, other.mRawValue), true);
     }
 
     public Fixed6 div(Fixed6 other) {
-        // Use BigInteger here to allow cases that would normally overflow in the intermediate
-        // stages to work
-        return new Fixed6(BigInteger.valueOf(mRawValue).multiply(BIG_FACTOR).divide(BigInteger.valueOf(other.mRawValue)).longValue(), true);
+        return new Fixed6(rawDiv(mRawValue, other.mRawValue), true);
     }
 
     /** @return a new value which has everything to the right of the decimal place truncated */
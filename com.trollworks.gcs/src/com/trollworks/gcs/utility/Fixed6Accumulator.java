@@ -0,0 +1,102 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+/**
+ * A mutable running total of {@link Fixed6} values, for use in loops where creating a new Fixed6
+ * for every intermediate sum would be wasteful. Not thread-safe.
+ */
+public final class Fixed6Accumulator {
+    private long mRawValue;
+
+    /** Creates a new accumulator with a value of zero. */
+    public Fixed6Accumulator() {
+    }
+
+    /** @param initial The starting value. */
+    public Fixed6Accumulator(Fixed6 initial) {
+        mRawValue = initial.getRawValue();
+    }
+
+    /**
+     * @param value The value to add.
+     * @return This accumulator.
+     */
+    public Fixed6Accumulator add(Fixed6 value) {
+        mRawValue += value.getRawValue();
+        return this;
+    }
+
+    /**
+     * @param rawValue The raw value to add, as returned by {@link Fixed6#getRawValue()}.
+     * @return This accumulator.
+     */
+    public Fixed6Accumulator addRaw(long rawValue) {
+        mRawValue += rawValue;
+        return this;
+    }
+
+    /**
+     * @param value The value to subtract.
+     * @return This accumulator.
+     */
+    public Fixed6Accumulator sub(Fixed6 value) {
+        mRawValue -= value.getRawValue();
+        return this;
+    }
+
+    /**
+     * Adds the product of two values, without creating an intermediate Fixed6.
+     *
+     * @param value      The value.
+     * @param multiplier The amount to multiply the value by.
+     * @return This accumulator.
+     */
+    public Fixed6Accumulator addProduct(Fixed6 value, Fixed6 multiplier) {
+        mRawValue += Fixed6.rawMul(value.getRawValue(), multiplier.getRawValue());
+        return this;
+    }
+
+    /**
+     * @param multiplier The amount to multiply the current total by.
+     * @return This accumulator.
+     */
+    public Fixed6Accumulator mul(Fixed6 multiplier) {
+        mRawValue = Fixed6.rawMul(mRawValue, multiplier.getRawValue());
+        return this;
+    }
+
+    /** Resets the total to zero. */
+    public void reset() {
+        mRawValue = 0;
+    }
+
+    /** @return {@code true} if the total is zero. */
+    public boolean isZero() {
+        return mRawValue == 0;
+    }
+
+    /** @return The current total, in raw form. */
+    public long getRawValue() {
+        return mRawValue;
+    }
+
+    /** @return The current total. */
+    public Fixed6 toFixed6() {
+        return Fixed6.fromRaw(mRawValue);
+    }
+
+    @Override
+    public String toString() {
+        return toFixed6().toString();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+import com.trollworks.gcs.settings.Settings;
+import com.trollworks.gcs.utility.json.Json;
+import com.trollworks.gcs.utility.json.JsonMap;
+import com.trollworks.gcs.utility.json.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fetches the contents of URLs, keeping a copy of each response that carried an ETag on disk so
+ * that later fetches can be revalidated with {@code If-None-Match} rather than transferring the
+ * data again. The number of requests in flight to any one host at the same time is limited.
+ */
+public final class HttpCache {
+    /** The maximum number of concurrent requests to a single host the default cache will make. */
+    public static final  int                    DEFAULT_MAX_PER_HOST = 4;
+    private static final String                 KEY_URL              = "url";
+    private static final String                 KEY_ETAG             = "etag";
+    private static final String                 KEY_BODY             = "body";
+    private static       HttpCache              DEFAULT;
+    private              Path                   mDir;
+    private              int                    mMaxPerHost;
+    private              Map<String, Semaphore> mHostLimits          = new ConcurrentHashMap<>();
+
+    /** @return The cache used for requests made by the application. */
+    public static synchronized HttpCache getDefault() {
+        if (DEFAULT == null) {
+            DEFAULT = new HttpCache(Settings.getSupportPath("Cache"), DEFAULT_MAX_PER_HOST);
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * @param dir        The directory to store cached responses in.
+     * @param maxPerHost The maximum number of requests to a single host that may be in flight at
+     *                   the same time.
+     */
+    public HttpCache(Path dir, int maxPerHost) {
+        mDir = dir;
+        mMaxPerHost = Math.max(maxPerHost, 1);
+    }
+
+    /**
+     * Fetches the contents of a URL, revalidating any copy in the cache rather than downloading it
+     * again if the server reports it hasn't changed.
+     *
+     * @param url The URL to fetch.
+     * @return The contents of the URL.
+     */
+    public String fetch(URL url) throws IOException {
+        String    key     = url.toExternalForm();
+        Path      path    = mDir.resolve(fileNameFor(key));
+        JsonMap   cached  = readEntry(path, key);
+        String    etag    = cached != null ? cached.getString(KEY_ETAG) : "";
+        Semaphore limiter = mHostLimits.computeIfAbsent(url.getHost().toLowerCase(), k -> new Semaphore(mMaxPerHost));
+        try {
+            limiter.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException(exception);
+        }
+        try {
+            HttpURLConnection conn = (HttpURLConnection) UrlUtils.setupConnection(url, etag.isEmpty() ? Map.of() : Map.of("If-None-Match", etag));
+            try {
+                int code = conn.getResponseCode();
+                if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                    return cached.getString(KEY_BODY);
+                }
+                if (code != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("unexpected response " + code + " from " + key);
+                }
+                String body = readBody(conn);
+                String tag  = conn.getHeaderField("ETag");
+                if (tag != null && !tag.isBlank()) {
+                    writeEntry(path, key, tag, body);
+                } else if (cached != null) {
+                    Files.deleteIfExists(path);
+                }
+                return body;
+            } finally {
+                conn.disconnect();
+            }
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private static String readBody(URLConnection conn) throws IOException {
+        try (InputStream in = conn.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String fileNameFor(String key) {
+        try {
+            byte[]        digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder buffer = new StringBuilder(digest.length * 2 + 5);
+            for (byte b : digest) {
+                buffer.append(String.format("%02x", Integer.valueOf(b & 0xFF)));
+            }
+            buffer.append(".json");
+            return buffer.toString();
+        } catch (Exception exception) {
+            // SHA-256 is required to be present in every Java implementation
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static JsonMap readEntry(Path path, String key) {
+        if (Files.isRegularFile(path)) {
+            try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                JsonMap m = Json.asMap(Json.parse(in));
+                if (key.equals(m.getString(KEY_URL)) && !m.getString(KEY_ETAG).isEmpty() && m.has(KEY_BODY)) {
+                    return m;
+                }
+            } catch (Exception exception) {
+                Log.warn("discarding unreadable cache entry: " + path, exception);
+            }
+        }
+        return null;
+    }
+
+    private static void writeEntry(Path path, String key, String etag, String body) {
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = Files.createTempFile(path.getParent(), "entry", ".tmp");
+            try {
+                try (JsonWriter w = new JsonWriter(Files.newBufferedWriter(tmp, StandardCharsets.UTF_8), "\t")) {
+                    w.startMap();
+                    w.keyValue(KEY_URL, key);
+                    w.keyValue(KEY_ETAG, etag);
+                    w.keyValue(KEY_BODY, body);
+                    w.endMap();
+                }
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException exception) {
+            Log.warn("unable to update cache entry: " + path, exception);
+        }
+    }
+}
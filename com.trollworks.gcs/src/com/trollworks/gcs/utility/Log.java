@@ -25,6 +25,8 @@ import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
@@ -33,9 +35,13 @@ import java.time.format.DateTimeFormatterBuilder;
 public final class Log {
     private static final String            GCS_LOG_ENV      = "GCS_LOG";
     private static final String            GCS_LOG_FILE     = "gcs.log";
+    private static final String            DIAGNOSTICS_FILE = "gcs-diagnostics.log";
+    private static final long              DIAGNOSTICS_MAX  = 1024 * 1024;
+    private static final int               DIAGNOSTICS_KEEP = 3;
     private static final String            SEPARATOR        = " | ";
     private static final DateTimeFormatter TIMESTAMP_FORMAT = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendValue(YEAR, 4).appendLiteral('.').appendValue(MONTH_OF_YEAR, 2).appendLiteral('.').appendValue(DAY_OF_MONTH, 2).appendLiteral(SEPARATOR).appendValue(HOUR_OF_DAY, 2).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(':').appendValue(SECOND_OF_MINUTE, 2).appendLiteral('.').appendValue(MILLI_OF_SECOND, 3).toFormatter();
     private static       PrintStream       OUT;
+    private static       Path              DIAGNOSTICS;
 
     static {
         OUT = System.out;
@@ -59,6 +65,7 @@ public final class Log {
                 path = path.normalize().toAbsolutePath();
                 Files.createDirectories(path.getParent());
                 OUT = new PrintStream(path.toFile(), StandardCharsets.UTF_8);
+                DIAGNOSTICS = path.resolveSibling(DIAGNOSTICS_FILE);
             } catch (Throwable throwable) {
                 error("Unable to redirect log to " + path, throwable);
             }
@@ -124,7 +131,46 @@ public final class Log {
         post('W', msg, throwable);
     }
 
+    /**
+     * Logs diagnostic information. When the log is going to a file, diagnostic information goes to
+     * a separate file alongside it, which is rotated once it grows beyond a fixed size so that it
+     * never consumes more than a few megabytes.
+     *
+     * @param msg The message to log.
+     */
+    public static synchronized void diagnostic(String msg) {
+        if (DIAGNOSTICS == null) {
+            post('D', msg, null);
+            return;
+        }
+        try {
+            if (Files.isRegularFile(DIAGNOSTICS) && Files.size(DIAGNOSTICS) >= DIAGNOSTICS_MAX) {
+                for (int i = DIAGNOSTICS_KEEP - 1; i > 0; i--) {
+                    Path from = rotated(i);
+                    if (Files.exists(from)) {
+                        Files.move(from, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+                Files.move(DIAGNOSTICS, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(DIAGNOSTICS, format('D', msg) + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (Exception exception) {
+            post('D', msg, null);
+        }
+    }
+
+    private static Path rotated(int index) {
+        return DIAGNOSTICS.resolveSibling(DIAGNOSTICS_FILE + "." + index);
+    }
+
     private static void post(char levelCode, String msg, Throwable throwable) {
+        OUT.println(format(levelCode, msg));
+        if (throwable != null) {
+            throwable.printStackTrace(OUT);
+        }
+    }
+
+    private static String format(char levelCode, String msg) {
         StringBuilder buffer = new StringBuilder();
         buffer.append(levelCode);
         buffer.append(SEPARATOR);
@@ -133,9 +179,6 @@ public final class Log {
         if (msg != null && !msg.isEmpty()) {
             buffer.append(msg);
         }
-        OUT.println(buffer);
-        if (throwable != null) {
-            throwable.printStackTrace(OUT);
-        }
+        return buffer.toString();
     }
 }
@@ -0,0 +1,395 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * A registry of named counters, timers and histograms used to see where time goes in a running
+ * copy of GCS without attaching a profiler. Recording is cheap and safe from any thread. Each
+ * metric is also published as a JMX MBean under the {@code com.trollworks.gcs} domain.
+ */
+public final class Metrics {
+    private static final String              DOMAIN  = "com.trollworks.gcs";
+    private static final Map<String, Metric> METRICS = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * @param name The name of the counter.
+     * @return The counter with the specified name, creating it if necessary.
+     */
+    public static Counter counter(String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * @param name The name of the timer.
+     * @return The timer with the specified name, creating it if necessary.
+     */
+    public static Timer timer(String name) {
+        return get(name, Timer.class, Timer::new);
+    }
+
+    /**
+     * @param name The name of the histogram.
+     * @return The histogram with the specified name, creating it if necessary.
+     */
+    public static Histogram histogram(String name) {
+        return get(name, Histogram.class, Histogram::new);
+    }
+
+    private static <T extends Metric> T get(String name, Class<T> type, Function<String, T> creator) {
+        Metric metric = METRICS.get(name);
+        if (metric == null) {
+            synchronized (METRICS) {
+                metric = METRICS.get(name);
+                if (metric == null) {
+                    metric = creator.apply(name);
+                    METRICS.put(name, metric);
+                    register(metric);
+                }
+            }
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("metric " + name + " is not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    private static void register(Metric metric) {
+        try {
+            ObjectName objName = new ObjectName(DOMAIN + ":type=" + metric.getType() + ",name=" + ObjectName.quote(metric.getName()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(metric, MetricMXBean.class, true), objName);
+        } catch (Throwable throwable) {
+            Log.warn("unable to publish metric " + metric.getName(), throwable);
+        }
+    }
+
+    /** @return All metrics, sorted by name. */
+    public static List<Metric> getAll() {
+        return new ArrayList<>(METRICS.values());
+    }
+
+    /** Resets all metrics to their initial state. */
+    public static void resetAll() {
+        for (Metric metric : METRICS.values()) {
+            metric.reset();
+        }
+    }
+
+    /** The management interface each metric is published with. */
+    public interface MetricMXBean {
+        /** @return The name of the metric. */
+        String getName();
+
+        /** @return The type of metric. */
+        String getType();
+
+        /** @return The units values are reported in. */
+        String getUnits();
+
+        /** @return The number of events recorded. */
+        long getCount();
+
+        /** @return The total of all recorded values. */
+        double getTotal();
+
+        /** @return The mean of all recorded values. */
+        double getMean();
+
+        /** @return The largest value recorded. */
+        double getMax();
+
+        /** @return The approximate median of recorded values. */
+        double getP50();
+
+        /** @return The approximate 95th percentile of recorded values. */
+        double getP95();
+
+        /** @return The approximate 99th percentile of recorded values. */
+        double getP99();
+
+        /** Resets the metric to its initial state. */
+        void reset();
+    }
+
+    /** The common base of all metrics. */
+    public abstract static class Metric implements MetricMXBean {
+        private String mName;
+
+        Metric(String name) {
+            mName = name;
+        }
+
+        @Override
+        public String getName() {
+            return mName;
+        }
+
+        @Override
+        public String toString() {
+            return mName;
+        }
+    }
+
+    /** Counts events. */
+    public static final class Counter extends Metric {
+        private LongAdder mCount = new LongAdder();
+
+        Counter(String name) {
+            super(name);
+        }
+
+        /** Adds one to the count. */
+        public void increment() {
+            mCount.increment();
+        }
+
+        /** @param amount The amount to add to the count. */
+        public void add(long amount) {
+            mCount.add(amount);
+        }
+
+        @Override
+        public String getType() {
+            return "Counter";
+        }
+
+        @Override
+        public String getUnits() {
+            return "";
+        }
+
+        @Override
+        public long getCount() {
+            return mCount.sum();
+        }
+
+        @Override
+        public double getTotal() {
+            return getCount();
+        }
+
+        @Override
+        public double getMean() {
+            return 0;
+        }
+
+        @Override
+        public double getMax() {
+            return 0;
+        }
+
+        @Override
+        public double getP50() {
+            return 0;
+        }
+
+        @Override
+        public double getP95() {
+            return 0;
+        }
+
+        @Override
+        public double getP99() {
+            return 0;
+        }
+
+        @Override
+        public void reset() {
+            mCount.reset();
+        }
+    }
+
+    /**
+     * Tracks the distribution of non-negative values. Values are kept in buckets that are never
+     * more than a quarter of their lower bound wide, so percentiles are approximate but memory use
+     * is fixed regardless of how many values are recorded.
+     */
+    public static class Histogram extends Metric {
+        private static final int             SUB_BUCKET_BITS = 2;
+        private static final int             SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+        private static final int             BUCKETS         = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+        private              LongAdder[]     mBuckets        = new LongAdder[BUCKETS];
+        private              LongAdder       mCount          = new LongAdder();
+        private              LongAdder       mTotal          = new LongAdder();
+        private              LongAccumulator mMax            = new LongAccumulator(Math::max, 0);
+
+        Histogram(String name) {
+            super(name);
+            for (int i = 0; i < BUCKETS; i++) {
+                mBuckets[i] = new LongAdder();
+            }
+        }
+
+        /** @param value The value to record. Negative values are treated as zero. */
+        public void record(long value) {
+            long v = Math.max(value, 0);
+            mBuckets[bucketFor(v)].increment();
+            mCount.increment();
+            mTotal.add(v);
+            mMax.accumulate(v);
+        }
+
+        private static int bucketFor(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int msb = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int  shift = bucket / SUB_BUCKETS - 1;
+            long low   = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+            return low + (1L << shift) - 1;
+        }
+
+        /** @return The scale applied to raw values when reporting them. */
+        double scale() {
+            return 1;
+        }
+
+        @Override
+        public String getType() {
+            return "Histogram";
+        }
+
+        @Override
+        public String getUnits() {
+            return "";
+        }
+
+        @Override
+        public long getCount() {
+            return mCount.sum();
+        }
+
+        @Override
+        public double getTotal() {
+            return mTotal.sum() / scale();
+        }
+
+        @Override
+        public double getMean() {
+            long count = getCount();
+            return count == 0 ? 0 : mTotal.sum() / scale() / count;
+        }
+
+        @Override
+        public double getMax() {
+            return mMax.get() / scale();
+        }
+
+        /**
+         * @param fraction The fraction of values, from 0 to 1, that should be at or below the
+         *                 result.
+         * @return The approximate value at the specified percentile.
+         */
+        public double getPercentile(double fraction) {
+            long[] counts = new long[BUCKETS];
+            long   total  = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = mBuckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = Math.max((long) Math.ceil(total * Math.min(Math.max(fraction, 0), 1)), 1);
+            long seen   = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(upperBoundOf(i), mMax.get()) / scale();
+                }
+            }
+            return getMax();
+        }
+
+        @Override
+        public double getP50() {
+            return getPercentile(0.5);
+        }
+
+        @Override
+        public double getP95() {
+            return getPercentile(0.95);
+        }
+
+        @Override
+        public double getP99() {
+            return getPercentile(0.99);
+        }
+
+        @Override
+        public void reset() {
+            for (LongAdder bucket : mBuckets) {
+                bucket.reset();
+            }
+            mCount.reset();
+            mTotal.reset();
+            mMax.reset();
+        }
+    }
+
+    /** Tracks the distribution of durations, reporting them in milliseconds. */
+    public static final class Timer extends Histogram {
+        Timer(String name) {
+            super(name);
+        }
+
+        /** @return A value to later pass to {@link #stop(long)}. */
+        public long start() {
+            return System.nanoTime();
+        }
+
+        /**
+         * Records the time elapsed since a call to {@link #start()}.
+         *
+         * @param start The value returned by {@link #start()}.
+         */
+        public void stop(long start) {
+            record(System.nanoTime() - start);
+        }
+
+        @Override
+        double scale() {
+            return 1000000.0;
+        }
+
+        @Override
+        public String getType() {
+            return "Timer";
+        }
+
+        @Override
+        public String getUnits() {
+            return "ms";
+        }
+    }
+}
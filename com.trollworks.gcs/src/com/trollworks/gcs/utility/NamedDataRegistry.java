@@ -0,0 +1,173 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+import com.trollworks.gcs.library.Library;
+import com.trollworks.gcs.settings.Settings;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caches the settings files of a given {@link FileType} found in the libraries, so that they are
+ * only read from disk once. Entries are invalidated when the library watcher reports a change in
+ * one of the directories that were scanned, or when the set of libraries changes.
+ *
+ * @param <T> The type of data produced by loading a settings file.
+ */
+public final class NamedDataRegistry<T> {
+    private static final List<NamedDataRegistry<?>> REGISTRIES = new ArrayList<>();
+
+    private FileType                            mFileType;
+    private Dirs                                mDir;
+    private NamedData.DataLoader<T>             mLoader;
+    private Function<NamedData<T>, String>      mKeyExtractor;
+    private List<Path>                          mLibraryPaths;
+    private List<NamedData<List<NamedData<T>>>> mData;
+    private Map<String, T>                      mByKey;
+
+    /**
+     * Creates a new registry whose entries are keyed by their file name, minus the extension.
+     *
+     * @param fileType The {@link FileType} to scan for.
+     * @param dir      The {@link Dirs} whose default directory name should be scanned within each
+     *                 library.
+     * @param loader   The {@link NamedData.DataLoader} to use.
+     */
+    public NamedDataRegistry(FileType fileType, Dirs dir, NamedData.DataLoader<T> loader) {
+        this(fileType, dir, loader, NamedData::getName);
+    }
+
+    /**
+     * Creates a new registry.
+     *
+     * @param fileType     The {@link FileType} to scan for.
+     * @param dir          The {@link Dirs} whose default directory name should be scanned within
+     *                     each library.
+     * @param loader       The {@link NamedData.DataLoader} to use.
+     * @param keyExtractor Produces the key that an entry should be registered under. When more
+     *                     than one entry produces the same key, the first one found wins.
+     */
+    public NamedDataRegistry(FileType fileType, Dirs dir, NamedData.DataLoader<T> loader, Function<NamedData<T>, String> keyExtractor) {
+        mFileType = fileType;
+        mDir = dir;
+        mLoader = loader;
+        mKeyExtractor = keyExtractor;
+        synchronized (REGISTRIES) {
+            REGISTRIES.add(this);
+        }
+    }
+
+    /**
+     * Called when the contents of some library directories have changed.
+     *
+     * @param dirs The directories that changed.
+     */
+    public static void invalidate(Collection<Path> dirs) {
+        List<NamedDataRegistry<?>> registries;
+        synchronized (REGISTRIES) {
+            registries = new ArrayList<>(REGISTRIES);
+        }
+        for (NamedDataRegistry<?> registry : registries) {
+            registry.invalidateIfScanned(dirs);
+        }
+    }
+
+    /** Discards the cached data of all registries. */
+    public static void invalidateAll() {
+        List<NamedDataRegistry<?>> registries;
+        synchronized (REGISTRIES) {
+            registries = new ArrayList<>(REGISTRIES);
+        }
+        for (NamedDataRegistry<?> registry : registries) {
+            registry.clear();
+        }
+    }
+
+    private synchronized void invalidateIfScanned(Collection<Path> dirs) {
+        if (mLibraryPaths != null) {
+            for (Path libPath : mLibraryPaths) {
+                for (Path dir : dirs) {
+                    if (dir.startsWith(libPath.resolve(mDir.getDefaultPath().getFileName()))) {
+                        clear();
+                        return;
+                    }
+                    Path legacy = mDir.getLegacyDefaultPath(mFileType);
+                    if (legacy != null && dir.startsWith(libPath.resolve(legacy.getFileName()))) {
+                        clear();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Discards the cached data, forcing it to be reloaded on next access. */
+    public synchronized void clear() {
+        mLibraryPaths = null;
+        mData = null;
+        mByKey = null;
+    }
+
+    private void ensureLoaded() {
+        Settings.getInstance(); // Just to ensure the libraries list is initialized
+        List<Path> libPaths = new ArrayList<>();
+        for (Library lib : Library.LIBRARIES) {
+            libPaths.add(lib.getPath().normalize().toAbsolutePath());
+        }
+        if (mData == null || !libPaths.equals(mLibraryPaths)) {
+            mLibraryPaths = libPaths;
+            mData = Collections.unmodifiableList(NamedData.scanLibraries(mFileType, mDir, mLoader));
+            mByKey = new LinkedHashMap<>();
+            for (NamedData<List<NamedData<T>>> list : mData) {
+                for (NamedData<T> one : list.getData()) {
+                    mByKey.putIfAbsent(mKeyExtractor.apply(one), one.getData());
+                }
+            }
+            mByKey = Collections.unmodifiableMap(mByKey);
+        }
+    }
+
+    /**
+     * @return The cached results of a library scan, grouped by directory. The returned data is
+     *         shared and must not be modified.
+     */
+    public synchronized List<NamedData<List<NamedData<T>>>> get() {
+        ensureLoaded();
+        return mData;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The data registered under the key, or {@code null}. The returned data is shared and
+     *         must not be modified.
+     */
+    public synchronized T get(String key) {
+        ensureLoaded();
+        return mByKey.get(key);
+    }
+
+    /**
+     * @return All registered data, keyed as determined by this registry, in library order. The
+     *         returned data is shared and must not be modified.
+     */
+    public synchronized Map<String, T> getAll() {
+        ensureLoaded();
+        return mByKey;
+    }
+}
@@ -15,6 +15,8 @@ import com.trollworks.gcs.utility.json.Json;
 import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
 
+import java.io.StringReader;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -31,9 +33,26 @@ public class Release implements Comparable<Release> {
     }
 
     public static List<Release> load(String githubAccountName, String repoName, Version currentVersion, ReleaseFilter filter) {
+        try {
+            return load(HttpCache.getDefault(), new URL("https://api.github.com/repos/" + githubAccountName + "/" + repoName + "/releases"), currentVersion, filter);
+        } catch (MalformedURLException exception) {
+            Log.error(exception);
+            return null;
+        }
+    }
+
+    /**
+     * @param cache          The {@link HttpCache} to fetch the release list through.
+     * @param releasesURL    The URL of the GitHub API's list of releases for a repo.
+     * @param currentVersion The version currently in use. Releases prior to it are ignored.
+     * @param filter         An optional filter that decides which releases are usable.
+     * @return The usable releases, newest first, or {@code null} if the list could not be
+     *         retrieved.
+     */
+    public static List<Release> load(HttpCache cache, URL releasesURL, Version currentVersion, ReleaseFilter filter) {
         List<Release> versions = new ArrayList<>();
         try {
-            JsonArray list  = Json.asArray(Json.parse(new URL("https://api.github.com/repos/" + githubAccountName + "/" + repoName + "/releases")));
+            JsonArray list  = Json.asArray(Json.parse(new StringReader(cache.fetch(releasesURL))));
             int       count = list.size();
             for (int i = 0; i < count; i++) {
                 JsonMap m   = list.getMap(i);
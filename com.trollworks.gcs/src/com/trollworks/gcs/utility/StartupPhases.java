@@ -0,0 +1,190 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+import java.awt.EventQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the independent phases of application startup concurrently, each one waiting only on the
+ * phases it explicitly depends on, and records when each phase started and how long it took. A
+ * phase that fails is logged and treated as complete, so that the phases depending on it still
+ * run, just as they would have had startup been performed serially.
+ */
+public final class StartupPhases {
+    private static final int                THREAD_COUNT = 4;
+    private              long               mBase;
+    private              Map<String, Phase> mPhases      = new LinkedHashMap<>();
+    private              ExecutorService    mExecutor;
+
+    /** @param base The {@link System#nanoTime()} value that phase start times are relative to. */
+    public StartupPhases(long base) {
+        mBase = base;
+        AtomicInteger counter = new AtomicInteger();
+        mExecutor = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "Startup " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records a phase that was performed before this object existed.
+     *
+     * @param name  The name of the phase.
+     * @param start The {@link System#nanoTime()} value when the phase started.
+     * @param end   The {@link System#nanoTime()} value when the phase ended.
+     */
+    public synchronized void record(String name, long start, long end) {
+        Phase phase = new Phase(name, new String[0]);
+        phase.mThread = Thread.currentThread().getName();
+        phase.mStart = start;
+        phase.mEnd = end;
+        phase.mDone = CompletableFuture.completedFuture(null);
+        mPhases.put(name, phase);
+    }
+
+    /**
+     * Starts a phase on a background thread once all of its dependencies have completed.
+     *
+     * @param name      The name of the phase.
+     * @param task      The work to perform.
+     * @param dependsOn The names of the phases that must complete first.
+     */
+    public synchronized void start(String name, Runnable task, String... dependsOn) {
+        Phase phase = new Phase(name, dependsOn);
+        phase.mDone = CompletableFuture.allOf(dependencies(dependsOn)).thenRunAsync(() -> phase.run(task), mExecutor);
+        mPhases.put(name, phase);
+    }
+
+    /**
+     * Starts a phase on the UI thread once all of its dependencies have completed. The UI thread is
+     * not blocked while waiting for them.
+     *
+     * @param name      The name of the phase.
+     * @param task      The work to perform.
+     * @param dependsOn The names of the phases that must complete first.
+     */
+    public synchronized void startOnUIThread(String name, Runnable task, String... dependsOn) {
+        Phase phase = new Phase(name, dependsOn);
+        phase.mDone = CompletableFuture.allOf(dependencies(dependsOn)).thenRunAsync(() -> phase.run(task), EventQueue::invokeLater);
+        mPhases.put(name, phase);
+    }
+
+    /**
+     * Runs a phase on the calling thread, first waiting for all of its dependencies to complete.
+     *
+     * @param name      The name of the phase.
+     * @param task      The work to perform.
+     * @param dependsOn The names of the phases that must complete first.
+     */
+    public void run(String name, Runnable task, String... dependsOn) {
+        Phase                phase = new Phase(name, dependsOn);
+        CompletableFuture<?> deps;
+        synchronized (this) {
+            deps = CompletableFuture.allOf(dependencies(dependsOn));
+            phase.mDone = new CompletableFuture<>();
+            mPhases.put(name, phase);
+        }
+        deps.join();
+        phase.run(task);
+        phase.mDone.complete(null);
+    }
+
+    private CompletableFuture<?>[] dependencies(String[] names) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Phase phase = mPhases.get(names[i]);
+            if (phase == null) {
+                throw new IllegalArgumentException("unknown startup phase: " + names[i]);
+            }
+            futures[i] = phase.mDone;
+        }
+        return futures;
+    }
+
+    /**
+     * Once all phases have completed, releases the threads used to run them and then performs the
+     * specified task on the UI thread.
+     *
+     * @param task The work to perform.
+     */
+    public void shutdown(Runnable task) {
+        CompletableFuture<?>[] all;
+        synchronized (this) {
+            all = mPhases.values().stream().map(phase -> phase.mDone).toArray(CompletableFuture<?>[]::new);
+        }
+        CompletableFuture.allOf(all).thenRunAsync(() -> {
+            mExecutor.shutdown();
+            task.run();
+        }, EventQueue::invokeLater);
+    }
+
+    /** @return A report of when each phase started, how long it took, and what it waited on. */
+    public synchronized String report() {
+        int nameWidth   = 5;
+        int threadWidth = 6;
+        for (Phase phase : mPhases.values()) {
+            nameWidth = Math.max(nameWidth, phase.mName.length());
+            threadWidth = Math.max(threadWidth, phase.mThread == null ? 0 : phase.mThread.length());
+        }
+        String        format = "%-" + nameWidth + "s  %-" + threadWidth + "s  %10s  %10s  %s%n";
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(String.format(format, "Phase", "Thread", "Start", "Duration", "Depends On"));
+        long last = mBase;
+        for (Phase phase : mPhases.values()) {
+            if (phase.mEnd == 0) {
+                buffer.append(String.format(format, phase.mName, phase.mThread == null ? "" : phase.mThread, "", "pending", String.join(", ", phase.mDependsOn)));
+            } else {
+                buffer.append(String.format(format, phase.mName, phase.mThread, millis(phase.mStart - mBase), millis(phase.mEnd - phase.mStart), String.join(", ", phase.mDependsOn)));
+                last = Math.max(last, phase.mEnd);
+            }
+        }
+        buffer.append(String.format("Total: %s%n", millis(last - mBase)));
+        return buffer.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%,.1fms", Double.valueOf(nanos / 1000000.0));
+    }
+
+    private static final class Phase {
+        private          String               mName;
+        private          String[]             mDependsOn;
+        private volatile String               mThread;
+        private volatile long                 mStart;
+        private volatile long                 mEnd;
+        private          CompletableFuture<?> mDone;
+
+        Phase(String name, String[] dependsOn) {
+            mName = name;
+            mDependsOn = dependsOn;
+        }
+
+        void run(Runnable task) {
+            mThread = Thread.currentThread().getName();
+            mStart = System.nanoTime();
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                Log.error("startup phase failed: " + mName, throwable);
+            } finally {
+                mEnd = System.nanoTime();
+            }
+        }
+    }
+}
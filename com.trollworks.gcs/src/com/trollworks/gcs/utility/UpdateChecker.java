@@ -30,15 +30,22 @@ import java.awt.Desktop;
 import java.awt.Dimension;
 import java.awt.EventQueue;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** Provides a background check for updates. */
 public final class UpdateChecker implements Runnable {
-    private static String  APP_RESULT;
-    private static String  APP_RELEASE_NOTES;
-    private static boolean NEW_APP_VERSION_AVAILABLE;
-    private        Mode    mMode;
+    private static final int     MAX_CONCURRENT_CHECKS = 8;
+    private static       String  APP_RESULT;
+    private static       String  APP_RELEASE_NOTES;
+    private static       boolean NEW_APP_VERSION_AVAILABLE;
+    private              Mode    mMode;
 
     private enum Mode {
         CHECK,
@@ -96,8 +103,7 @@ public final class UpdateChecker implements Runnable {
         switch (mMode) {
             case CHECK -> {
                 setAppResult(null, null, false);
-                checkForAppUpdates();
-                checkForLibraryUpdates();
+                checkForUpdates();
                 if (mMode == Mode.NOTIFY) {
                     EventQueue.invokeLater(this);
                 } else {
@@ -139,17 +145,49 @@ public final class UpdateChecker implements Runnable {
         }
     }
 
-    private void checkForLibraryUpdates() {
+    private void checkForUpdates() {
+        List<Library> libraries = new ArrayList<>();
         for (Library lib : Library.LIBRARIES) {
             if (lib != Library.USER) {
-                List<Release> releases = lib.checkForAvailableUpgrade();
-                Version       lastSeen = lib.getLastSeen();
-                lib.setAvailableUpgrade(releases);
+                libraries.add(lib);
+            }
+        }
+        AtomicInteger   counter  = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(libraries.size() + 1, MAX_CONCURRENT_CHECKS), runnable -> {
+            Thread thread = new Thread(runnable, UpdateChecker.class.getSimpleName() + " " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Future<?>                   app     = executor.submit(this::checkForAppUpdates);
+            List<Future<List<Release>>> pending = new ArrayList<>(libraries.size());
+            for (Library lib : libraries) {
+                pending.add(executor.submit(lib::checkForAvailableUpgrade));
+            }
+            await(app);
+            int count = libraries.size();
+            for (int i = 0; i < count; i++) {
+                Library lib      = libraries.get(i);
+                Version lastSeen = lib.getLastSeen();
+                lib.setAvailableUpgrade(await(pending.get(i)));
                 if (lib.getAvailableUpgrade().getVersion().compareTo(lastSeen) > 0) {
                     mMode = Mode.NOTIFY;
                 }
             }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            Log.error(exception.getCause());
         }
+        return null;
     }
 
     private void tryNotify() {
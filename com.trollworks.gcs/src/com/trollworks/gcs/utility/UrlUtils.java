@@ -40,6 +40,17 @@ public final class UrlUtils {
      *         reading data.
      */
     public static URLConnection setupConnection(URL url) throws IOException {
+        return setupConnection(url, Map.of());
+    }
+
+    /**
+     * @param url            The URL to setup a connection for.
+     * @param requestHeaders Additional headers to send with the request, including after any
+     *                       redirection.
+     * @return A {@link URLConnection} configured with a 10 second timeout for connecting and
+     *         reading data.
+     */
+    public static URLConnection setupConnection(URL url, Map<String, String> requestHeaders) throws IOException {
         Map<String, Integer> visited = new HashMap<>();
         HttpURLConnection    conn;
         while (true) {
@@ -50,6 +61,9 @@ public final class UrlUtils {
             conn.setConnectTimeout(10000);
             conn.setReadTimeout(10000);
             conn.setInstanceFollowRedirects(false);   // Make the logic below easier to detect redirections
+            for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+                conn.setRequestProperty(header.getKey(), header.getValue());
+            }
             switch (conn.getResponseCode()) {
                 case HttpURLConnection.HTTP_MOVED_PERM, HttpURLConnection.HTTP_MOVED_TEMP, 307 -> {
                     String location = URLDecoder.decode(conn.getHeaderField("Location"), StandardCharsets.UTF_8);
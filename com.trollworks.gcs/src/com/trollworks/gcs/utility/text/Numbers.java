@@ -33,21 +33,27 @@ import java.util.regex.Pattern;
 
 /** Various number utilities. */
 public final class Numbers {
-    public static final  String            YES                               = "yes";
-    public static final  String            NO                                = "no";
-    public static final  DateTimeFormatter DATE_AT_TIME_FORMAT               = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendText(MONTH_OF_YEAR, SHORT).appendLiteral(' ').appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(", ").appendValue(YEAR, 4).appendLiteral(I18n.text(" at ")).appendValue(CLOCK_HOUR_OF_AMPM, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(' ').appendText(AMPM_OF_DAY, SHORT).toFormatter();
-    public static final  DateTimeFormatter DATE_TIME_STORED_FORMAT           = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendText(MONTH_OF_YEAR, SHORT).appendLiteral(' ').appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(", ").appendValue(YEAR, 4).appendLiteral(", ").appendValue(CLOCK_HOUR_OF_AMPM, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(' ').appendText(AMPM_OF_DAY, SHORT).toFormatter();
-    public static final  String            LOCALIZED_DECIMAL_SEPARATOR       = Character.toString(DecimalFormatSymbols.getInstance().getDecimalSeparator());
-    private static final String            SAFE_LOCALIZED_GROUPING_SEPARATOR = Pattern.quote(Character.toString(DecimalFormatSymbols.getInstance().getGroupingSeparator()));
-    private static final DecimalFormat     NUMBER_FORMAT;
-    private static final DecimalFormat     NUMBER_PLUS_FORMAT;
+    public static final  String                     YES                               = "yes";
+    public static final  String                     NO                                = "no";
+    public static final  DateTimeFormatter          DATE_AT_TIME_FORMAT               = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendText(MONTH_OF_YEAR, SHORT).appendLiteral(' ').appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(", ").appendValue(YEAR, 4).appendLiteral(I18n.text(" at ")).appendValue(CLOCK_HOUR_OF_AMPM, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(' ').appendText(AMPM_OF_DAY, SHORT).toFormatter();
+    public static final  DateTimeFormatter          DATE_TIME_STORED_FORMAT           = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendText(MONTH_OF_YEAR, SHORT).appendLiteral(' ').appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(", ").appendValue(YEAR, 4).appendLiteral(", ").appendValue(CLOCK_HOUR_OF_AMPM, 1, 2, SignStyle.NOT_NEGATIVE).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(' ').appendText(AMPM_OF_DAY, SHORT).toFormatter();
+    public static final  String                     LOCALIZED_DECIMAL_SEPARATOR       = Character.toString(DecimalFormatSymbols.getInstance().getDecimalSeparator());
+    public static final  String                     LOCALIZED_GROUPING_SEPARATOR      = Character.toString(DecimalFormatSymbols.getInstance().getGroupingSeparator());
+    private static final String                     SAFE_LOCALIZED_GROUPING_SEPARATOR = Pattern.quote(LOCALIZED_GROUPING_SEPARATOR);
+    // DecimalFormat isn't thread-safe, so each thread that formats numbers gets its own copies
+    private static final ThreadLocal<DecimalFormat> NUMBER_FORMAT                     = ThreadLocal.withInitial(Numbers::createNumberFormat);
+    private static final ThreadLocal<DecimalFormat> NUMBER_PLUS_FORMAT                = ThreadLocal.withInitial(Numbers::createNumberPlusFormat);
 
-    static {
-        NUMBER_FORMAT = (DecimalFormat) NumberFormat.getNumberInstance();
-        NUMBER_FORMAT.setMaximumFractionDigits(5);
+    private static DecimalFormat createNumberFormat() {
+        DecimalFormat format = (DecimalFormat) NumberFormat.getNumberInstance();
+        format.setMaximumFractionDigits(5);
+        return format;
+    }
 
-        NUMBER_PLUS_FORMAT = (DecimalFormat) NUMBER_FORMAT.clone();
-        NUMBER_PLUS_FORMAT.setPositivePrefix("+");
+    private static DecimalFormat createNumberPlusFormat() {
+        DecimalFormat format = createNumberFormat();
+        format.setPositivePrefix("+");
+        return format;
     }
 
     private Numbers() {
@@ -359,7 +365,7 @@ public final class Numbers {
      * @return The formatted string.
      */
     public static String format(long value) {
-        return NUMBER_FORMAT.format(value);
+        return NUMBER_FORMAT.get().format(value);
     }
 
     /**
@@ -367,7 +373,7 @@ public final class Numbers {
      * @return The formatted string.
      */
     public static String formatWithForcedSign(long value) {
-        return NUMBER_PLUS_FORMAT.format(value);
+        return NUMBER_PLUS_FORMAT.get().format(value);
     }
 
     /**
@@ -375,7 +381,7 @@ public final class Numbers {
      * @return The formatted string.
      */
     public static String format(double value) {
-        return NUMBER_FORMAT.format(value);
+        return NUMBER_FORMAT.get().format(value);
     }
 
     /**
@@ -383,6 +389,6 @@ public final class Numbers {
      * @return The formatted string.
      */
     public static String formatWithForcedSign(double value) {
-        return NUMBER_PLUS_FORMAT.format(value);
+        return NUMBER_PLUS_FORMAT.get().format(value);
     }
 }
@@ -35,6 +35,10 @@ public class MeleeWeaponStats extends WeaponStats {
     private String mReach;
     private String mParry;
     private String mBlock;
+    private long   mResolvedParryGeneration = -1;
+    private String mResolvedParry;
+    private long   mResolvedBlockGeneration = -1;
+    private String mResolvedBlock;
 
     /**
      * Creates a new MeleeWeaponStats.
@@ -121,6 +125,17 @@ public class MeleeWeaponStats extends WeaponStats {
 
     /** @return The parry, fully resolved for the user's skills, if possible. */
     public String getResolvedParry(StringBuilder toolTip) {
+        if (toolTip == null) {
+            long generation = getCalcGeneration();
+            if (generation == -1) {
+                return getResolvedValue(mParry, "parry", null);
+            }
+            if (mResolvedParryGeneration != generation) {
+                mResolvedParry = getResolvedValue(mParry, "parry", null);
+                mResolvedParryGeneration = generation;
+            }
+            return mResolvedParry;
+        }
         return getResolvedValue(mParry, "parry", toolTip);
     }
 
@@ -248,6 +263,17 @@ public class MeleeWeaponStats extends WeaponStats {
 
     /** @return The block, fully resolved for the user's skills, if possible. */
     public String getResolvedBlock(StringBuilder toolTip) {
+        if (toolTip == null) {
+            long generation = getCalcGeneration();
+            if (generation == -1) {
+                return getResolvedValue(mBlock, "block", null);
+            }
+            if (mResolvedBlockGeneration != generation) {
+                mResolvedBlock = getResolvedValue(mBlock, "block", null);
+                mResolvedBlockGeneration = generation;
+            }
+            return mResolvedBlock;
+        }
         return getResolvedValue(mBlock, "block", toolTip);
     }
 
@@ -56,6 +56,8 @@ public class WeaponDamage {
     private double         mFragmentationArmorDivisor;
     private String         mFragmentationType;
     private int            mModifierPerDie;
+    private long           mResolvedGeneration = -1;
+    private String         mResolved;
 
     public WeaponDamage(WeaponStats owner) {
         mType = "";
@@ -239,7 +241,15 @@ public class WeaponDamage {
 
     /** @return The damage, fully resolved for the user's sw or thr, if possible. */
     public String getResolvedDamage() {
-        return getResolvedDamage(null);
+        long generation = mOwner.getCalcGeneration();
+        if (generation == -1) {
+            return getResolvedDamage(null);
+        }
+        if (mResolvedGeneration != generation) {
+            mResolved = getResolvedDamage(null);
+            mResolvedGeneration = generation;
+        }
+        return mResolved;
     }
 
     public String getDamageToolTip() {
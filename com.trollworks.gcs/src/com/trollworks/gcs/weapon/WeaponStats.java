@@ -53,6 +53,8 @@ public abstract class WeaponStats {
     private   String             mUsage;
     private   String             mUsageNotes;
     private   List<SkillDefault> mDefaults;
+    private   long               mSkillLevelGeneration = -1;
+    private   int                mSkillLevel;
 
     public static void loadFromJSONArray(ListRow row, JsonArray a, List<WeaponStats> list) throws IOException {
         int count = a.size();
@@ -194,6 +196,7 @@ public abstract class WeaponStats {
     public void setDefaults(List<SkillDefault> defaults) {
         if (!mDefaults.equals(defaults)) {
             mDefaults = new ArrayList<>(defaults);
+            mSkillLevelGeneration = -1;
         }
     }
 
@@ -290,11 +293,27 @@ public abstract class WeaponStats {
         return "";
     }
 
+    /**
+     * @return The calculation generation of the owning character, or {@code -1} if this weapon
+     *         isn't owned by a character, in which case its derived values must not be cached.
+     */
+    long getCalcGeneration() {
+        if (mOwner != null && mOwner.getDataFile() instanceof GURPSCharacter character) {
+            return character.getCalcGeneration();
+        }
+        return -1;
+    }
+
     /** @return The skill level. */
     public int getSkillLevel() {
         DataFile df = mOwner.getDataFile();
-        if (df instanceof GURPSCharacter) {
-            return getSkillLevel((GURPSCharacter) df, null);
+        if (df instanceof GURPSCharacter character) {
+            long generation = character.getCalcGeneration();
+            if (mSkillLevelGeneration != generation) {
+                mSkillLevel = getSkillLevel(character, null);
+                mSkillLevelGeneration = generation;
+            }
+            return mSkillLevel;
         }
         return 0;
     }
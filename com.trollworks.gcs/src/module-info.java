@@ -12,5 +12,6 @@
 open module com.trollworks.gcs {
     requires java.datatransfer;
     requires java.desktop;
+    requires java.management;
     requires jdk.httpserver;
 }